@@ -0,0 +1,102 @@
+package com.designpatterns.behavioral.observer;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the garbage created per published message by the string path
+ * ({@link NewsAgency#publishNews(String)} to plain observers) and by the
+ * pooled event path ({@link NewsAgency#publishEvent(NewsEvent)} to
+ * {@link EventObserver}s), together with throughput and the number of
+ * garbage collections during the run.
+ * 
+ * Both paths format a distinct message per publish, as a real feed would.
+ * Allocation is read from the publishing thread's allocation counter, so it
+ * covers the whole synchronous delivery to every observer.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.AllocationBenchmark"}
+ * with optional arguments {@code <messages> <observers>}.
+ */
+public class AllocationBenchmark {
+    
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    public static void main(String[] args) {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int observers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        
+        System.out.println("=== Allocation Benchmark ===");
+        System.out.println("messages=" + messages + " observers=" + observers + "\n");
+        
+        // warm-up passes, then measured passes
+        runStrings(messages / 10, observers);
+        Result strings = runStrings(messages, observers);
+        runEvents(messages / 10, observers);
+        Result events = runEvents(messages, observers);
+        
+        print("publishNews(String)", strings);
+        print("publishEvent(NewsEvent)", events);
+    }
+    
+    private static Result runStrings(int messages, int observers) {
+        try (NewsAgency agency = new NewsAgency()) {
+            agency.setConsoleLogging(false);
+            long[] checksum = new long[1];
+            for (int i = 0; i < observers; i++) {
+                agency.addObserver(message -> checksum[0] += message.length());
+            }
+            return measure(messages, () -> {
+                for (int i = 0; i < messages; i++) {
+                    agency.publishNews("Tech: headline " + i);
+                }
+            });
+        }
+    }
+    
+    private static Result runEvents(int messages, int observers) {
+        try (NewsAgency agency = new NewsAgency()) {
+            agency.setConsoleLogging(false);
+            long[] checksum = new long[1];
+            for (int i = 0; i < observers; i++) {
+                agency.addEventObserver(event -> checksum[0] += event.text().length());
+            }
+            return measure(messages, () -> {
+                for (int i = 0; i < messages; i++) {
+                    NewsEvent event = agency.claimEvent();
+                    event.textBuffer().append("Tech: headline ").append(i);
+                    agency.publishEvent(event);
+                }
+            });
+        }
+    }
+    
+    private static Result measure(int messages, Runnable publishing) {
+        long thread = Thread.currentThread().threadId();
+        long collections = collectionCount();
+        long allocated = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        publishing.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        allocated = THREADS.getThreadAllocatedBytes(thread) - allocated;
+        return new Result(messages / seconds, (double) allocated / messages, collectionCount() - collections);
+    }
+    
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+    
+    private static void print(String path, Result result) {
+        System.out.printf("▶ %s%n", path);
+        System.out.printf("   throughput: %,13.0f msgs/s%n", result.rate());
+        System.out.printf("   allocated:  %13.1f bytes/msg%n", result.bytesPerMessage());
+        System.out.printf("   GC runs:    %13d%n%n", result.collections());
+    }
+    
+    private record Result(double rate, double bytesPerMessage, long collections) {
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size Bloom filter over 64-bit hashes. Bit positions are derived from
+ * one hash by double hashing, so no per-item allocation is needed. Not
+ * thread-safe.
+ */
+final class BloomFilter {
+    
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int size;
+    
+    /**
+     * @param bitCount number of bits, a multiple of 64
+     * @param falsePositiveRate the rate to size the hash count and capacity for
+     */
+    BloomFilter(long bitCount, double falsePositiveRate) {
+        this.bits = new long[(int) (bitCount / Long.SIZE)];
+        this.bitCount = (long) bits.length * Long.SIZE;
+        double ln2 = Math.log(2);
+        this.hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / ln2));
+        this.capacity = (int) Math.min(Integer.MAX_VALUE,
+                Math.max(1, this.bitCount * ln2 * ln2 / -Math.log(falsePositiveRate)));
+    }
+    
+    boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    void put(long hash) {
+        long h1 = hash;
+        long h2 = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+    
+    /**
+     * @return true once as many items were added as the filter can hold at its false-positive rate
+     */
+    boolean isFull() {
+        return size >= capacity;
+    }
+    
+    void clear() {
+        Arrays.fill(bits, 0);
+        size = 0;
+    }
+    
+    /**
+     * 64-bit hash of a text, computed over its chars without copying them.
+     * 
+     * @param text the text to hash
+     * @return a well-mixed hash
+     */
+    static long hash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        // final avalanche so that nearby texts spread over the whole range
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Filter over the full text of a news message, for subscriptions made with
+ * {@link NewsAgency#addObserver(ContentFilter, Observer)}.
+ * 
+ * Substring and prefix filters compare exactly. Keyword filters match when
+ * any of their keywords occurs as a whole word, ignoring case, so
+ * {@code keywords("ai")} matches {@code "Tech: AI chips"} but not
+ * {@code "Travel: Dubai"}. Regex filters match when the pattern is found
+ * anywhere in the message.
+ * 
+ * The agency does not call {@link #matches(String)} per subscriber: literal
+ * filters of all subscribers are compiled into one shared automaton (see
+ * {@link ContentIndex}) and regex filters are evaluated once per distinct
+ * pattern.
+ */
+public final class ContentFilter {
+    
+    /**
+     * How a content filter matches.
+     */
+    public enum Kind {
+        SUBSTRING,
+        PREFIX,
+        KEYWORDS,
+        REGEX
+    }
+    
+    private final Kind kind;
+    private final String[] literals;
+    private final Pattern regex;
+    
+    private ContentFilter(Kind kind, String[] literals, Pattern regex) {
+        this.kind = kind;
+        this.literals = literals;
+        this.regex = regex;
+    }
+    
+    /**
+     * @param text the text the message must contain
+     * @return a filter matching messages that contain the text
+     * @throws IllegalArgumentException if the text is empty
+     */
+    public static ContentFilter substring(String text) {
+        return new ContentFilter(Kind.SUBSTRING, new String[] {requireLiteral(text)}, null);
+    }
+    
+    /**
+     * @param prefix the text the message must start with
+     * @return a filter matching messages that start with the prefix
+     * @throws IllegalArgumentException if the prefix is empty
+     */
+    public static ContentFilter prefix(String prefix) {
+        return new ContentFilter(Kind.PREFIX, new String[] {requireLiteral(prefix)}, null);
+    }
+    
+    /**
+     * @param keywords the words to look for
+     * @return a filter matching messages that contain any keyword as a whole word, ignoring case
+     * @throws IllegalArgumentException if there are no keywords or one of them is empty
+     */
+    public static ContentFilter keywords(String... keywords) {
+        return keywords(Arrays.asList(keywords));
+    }
+    
+    /**
+     * @param keywords the words to look for
+     * @return a filter matching messages that contain any keyword as a whole word, ignoring case
+     * @throws IllegalArgumentException if there are no keywords or one of them is empty
+     */
+    public static ContentFilter keywords(Collection<String> keywords) {
+        Set<String> folded = new LinkedHashSet<>();
+        for (String keyword : keywords) {
+            folded.add(fold(requireLiteral(keyword)));
+        }
+        if (folded.isEmpty()) {
+            throw new IllegalArgumentException("Keyword filter needs at least one keyword");
+        }
+        return new ContentFilter(Kind.KEYWORDS, folded.toArray(new String[0]), null);
+    }
+    
+    /**
+     * @param regex a {@link Pattern} expression
+     * @return a filter matching messages in which the pattern is found
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    public static ContentFilter regex(String regex) {
+        Objects.requireNonNull(regex, "regex");
+        return new ContentFilter(Kind.REGEX, new String[0], Pattern.compile(regex));
+    }
+    
+    private static String requireLiteral(String text) {
+        Objects.requireNonNull(text, "text");
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Content filter text must not be empty");
+        }
+        return text;
+    }
+    
+    /**
+     * Lower-case a text char by char, so that it keeps its length and folded
+     * offsets are offsets into the original text.
+     */
+    static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+    
+    /**
+     * @return true if the char at {@code index} does not continue a word
+     */
+    static boolean isWordBoundary(CharSequence text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+    
+    /**
+     * Check a message against this filter on its own.
+     * 
+     * @param message the news message
+     * @return true if the message should be delivered
+     */
+    public boolean matches(String message) {
+        return switch (kind) {
+            case SUBSTRING -> message.contains(literals[0]);
+            case PREFIX -> message.startsWith(literals[0]);
+            case KEYWORDS -> containsKeyword(fold(message));
+            case REGEX -> regex.matcher(message).find();
+        };
+    }
+    
+    private boolean containsKeyword(String folded) {
+        for (String keyword : literals) {
+            for (int i = folded.indexOf(keyword); i >= 0; i = folded.indexOf(keyword, i + 1)) {
+                if (isWordBoundary(folded, i - 1) && isWordBoundary(folded, i + keyword.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    /**
+     * @return the substring or prefix, or the folded keywords; empty for regex filters
+     */
+    String[] literals() {
+        return literals;
+    }
+    
+    Pattern regex() {
+        return regex;
+    }
+    
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case SUBSTRING -> "contains '" + literals[0] + "'";
+            case PREFIX -> "starts with '" + literals[0] + "'";
+            case KEYWORDS -> "keywords " + Arrays.toString(literals);
+            case REGEX -> "regex /" + regex.pattern() + "/";
+        };
+    }
+} 
\ No newline at end of file
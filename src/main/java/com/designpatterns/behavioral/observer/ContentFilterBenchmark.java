@@ -0,0 +1,116 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares routing messages to keyword subscribers through the agency's
+ * compiled {@link ContentIndex} with evaluating every subscriber's
+ * {@link ContentFilter} on its own, which scans the message once per
+ * subscriber.
+ * 
+ * Each subscriber watches a few words drawn from a vocabulary; messages are
+ * headlines of random vocabulary words, so a realistic fraction of the
+ * subscribers matches each message. A last round subscribes before every
+ * publish and reports the publish latency while the index catches up.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.ContentFilterBenchmark"}
+ * with optional arguments {@code <subscribers> <messages> <keywordsPerSubscriber>}.
+ */
+public class ContentFilterBenchmark {
+    
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_MESSAGE = 12;
+    
+    public static void main(String[] args) {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int keywords = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        
+        System.out.println("=== Content Filter Benchmark ===");
+        System.out.println("subscribers=" + subscribers + " messages=" + messages + " keywords=" + keywords + "\n");
+        
+        Random random = new Random(7);
+        List<ContentFilter> filters = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            String[] words = new String[keywords];
+            for (int k = 0; k < keywords; k++) {
+                words[k] = word(random.nextInt(VOCABULARY));
+            }
+            filters.add(ContentFilter.keywords(words));
+        }
+        String[] headlines = new String[messages];
+        for (int i = 0; i < messages; i++) {
+            StringBuilder headline = new StringBuilder("News: ");
+            for (int w = 0; w < WORDS_PER_MESSAGE; w++) {
+                headline.append(word(random.nextInt(VOCABULARY))).append(' ');
+            }
+            headlines[i] = headline.toString();
+        }
+        
+        long[] deliveries = new long[1];
+        try (NewsAgency agency = new NewsAgency()) {
+            agency.setConsoleLogging(false);
+            for (ContentFilter filter : filters) {
+                agency.addObserver(filter, message -> deliveries[0]++);
+            }
+            long start = System.nanoTime();
+            agency.publishNews(headlines[0]);
+            System.out.printf("▶ first publish after %,d subscribes: %,d ms%n%n", subscribers,
+                    (System.nanoTime() - start) / 1_000_000);
+            
+            // warm-up pass, then measured pass
+            for (String headline : headlines) {
+                agency.publishNews(headline);
+            }
+            deliveries[0] = 0;
+            start = System.nanoTime();
+            for (String headline : headlines) {
+                agency.publishNews(headline);
+            }
+            print("compiled automaton", messages, deliveries[0], System.nanoTime() - start);
+            
+            // a subscribe before every publish: the automaton is rebuilt in the background meanwhile
+            long[] publishNanos = new long[Math.min(messages, 1_000)];
+            for (int i = 0; i < publishNanos.length; i++) {
+                agency.addObserver(ContentFilter.keywords(word(random.nextInt(VOCABULARY))), message -> deliveries[0]++);
+                start = System.nanoTime();
+                agency.publishNews(headlines[i]);
+                publishNanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(publishNanos);
+            System.out.printf("▶ subscribe between publishes (%,d rounds)%n", publishNanos.length);
+            System.out.printf("   publish p50: %,12d ns%n", publishNanos[publishNanos.length / 2]);
+            System.out.printf("   publish p99: %,12d ns%n%n",
+                    publishNanos[(int) Math.ceil(publishNanos.length * 0.99) - 1]);
+        }
+        
+        for (int pass = 0; pass < 2; pass++) {
+            deliveries[0] = 0;
+            long start = System.nanoTime();
+            for (String headline : headlines) {
+                for (ContentFilter filter : filters) {
+                    if (filter.matches(headline)) {
+                        deliveries[0]++;
+                    }
+                }
+            }
+            if (pass == 1) {
+                print("filter per subscriber", messages, deliveries[0], System.nanoTime() - start);
+            }
+        }
+    }
+    
+    private static String word(int index) {
+        return "w" + Integer.toString(index, 36);
+    }
+    
+    private static void print(String approach, int messages, long deliveries, long nanos) {
+        System.out.printf("▶ %s%n", approach);
+        System.out.printf("   throughput: %,13.0f msgs/s%n", messages / (nanos / 1e9));
+        System.out.printf("   per message: %,12d ns%n", nanos / messages);
+        System.out.printf("   deliveries: %,13d%n%n", deliveries);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,453 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Content-filter subscriptions compiled into one shared matcher.
+ * 
+ * The literals of all substring, prefix and keyword filters go into a single
+ * Aho-Corasick automaton over case-folded chars, so a message is scanned once
+ * no matter how many subscribers filter it; each hit is then checked against
+ * the exact text, the message start or the word boundaries as its filters
+ * require. Regex filters are grouped by pattern and each distinct pattern is
+ * evaluated once per message.
+ * 
+ * The automaton is immutable and never built on the publish path. After a
+ * subscribe or a purge of dead entries, a rebuild is scheduled on a
+ * background thread after a short debounce, so a burst of subscribes costs
+ * one rebuild, and the new automaton is swapped in when it is ready. Until
+ * then, entries added after the automaton was built are matched one by one
+ * with {@link ContentFilter#matches(String)}; entries are numbered in
+ * subscription order, so they are always a short suffix of the snapshot.
+ * Lookups are lock-free.
+ */
+final class ContentIndex {
+    
+    private static final long REBUILD_DEBOUNCE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final ScheduledExecutorService COMPILER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "news-filter-compiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final SubscriberRegistry<Entry> entries =
+            new SubscriberRegistry<>(Entry[]::new, entry -> entry.subscription().isActive());
+    private final Object addLock = new Object();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile Automaton automaton = new Automaton(new Entry[0]);
+    private long nextSequence;
+    
+    /**
+     * Register an observer for a content filter.
+     * 
+     * @param filter the content filter
+     * @param observer the observer to deliver matching messages to
+     * @return the new subscription; unsubscribing it removes it from the index
+     */
+    ObserverSubscription add(ContentFilter filter, Observer observer) {
+        ObserverSubscription subscription = new ObserverSubscription(observer, entries);
+        // numbering and appending together keep the snapshot sorted by sequence
+        synchronized (addLock) {
+            entries.add(new Entry(filter, subscription, nextSequence++));
+        }
+        scheduleRebuild();
+        return subscription;
+    }
+    
+    /**
+     * Find the first active subscription whose (unwrapped) observer equals the given one.
+     * 
+     * @param observer the subscribed observer
+     * @return the subscription, or null if none matched
+     */
+    ObserverSubscription find(Observer observer) {
+        Entry entry = entries.find(candidate -> candidate.subscription().isActive()
+                && observer.equals(ObserverDecorator.unwrap(candidate.subscription())));
+        return entry != null ? entry.subscription() : null;
+    }
+    
+    /**
+     * Append every subscription with a filter matching the message.
+     * 
+     * @param message the news message
+     * @param matches receives the matching subscriptions, once each, in subscription order
+     */
+    void collect(String message, List<ObserverSubscription> matches) {
+        Automaton current = automaton;
+        Entry[] snapshot = entries.snapshot();
+        current.collect(message, matches);
+        if (current.source == snapshot) {
+            return;
+        }
+        int first = snapshot.length;
+        while (first > 0 && snapshot[first - 1].sequence() > current.lastSequence) {
+            first--;
+        }
+        for (int i = first; i < snapshot.length; i++) {
+            ObserverSubscription subscription = snapshot[i].subscription();
+            if (subscription.isActive() && snapshot[i].filter().matches(message)) {
+                matches.add(subscription);
+            }
+        }
+        scheduleRebuild();
+    }
+    
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            COMPILER.schedule(this::rebuild, REBUILD_DEBOUNCE_NANOS, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private void rebuild() {
+        // cleared first, so a change made while building schedules another rebuild
+        rebuildScheduled.set(false);
+        Entry[] snapshot = entries.snapshot();
+        if (automaton.source != snapshot) {
+            automaton = new Automaton(snapshot);
+        }
+    }
+    
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    ObserverSubscription[] subscriptions() {
+        Entry[] snapshot = entries.snapshot();
+        ObserverSubscription[] subscriptions = new ObserverSubscription[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            subscriptions[i] = snapshot[i].subscription();
+        }
+        return subscriptions;
+    }
+    
+    private record Entry(ContentFilter filter, ObserverSubscription subscription, long sequence) {
+    }
+    
+    /**
+     * One distinct folded literal and the filters that use it, by entry index.
+     * Substring and prefix filters are kept per exact spelling.
+     */
+    private static final class Literal {
+        private final int length;
+        private final List<Integer> keywordEntries = new ArrayList<>();
+        private final Map<String, List<Integer>> substringEntries = new HashMap<>();
+        private final Map<String, List<Integer>> prefixEntries = new HashMap<>();
+        private int[] keywords;
+        private String[] exactTexts;
+        private int[][] substrings;
+        private int[][] prefixes;
+        
+        Literal(int length) {
+            this.length = length;
+        }
+        
+        void freeze() {
+            keywords = toArray(keywordEntries);
+            List<String> texts = new ArrayList<>(substringEntries.keySet());
+            for (String text : prefixEntries.keySet()) {
+                if (!substringEntries.containsKey(text)) {
+                    texts.add(text);
+                }
+            }
+            exactTexts = texts.toArray(new String[0]);
+            substrings = new int[exactTexts.length][];
+            prefixes = new int[exactTexts.length][];
+            for (int i = 0; i < exactTexts.length; i++) {
+                substrings[i] = toArray(substringEntries.getOrDefault(exactTexts[i], List.of()));
+                prefixes[i] = toArray(prefixEntries.getOrDefault(exactTexts[i], List.of()));
+            }
+        }
+        
+        void report(String message, int end, long[] matched) {
+            int start = end - length + 1;
+            if (keywords.length > 0 && ContentFilter.isWordBoundary(message, start - 1)
+                    && ContentFilter.isWordBoundary(message, end + 1)) {
+                mark(keywords, matched);
+            }
+            for (int i = 0; i < exactTexts.length; i++) {
+                if ((substrings[i].length > 0 || start == 0)
+                        && message.regionMatches(start, exactTexts[i], 0, length)) {
+                    mark(substrings[i], matched);
+                    if (start == 0) {
+                        mark(prefixes[i], matched);
+                    }
+                }
+            }
+        }
+    }
+    
+    private record RegexGroup(Pattern pattern, int[] entries) {
+    }
+    
+    /**
+     * Immutable matcher for one snapshot of the subscriber entries.
+     * 
+     * States are numbered in insertion order with the root at 0. The goto
+     * edges are stored sorted per state in flat arrays, with a direct table
+     * for ASCII chars at the root where most lookups happen.
+     */
+    private static final class Automaton {
+        private final Entry[] source;
+        private final long lastSequence;
+        private final Literal[] literals;
+        private final RegexGroup[] regexes;
+        private final int[] firstEdge;
+        private final char[] edgeChars;
+        private final int[] edgeTargets;
+        private final int[] rootAscii = new int[128];
+        private final int[] literalAt;
+        private final int[] fail;
+        // nearest state on the fail chain that ends a literal, 0 for none
+        private final int[] outputLink;
+        
+        Automaton(Entry[] source) {
+            this.source = source;
+            this.lastSequence = source.length == 0 ? -1 : source[source.length - 1].sequence();
+            Map<String, Literal> byText = new LinkedHashMap<>();
+            Map<String, RegexGroupBuilder> regexGroups = new LinkedHashMap<>();
+            for (int i = 0; i < source.length; i++) {
+                ContentFilter filter = source[i].filter();
+                if (!source[i].subscription().isActive()) {
+                    continue;
+                }
+                switch (filter.getKind()) {
+                    case KEYWORDS -> {
+                        for (String keyword : filter.literals()) {
+                            literal(byText, keyword).keywordEntries.add(i);
+                        }
+                    }
+                    case SUBSTRING -> exact(byText, filter.literals()[0], true).add(i);
+                    case PREFIX -> exact(byText, filter.literals()[0], false).add(i);
+                    case REGEX -> regexGroups.computeIfAbsent(filter.regex().pattern(),
+                            pattern -> new RegexGroupBuilder(filter.regex())).entries.add(i);
+                }
+            }
+            this.literals = byText.values().toArray(new Literal[0]);
+            this.regexes = new RegexGroup[regexGroups.size()];
+            int group = 0;
+            for (RegexGroupBuilder builder : regexGroups.values()) {
+                regexes[group++] = new RegexGroup(builder.pattern, toArray(builder.entries));
+            }
+            
+            // trie over the folded literals
+            Map<Long, Integer> children = new HashMap<>();
+            GrowableInts edgeFrom = new GrowableInts();
+            GrowableInts edgeChar = new GrowableInts();
+            GrowableInts edgeTo = new GrowableInts();
+            int[] literalEnd = new int[literals.length];
+            int states = 1;
+            int literalId = 0;
+            for (String text : byText.keySet()) {
+                int state = 0;
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    long key = ((long) state << Character.SIZE) | c;
+                    Integer next = children.get(key);
+                    if (next == null) {
+                        next = states++;
+                        children.put(key, next);
+                        edgeFrom.add(state);
+                        edgeChar.add(c);
+                        edgeTo.add(next);
+                    }
+                    state = next;
+                }
+                literalEnd[literalId++] = state;
+            }
+            this.literalAt = new int[states];
+            Arrays.fill(literalAt, -1);
+            for (int i = 0; i < literals.length; i++) {
+                literalAt[literalEnd[i]] = i;
+                literals[i].freeze();
+            }
+            
+            // flat edge arrays, sorted by char within each state
+            this.firstEdge = new int[states + 1];
+            for (int i = 0; i < edgeFrom.size; i++) {
+                firstEdge[edgeFrom.values[i] + 1]++;
+            }
+            for (int s = 0; s < states; s++) {
+                firstEdge[s + 1] += firstEdge[s];
+            }
+            this.edgeChars = new char[edgeFrom.size];
+            this.edgeTargets = new int[edgeFrom.size];
+            int[] cursor = Arrays.copyOf(firstEdge, states);
+            for (int i = 0; i < edgeFrom.size; i++) {
+                int slot = cursor[edgeFrom.values[i]]++;
+                edgeChars[slot] = (char) edgeChar.values[i];
+                edgeTargets[slot] = edgeTo.values[i];
+            }
+            for (int s = 0; s < states; s++) {
+                sortEdges(firstEdge[s], firstEdge[s + 1]);
+            }
+            Arrays.fill(rootAscii, -1);
+            for (int e = firstEdge[0]; e < firstEdge[1]; e++) {
+                if (edgeChars[e] < rootAscii.length) {
+                    rootAscii[edgeChars[e]] = edgeTargets[e];
+                }
+            }
+            
+            // fail and output links in breadth-first order
+            this.fail = new int[states];
+            this.outputLink = new int[states];
+            int[] queue = new int[states];
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = 0;
+            while (head < tail) {
+                int state = queue[head++];
+                for (int e = firstEdge[state]; e < firstEdge[state + 1]; e++) {
+                    int target = edgeTargets[e];
+                    int suffix = 0;
+                    if (state != 0) {
+                        for (int f = fail[state]; ; f = fail[f]) {
+                            int next = next(f, edgeChars[e]);
+                            if (next >= 0) {
+                                suffix = next;
+                                break;
+                            }
+                            if (f == 0) {
+                                break;
+                            }
+                        }
+                    }
+                    fail[target] = suffix;
+                    outputLink[target] = literalAt[suffix] >= 0 ? suffix : outputLink[suffix];
+                    queue[tail++] = target;
+                }
+            }
+        }
+        
+        private static Literal literal(Map<String, Literal> byText, String folded) {
+            return byText.computeIfAbsent(folded, text -> new Literal(text.length()));
+        }
+        
+        private static List<Integer> exact(Map<String, Literal> byText, String text, boolean substring) {
+            Literal literal = literal(byText, ContentFilter.fold(text));
+            Map<String, List<Integer>> byExactText = substring ? literal.substringEntries : literal.prefixEntries;
+            return byExactText.computeIfAbsent(text, key -> new ArrayList<>());
+        }
+        
+        private void sortEdges(int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                char c = edgeChars[i];
+                int target = edgeTargets[i];
+                int j = i - 1;
+                while (j >= from && edgeChars[j] > c) {
+                    edgeChars[j + 1] = edgeChars[j];
+                    edgeTargets[j + 1] = edgeTargets[j];
+                    j--;
+                }
+                edgeChars[j + 1] = c;
+                edgeTargets[j + 1] = target;
+            }
+        }
+        
+        private int next(int state, char c) {
+            if (state == 0 && c < rootAscii.length) {
+                return rootAscii[c];
+            }
+            int low = firstEdge[state];
+            int high = firstEdge[state + 1] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char edge = edgeChars[mid];
+                if (edge < c) {
+                    low = mid + 1;
+                } else if (edge > c) {
+                    high = mid - 1;
+                } else {
+                    return edgeTargets[mid];
+                }
+            }
+            return -1;
+        }
+        
+        void collect(String message, List<ObserverSubscription> matches) {
+            if (source.length == 0) {
+                return;
+            }
+            long[] matched = new long[(source.length + Long.SIZE - 1) / Long.SIZE];
+            if (literals.length > 0) {
+                int state = 0;
+                for (int i = 0; i < message.length(); i++) {
+                    char c = Character.toLowerCase(message.charAt(i));
+                    int next = next(state, c);
+                    while (next < 0 && state != 0) {
+                        state = fail[state];
+                        next = next(state, c);
+                    }
+                    state = Math.max(next, 0);
+                    for (int s = literalAt[state] >= 0 ? state : outputLink[state]; s != 0; s = outputLink[s]) {
+                        literals[literalAt[s]].report(message, i, matched);
+                    }
+                }
+            }
+            for (RegexGroup group : regexes) {
+                if (group.pattern().matcher(message).find()) {
+                    mark(group.entries(), matched);
+                }
+            }
+            for (int word = 0; word < matched.length; word++) {
+                long bits = matched[word];
+                while (bits != 0) {
+                    ObserverSubscription subscription =
+                            source[word * Long.SIZE + Long.numberOfTrailingZeros(bits)].subscription();
+                    if (subscription.isActive()) {
+                        matches.add(subscription);
+                    }
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+    
+    private static final class RegexGroupBuilder {
+        private final Pattern pattern;
+        private final List<Integer> entries = new ArrayList<>();
+        
+        RegexGroupBuilder(Pattern pattern) {
+            this.pattern = pattern;
+        }
+    }
+    
+    private static final class GrowableInts {
+        private int[] values = new int[16];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+    
+    private static void mark(int[] entryIndexes, long[] matched) {
+        for (int index : entryIndexes) {
+            matched[index / Long.SIZE] |= 1L << index;
+        }
+    }
+    
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.designpatterns.behavioral.observer;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of the duplicate-suppression stage of a {@link NewsAgency}.
+ * 
+ * News is a duplicate if the exact same text was published within the
+ * window. A rotating Bloom filter answers "definitely new" for most news
+ * without touching the confirmation cache; only when the filter reports a
+ * possible repeat is the text's 64-bit hash compared against the cache of
+ * recent hashes. A filter false positive therefore costs one cache lookup
+ * but does not drop unique news unless two texts share a 64-bit hash, and a
+ * repeat that already fell out of the cache is delivered again.
+ * 
+ * @param window how long after its first publish a news item counts as a duplicate
+ * @param falsePositiveRate target rate at which the filter reports new news as a possible repeat
+ * @param filterMemoryBytes memory for the Bloom filter bits; together with the
+ *                          rate it determines how many items one window can hold
+ *                          before the filter rotates early
+ * @param confirmationCacheSize how many hashes of recent news are kept to confirm
+ *                              filter hits, 16 bytes each
+ */
+public record DeduplicationPolicy(Duration window, double falsePositiveRate, int filterMemoryBytes,
+                                  int confirmationCacheSize) {
+    
+    public DeduplicationPolicy {
+        Objects.requireNonNull(window, "window");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        if (filterMemoryBytes < Long.BYTES * 2) {
+            throw new IllegalArgumentException("Filter memory too small: " + filterMemoryBytes);
+        }
+        if (confirmationCacheSize < 1) {
+            throw new IllegalArgumentException("Confirmation cache size must be positive: " + confirmationCacheSize);
+        }
+    }
+    
+    /**
+     * A policy with a 1% false-positive rate, 1 MiB of filter memory and
+     * room for 100,000 news items (1.6 MB) in the confirmation cache.
+     * 
+     * @param window how long after its first publish a news item counts as a duplicate
+     * @return the policy
+     */
+    public static DeduplicationPolicy withWindow(Duration window) {
+        return new DeduplicationPolicy(window, 0.01, 1 << 20, 100_000);
+    }
+} 
\ No newline at end of file
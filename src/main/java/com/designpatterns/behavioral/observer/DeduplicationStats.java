@@ -0,0 +1,20 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Counters of a {@link NewsAgency}'s duplicate-suppression stage.
+ * 
+ * @param checked news items that went through the stage
+ * @param suppressed items dropped as confirmed duplicates
+ * @param filterHits items the Bloom filter reported as possible repeats
+ * @param unconfirmed filter hits the confirmation cache did not confirm; they were delivered
+ * @param rotations how often the filter started a new generation
+ */
+public record DeduplicationStats(long checked, long suppressed, long filterHits, long unconfirmed, long rotations) {
+    
+    /**
+     * @return the fraction of checked news that was suppressed
+     */
+    public double suppressionRatio() {
+        return checked == 0 ? 0 : (double) suppressed / checked;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agency-wide delivery counters and the switch that turns instrumentation
+ * on and off for every {@link InstrumentedObserver} of the agency.
+ */
+final class DeliveryMetrics {
+    
+    private volatile boolean enabled;
+    private final LongAdder publishes = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LatencyHistogram broadcastLatency = new LatencyHistogram();
+    
+    boolean isEnabled() {
+        return enabled;
+    }
+    
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    /**
+     * @param items news items published
+     * @param recipients messages handed to observers
+     * @param nanos time spent handing them over
+     */
+    void recordBroadcast(int items, long recipients, long nanos) {
+        publishes.add(items);
+        deliveries.add(recipients);
+        broadcastLatency.record(nanos);
+    }
+    
+    NewsAgencyMetrics snapshot(List<ObserverMetrics> observers) {
+        return new NewsAgencyMetrics(publishes.sum(), deliveries.sum(), broadcastLatency.snapshot(), observers);
+    }
+    
+    void reset() {
+        publishes.reset();
+        deliveries.reset();
+        broadcastLatency.reset();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Duplicate-suppression stage configured by a {@link DeduplicationPolicy}.
+ * 
+ * News is spread over lock stripes by its 64-bit hash, so the same text
+ * always lands in the same stripe and checks of different news rarely
+ * contend. Each stripe owns its share of the filter memory and of the
+ * confirmation cache.
+ * 
+ * Within a stripe, two Bloom filter generations each cover one window: new
+ * news goes into the current generation, lookups consult both, and when the
+ * current generation is a window old (or full) the older one is cleared and
+ * becomes current. A news item is therefore remembered for at least one
+ * window. Filter hits are confirmed against a set-associative cache that
+ * holds only the 64-bit hash and first publish time of recent news, never
+ * the text, so the stage needs {@code filterMemoryBytes} plus 16 bytes per
+ * cache entry however long the news is.
+ */
+final class DuplicateFilter {
+    
+    private static final int MAX_STRIPES = 16;
+    private static final int WAYS = 4;
+    
+    private final Stripe[] stripes;
+    
+    DuplicateFilter(DeduplicationPolicy policy) {
+        // every stripe needs at least one 64-bit word per generation and one cache entry
+        int count = Math.min(MAX_STRIPES, Math.min(policy.filterMemoryBytes() / (Long.BYTES * 2),
+                policy.confirmationCacheSize()));
+        this.stripes = new Stripe[Integer.highestOneBit(count)];
+        long bitsPerGeneration = (long) policy.filterMemoryBytes() / stripes.length / 2 * Byte.SIZE;
+        int cacheSize = policy.confirmationCacheSize() / stripes.length;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(policy.window().toNanos(), bitsPerGeneration, policy.falsePositiveRate(),
+                    cacheSize);
+        }
+    }
+    
+    /**
+     * Check a news item and remember it if it is new.
+     * 
+     * @param news the news about to be published
+     * @return true if the same text was published within the window
+     */
+    boolean isDuplicate(String news) {
+        long hash = BloomFilter.hash(news);
+        return stripes[(int) hash & (stripes.length - 1)].isDuplicate(hash);
+    }
+    
+    DeduplicationStats getStats() {
+        long checked = 0;
+        long suppressed = 0;
+        long filterHits = 0;
+        long unconfirmed = 0;
+        long rotations = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                checked += stripe.checked;
+                suppressed += stripe.suppressed;
+                filterHits += stripe.filterHits;
+                unconfirmed += stripe.unconfirmed;
+                rotations += stripe.rotations;
+            }
+        }
+        return new DeduplicationStats(checked, suppressed, filterHits, unconfirmed, rotations);
+    }
+    
+    /**
+     * One lock stripe: two Bloom filter generations and a cache of
+     * {@code WAYS}-entry buckets that evicts the oldest entry of a full
+     * bucket. A hash of 0 is stored as 1, so 0 marks an empty slot.
+     */
+    private static final class Stripe {
+        
+        private final long windowNanos;
+        private final BloomFilter[] generations = new BloomFilter[2];
+        private final long[] fingerprints;
+        private final long[] firstSeen;
+        private final int ways;
+        private final int buckets;
+        private int current;
+        private long generationStart;
+        private long checked;
+        private long suppressed;
+        private long filterHits;
+        private long unconfirmed;
+        private long rotations;
+        
+        Stripe(long windowNanos, long bitsPerGeneration, double falsePositiveRate, int cacheSize) {
+            this.windowNanos = windowNanos;
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = new BloomFilter(bitsPerGeneration, falsePositiveRate);
+            }
+            this.ways = Math.min(WAYS, cacheSize);
+            this.buckets = cacheSize / ways;
+            this.fingerprints = new long[buckets * ways];
+            this.firstSeen = new long[buckets * ways];
+            this.generationStart = System.nanoTime();
+        }
+        
+        synchronized boolean isDuplicate(long hash) {
+            long now = System.nanoTime();
+            checked++;
+            long fingerprint = hash == 0 ? 1 : hash;
+            int bucket = Integer.remainderUnsigned((int) (hash >>> 32), buckets) * ways;
+            if (mightContain(hash)) {
+                filterHits++;
+                for (int i = bucket; i < bucket + ways; i++) {
+                    if (fingerprints[i] == fingerprint && now - firstSeen[i] <= windowNanos) {
+                        suppressed++;
+                        return true;
+                    }
+                }
+                unconfirmed++;
+            }
+            if (now - generationStart >= windowNanos || generations[current].isFull()) {
+                rotate(now);
+            }
+            generations[current].put(hash);
+            remember(bucket, fingerprint, now);
+            return false;
+        }
+        
+        private void remember(int bucket, long fingerprint, long now) {
+            int slot = bucket;
+            for (int i = bucket; i < bucket + ways; i++) {
+                if (fingerprints[i] == fingerprint || fingerprints[i] == 0) {
+                    slot = i;
+                    break;
+                }
+                if (firstSeen[i] - firstSeen[slot] < 0) {
+                    slot = i;
+                }
+            }
+            fingerprints[slot] = fingerprint;
+            firstSeen[slot] = now;
+        }
+        
+        private boolean mightContain(long hash) {
+            for (BloomFilter generation : generations) {
+                if (generation.mightContain(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private void rotate(long now) {
+            current = (current + 1) % generations.length;
+            generations[current].clear();
+            generationStart = now;
+            rotations++;
+        }
+    }
+} 
\ No newline at end of file
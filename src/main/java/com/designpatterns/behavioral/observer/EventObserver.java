@@ -0,0 +1,17 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Observer for the allocation-free delivery path. Instead of a new string
+ * per message it is handed a pooled {@link NewsEvent} that is reused as soon
+ * as the call returns.
+ */
+@FunctionalInterface
+public interface EventObserver {
+    
+    /**
+     * Called for every event published with {@link NewsAgency#publishEvent(NewsEvent)}.
+     * 
+     * @param event the event; copy anything that must outlive this call
+     */
+    void onEvent(NewsEvent event);
+} 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counts down subscriber acknowledgements for one published message and
+ * completes a future once every subscriber has handled it.
+ * 
+ * The future completes exceptionally with the first subscriber failure, but
+ * only after all remaining subscribers have acknowledged as well.
+ */
+final class FanOutTracker {
+    
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicInteger remaining;
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    
+    FanOutTracker(int subscribers) {
+        this.remaining = new AtomicInteger(subscribers);
+        if (subscribers == 0) {
+            completion.complete(null);
+        }
+    }
+    
+    /**
+     * Record a successful delivery to one subscriber.
+     */
+    void acknowledge() {
+        if (remaining.decrementAndGet() == 0) {
+            Throwable failure = firstFailure.get();
+            if (failure == null) {
+                completion.complete(null);
+            } else {
+                completion.completeExceptionally(failure);
+            }
+        }
+    }
+    
+    /**
+     * Record a failed delivery to one subscriber.
+     * 
+     * @param failure the reason the subscriber could not handle the message
+     */
+    void fail(Throwable failure) {
+        firstFailure.compareAndSet(null, failure);
+        acknowledge();
+    }
+    
+    CompletableFuture<Void> completion() {
+        return completion;
+    }
+} 
\ No newline at end of file
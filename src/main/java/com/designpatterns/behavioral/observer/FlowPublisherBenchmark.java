@@ -0,0 +1,143 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmark of push delivery ({@link NewsAgency#notifyObservers(String)}
+ * to plain observers and to async mailboxes) against pull delivery to
+ * {@link Flow.Subscriber}s that request news in batches.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.FlowPublisherBenchmark"}
+ * with optional arguments {@code <messages> <requestBatch>}.
+ */
+public class FlowPublisherBenchmark {
+    
+    private static final int[] SUBSCRIBER_COUNTS = {1, 8};
+    
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int requestBatch = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        
+        System.out.println("=== Flow Publisher Benchmark ===");
+        System.out.println("messages=" + messages + " requestBatch=" + requestBatch
+                + " cores=" + Runtime.getRuntime().availableProcessors() + "\n");
+        
+        for (int subscribers : SUBSCRIBER_COUNTS) {
+            // warm-up pass, then measured pass
+            runPush(subscribers, messages / 10, false);
+            double syncRate = runPush(subscribers, messages, false);
+            runPush(subscribers, messages / 10, true);
+            double mailboxRate = runPush(subscribers, messages, true);
+            runFlow(subscribers, messages / 10, requestBatch);
+            double flowRate = runFlow(subscribers, messages, requestBatch);
+            
+            System.out.printf("▶ %d subscriber(s)%n", subscribers);
+            System.out.printf("   push, synchronous:   %,13.0f msgs/s%n", syncRate);
+            System.out.printf("   push, async mailbox: %,13.0f msgs/s%n", mailboxRate);
+            System.out.printf("   pull, Flow request:  %,13.0f msgs/s%n%n", flowRate);
+        }
+    }
+    
+    private static double runPush(int subscribers, int messages, boolean mailboxes) throws InterruptedException {
+        try (NewsAgency agency = new NewsAgency()) {
+            agency.setConsoleLogging(false);
+            if (mailboxes) {
+                agency.setAsyncDelivery(1024);
+            }
+            CountDownLatch done = new CountDownLatch(subscribers);
+            for (int i = 0; i < subscribers; i++) {
+                agency.addObserver(new Observer() {
+                    private int received;
+                    
+                    @Override
+                    public void update(String message) {
+                        if (++received == messages) {
+                            done.countDown();
+                        }
+                    }
+                });
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                agency.notifyObservers("Tech: benchmark");
+            }
+            await(done);
+            return messages / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+    
+    private static double runFlow(int subscribers, int messages, int requestBatch) throws InterruptedException {
+        try (NewsAgency agency = new NewsAgency()) {
+            agency.setConsoleLogging(false);
+            CountDownLatch done = new CountDownLatch(subscribers);
+            CountDownLatch subscribed = new CountDownLatch(subscribers);
+            for (int i = 0; i < subscribers; i++) {
+                agency.subscribe(new BatchingSubscriber(messages, requestBatch, subscribed, done));
+            }
+            await(subscribed);
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                agency.notifyObservers("Tech: benchmark");
+            }
+            await(done);
+            return messages / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+    
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        if (!latch.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Subscribers did not receive every message");
+        }
+    }
+    
+    /**
+     * Requests {@code requestBatch} items up front and tops demand up again
+     * once half of it has been consumed.
+     */
+    private static final class BatchingSubscriber implements Flow.Subscriber<String> {
+        private final int expected;
+        private final int requestBatch;
+        private final CountDownLatch subscribed;
+        private final CountDownLatch done;
+        private Flow.Subscription subscription;
+        private int received;
+        private int outstanding;
+        
+        BatchingSubscriber(int expected, int requestBatch, CountDownLatch subscribed, CountDownLatch done) {
+            this.expected = expected;
+            this.requestBatch = requestBatch;
+            this.subscribed = subscribed;
+            this.done = done;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = requestBatch;
+            subscription.request(requestBatch);
+            subscribed.countDown();
+        }
+        
+        @Override
+        public void onNext(String item) {
+            if (++received == expected) {
+                done.countDown();
+            }
+            if (--outstanding <= requestBatch / 2) {
+                subscription.request(requestBatch - outstanding);
+                outstanding = requestBatch;
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            System.out.println("❌ Stream subscriber failed: " + throwable.getMessage());
+        }
+        
+        @Override
+        public void onComplete() {
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that enforces a {@link QuarantinePolicy}: it counts failed and
+ * overrunning calls, skips the observer while it is quarantined and lets a
+ * single trial message through once the backoff has passed.
+ * 
+ * With synchronous delivery the call runs on a virtual thread and the
+ * publisher waits for it at most the time budget, so a blocked observer
+ * costs every publish one budget at most, and none at all once it is
+ * quarantined. A call that overran keeps the observer busy; messages that
+ * arrive before it returns are not run concurrently but count as timeouts.
+ * Behind a mailbox the publisher never waits anyway, so the call runs
+ * inline and an overrun is only counted.
+ */
+final class GuardedObserver implements ObserverDecorator {
+    
+    private final Observer observer;
+    private final QuarantinePolicy policy;
+    private final boolean boundedWait;
+    private final long budgetNanos;
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private int consecutiveFailures;
+    private int quarantineStreak;
+    private long quarantines;
+    private boolean quarantined;
+    private boolean probing;
+    private long retryAt;
+    private Thread overrunningCall;
+    
+    /**
+     * @param observer the observer to protect
+     * @param policy the time budget and quarantine settings
+     * @param boundedWait true to run calls on a separate thread and stop
+     *                    waiting for them after the time budget
+     */
+    GuardedObserver(Observer observer, QuarantinePolicy policy, boolean boundedWait) {
+        this.observer = observer;
+        this.policy = policy;
+        this.boundedWait = boundedWait;
+        this.budgetNanos = policy.timeBudget().toNanos();
+    }
+    
+    @Override
+    public void update(String message) {
+        call(() -> observer.update(message));
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        call(() -> observer.updateBatch(messages));
+    }
+    
+    private void call(Runnable delivery) {
+        if (!admit()) {
+            return;
+        }
+        if (boundedWait) {
+            callWithTimeout(delivery);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delivery.run();
+        } catch (RuntimeException e) {
+            failures.increment();
+            recordFailure();
+            throw e;
+        }
+        if (System.nanoTime() - start > budgetNanos) {
+            timeouts.increment();
+            recordFailure();
+        } else {
+            recordSuccess();
+        }
+    }
+    
+    private void callWithTimeout(Runnable delivery) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread worker = Thread.ofVirtual().name("news-guard").start(() -> {
+            try {
+                delivery.run();
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get(budgetNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            synchronized (this) {
+                overrunningCall = worker;
+            }
+            timeouts.increment();
+            recordFailure();
+            throw new IllegalStateException("Subscriber exceeded its time budget of "
+                    + policy.timeBudget().toMillis() + " ms");
+        } catch (ExecutionException e) {
+            failures.increment();
+            recordFailure();
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for subscriber", e);
+        }
+        recordSuccess();
+    }
+    
+    /**
+     * Decide whether the next message may be handed to the observer, and
+     * count it if not.
+     */
+    private synchronized boolean admit() {
+        if (overrunningCall != null && !overrunningCall.isAlive()) {
+            overrunningCall = null;
+        }
+        if (quarantined) {
+            if (overrunningCall != null || probing || System.nanoTime() - retryAt < 0) {
+                skipped.increment();
+                return false;
+            }
+            probing = true;
+            return true;
+        }
+        if (overrunningCall != null) {
+            // still stuck in an earlier call
+            timeouts.increment();
+            recordFailure();
+            return false;
+        }
+        return true;
+    }
+    
+    private synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        quarantineStreak = 0;
+        quarantined = false;
+        probing = false;
+    }
+    
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (quarantined) {
+            // the trial message failed as well
+            probing = false;
+            retryAt = System.nanoTime() + policy.backoffNanos(++quarantineStreak);
+        } else if (consecutiveFailures >= policy.failureThreshold()) {
+            quarantined = true;
+            quarantines++;
+            retryAt = System.nanoTime() + policy.backoffNanos(++quarantineStreak);
+        }
+    }
+    
+    synchronized SubscriberHealth getHealth() {
+        return new SubscriberHealth(quarantined, consecutiveFailures, failures.sum(), timeouts.sum(),
+                skipped.sum(), quarantines);
+    }
+    
+    @Override
+    public Observer getObserver() {
+        return observer;
+    }
+} 
\ No newline at end of file
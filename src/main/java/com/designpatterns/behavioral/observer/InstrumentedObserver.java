@@ -0,0 +1,83 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that times every call into the observer while instrumentation
+ * is enabled. Counters are lock-free, so observers called from several
+ * threads (or a mailbox thread) never contend on a lock. When disabled, the
+ * only cost is one volatile read per call.
+ */
+final class InstrumentedObserver implements ObserverDecorator {
+    
+    private final Observer observer;
+    private final DeliveryMetrics metrics;
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    
+    InstrumentedObserver(Observer observer, DeliveryMetrics metrics) {
+        this.observer = observer;
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public void update(String message) {
+        if (!metrics.isEnabled()) {
+            observer.update(message);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            observer.update(message);
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            record(start, 1);
+        }
+    }
+    
+    @Override
+    public void updateBatch(List<String> batch) {
+        if (!metrics.isEnabled()) {
+            observer.updateBatch(batch);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            observer.updateBatch(batch);
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            record(start, batch.size());
+        }
+    }
+    
+    private void record(long start, int count) {
+        latency.record(System.nanoTime() - start);
+        deliveries.increment();
+        messages.add(count);
+    }
+    
+    ObserverMetrics snapshot() {
+        Observer target = ObserverDecorator.unwrap(observer);
+        return new ObserverMetrics(String.valueOf(target), deliveries.sum(), messages.sum(), failures.sum(),
+                latency.snapshot());
+    }
+    
+    void reset() {
+        deliveries.reset();
+        messages.reset();
+        failures.reset();
+        latency.reset();
+    }
+    
+    @Override
+    public Observer getObserver() {
+        return observer;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.designpatterns.behavioral.observer;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of the priority lanes in every observer's mailbox, one lane per
+ * {@link Priority}.
+ * 
+ * Whatever the scheduling, a lower lane whose oldest message has waited
+ * longer than {@code starvationLimit} is served next, so routine news is
+ * delayed by a stream of breaking news but never held back indefinitely.
+ * 
+ * @param scheduling how the next lane is picked
+ * @param highWeight messages per round from the {@link Priority#HIGH} lane under weighted scheduling
+ * @param normalWeight messages per round from the {@link Priority#NORMAL} lane under weighted scheduling
+ * @param lowWeight messages per round from the {@link Priority#LOW} lane under weighted scheduling
+ * @param starvationLimit how long the oldest message of a lower lane may wait before it goes first
+ */
+public record LanePolicy(LaneScheduling scheduling, int highWeight, int normalWeight, int lowWeight,
+                         Duration starvationLimit) {
+    
+    public LanePolicy {
+        Objects.requireNonNull(scheduling, "scheduling");
+        Objects.requireNonNull(starvationLimit, "starvationLimit");
+        if (highWeight < 1 || normalWeight < 1 || lowWeight < 1) {
+            throw new IllegalArgumentException("Lane weights must be positive: "
+                    + highWeight + "/" + normalWeight + "/" + lowWeight);
+        }
+        if (starvationLimit.isNegative() || starvationLimit.isZero()) {
+            throw new IllegalArgumentException("Starvation limit must be positive: " + starvationLimit);
+        }
+    }
+    
+    /**
+     * Strict priority with starvation protection.
+     * 
+     * @param starvationLimit how long the oldest message of a lower lane may wait before it goes first
+     * @return the policy
+     */
+    public static LanePolicy strict(Duration starvationLimit) {
+        return new LanePolicy(LaneScheduling.STRICT, 1, 1, 1, starvationLimit);
+    }
+    
+    /**
+     * Weighted-fair scheduling with a one-second starvation limit.
+     * 
+     * @param highWeight messages per round from the high lane
+     * @param normalWeight messages per round from the normal lane
+     * @param lowWeight messages per round from the low lane
+     * @return the policy
+     */
+    public static LanePolicy weighted(int highWeight, int normalWeight, int lowWeight) {
+        return new LanePolicy(LaneScheduling.WEIGHTED, highWeight, normalWeight, lowWeight, Duration.ofSeconds(1));
+    }
+    
+    int weightOf(int lane) {
+        return switch (Priority.values()[lane]) {
+            case HIGH -> highWeight;
+            case NORMAL -> normalWeight;
+            case LOW -> lowWeight;
+        };
+    }
+} 
\ No newline at end of file
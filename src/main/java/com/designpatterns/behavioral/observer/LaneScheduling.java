@@ -0,0 +1,19 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * How a mailbox with priority lanes picks the lane it delivers from next.
+ */
+public enum LaneScheduling {
+    
+    /**
+     * Always deliver from the highest non-empty lane. Lower lanes only get
+     * through when higher ones are empty or through starvation protection.
+     */
+    STRICT,
+    
+    /**
+     * Serve the non-empty lanes in turn, each up to its weight per round, so
+     * every lane gets a guaranteed share of the observer's time.
+     */
+    WEIGHTED
+} 
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ * 
+ * Bucket {@code i} counts durations in {@code [2^(i-1), 2^i)} nanoseconds,
+ * so recording is one leading-zero count and one atomic increment, and 64
+ * buckets cover every possible duration. Percentiles are accurate to within
+ * a factor of two, which is plenty to tell a 50 µs observer from a 50 ms one.
+ */
+final class LatencyHistogram {
+    
+    static final int BUCKETS = 64;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    
+    void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(duration));
+        totalNanos.add(duration);
+        maxNanos.accumulate(duration);
+    }
+    
+    static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos));
+    }
+    
+    LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new LatencySnapshot(count, totalNanos.sum(), maxNanos.get(), counts);
+    }
+    
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Point-in-time copy of a latency histogram.
+ * 
+ * @param count number of recorded durations
+ * @param totalNanos sum of all recorded durations
+ * @param maxNanos longest recorded duration
+ * @param buckets counts per power-of-two bucket; bucket {@code i} holds
+ *                durations below {@code 2^i} nanoseconds
+ */
+public record LatencySnapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+    
+    public LatencySnapshot {
+        buckets = buckets.clone();
+    }
+    
+    /**
+     * Estimate a percentile as the upper bound of the bucket it falls into.
+     * 
+     * @param fraction the percentile as a fraction, e.g. 0.99 for p99
+     * @return the estimated duration in nanoseconds, never more than {@link #maxNanos()}
+     */
+    public long percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + fraction);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                long upperBound = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(upperBound, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+    
+    public long meanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+    
+    @Override
+    public long[] buckets() {
+        return buckets.clone();
+    }
+} 
\ No newline at end of file
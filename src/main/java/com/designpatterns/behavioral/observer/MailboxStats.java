@@ -0,0 +1,13 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Point-in-time counters of one observer's mailbox.
+ * 
+ * @param policy the mailbox overflow policy
+ * @param pending messages (or batches) waiting to be delivered
+ * @param delivered messages (or batches) handed to the observer
+ * @param dropped messages discarded by {@link OverflowPolicy#DROP_OLDEST} or {@link OverflowPolicy#DROP_NEWEST}
+ * @param conflated messages replaced by a newer one under {@link OverflowPolicy#CONFLATE}
+ */
+public record MailboxStats(OverflowPolicy policy, int pending, long delivered, long dropped, long conflated) {
+} 
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.designpatterns.behavioral.observer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces individual messages into batches.
+ * 
+ * A batch is flushed to the sink as soon as it holds {@code maxBatchSize}
+ * messages, or when its first message has waited {@code maxLinger},
+ * whichever comes first. Batches reach the sink one at a time and in the
+ * order their messages were offered. A linger timer may fire for a batch
+ * that was already flushed by size; it then flushes the next batch early,
+ * never late.
+ */
+final class MicroBatcher implements AutoCloseable {
+    
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final Consumer<List<String>> sink;
+    private final ScheduledExecutorService timer;
+    private final Object bufferLock = new Object();
+    private final Object flushLock = new Object();
+    private List<String> buffer;
+    
+    MicroBatcher(int maxBatchSize, Duration maxLinger, Consumer<List<String>> sink) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        if (maxLinger.isNegative() || maxLinger.isZero()) {
+            throw new IllegalArgumentException("Linger time must be positive: " + maxLinger);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.sink = sink;
+        this.buffer = new ArrayList<>(maxBatchSize);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "news-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Add a message to the current batch, flushing on the caller's thread if the batch is full.
+     * 
+     * @param message the message to batch
+     */
+    void offer(String message) {
+        boolean full;
+        boolean first;
+        synchronized (bufferLock) {
+            buffer.add(message);
+            first = buffer.size() == 1;
+            full = buffer.size() >= maxBatchSize;
+        }
+        if (full) {
+            flush();
+        } else if (first) {
+            try {
+                timer.schedule(this::flush, maxLingerNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // closed concurrently; nobody will linger-flush, so flush now
+                flush();
+            }
+        }
+    }
+    
+    /**
+     * Hand whatever is buffered to the sink right away.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            List<String> batch;
+            synchronized (bufferLock) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                batch = buffer;
+                buffer = new ArrayList<>(maxBatchSize);
+            }
+            sink.accept(Collections.unmodifiableList(batch));
+        }
+    }
+    
+    /**
+     * Flush pending messages and stop the linger timer.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        flush();
+    }
+} 
\ No newline at end of file
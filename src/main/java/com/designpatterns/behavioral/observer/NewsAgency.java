@@ -1,38 +1,366 @@
 package com.designpatterns.behavioral.observer;
 
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * Concrete Subject implementation - News Agency that publishes news.
+ * 
+ * Subscribers are kept in a copy-on-write {@link SubscriberRegistry}, so
+ * observers can subscribe and unsubscribe from any thread - even from inside
+ * {@link Observer#update(String)} - while news is being broadcast.
+ * 
+ * By default observers are notified one after another on the publishing
+ * thread. With {@link #setAsyncDelivery(int)} every observer instead gets its
+ * own bounded mailbox drained by a virtual thread, and publishing returns as
+ * soon as the message is enqueued. An {@link OverflowPolicy} decides what a
+ * full mailbox does, agency-wide or per subscriber. With
+ * {@link #setPriorityLanes(LanePolicy)} each mailbox keeps one lane per
+ * {@link Priority}, so news published with {@link #publishNews(String, Priority)}
+ * can overtake routine news that is already queued.
+ * 
+ * Observers subscribed with {@link #addObserver(String, Observer)} are kept in
+ * a {@link TopicIndex}, so publishing only touches the observers whose topic
+ * filter matches the message instead of checking every subscriber.
+ * Observers subscribed with {@link #addObserver(ContentFilter, Observer)}
+ * filter on the message text instead; all their filters are compiled into a
+ * {@link ContentIndex} that scans each message once for every subscriber.
+ * 
+ * Every {@code addObserver} call returns a {@link Subscription} handle that
+ * unsubscribes in O(1) amortized time. {@link #addWeakObserver(Observer)}
+ * subscribes without keeping the observer alive; once it is garbage
+ * collected, the next notification sweeps its subscription.
+ * 
+ * News can be published in batches with {@link #publishNews(List)}; observers
+ * receive a batch through {@link Observer#updateBatch(List)}. With
+ * {@link #setMicroBatching(int, Duration)} single publishes are coalesced into
+ * such batches automatically.
+ * 
+ * With a {@link NewsLog} attached through {@link #setNewsLog(NewsLog)} every
+ * published item is also appended to a durable log, and late subscribers can
+ * catch up with {@link #addObserverFromOffset(Observer, long)} or
+ * {@link #addObserverFromTime(Observer, Instant)} before they receive live news.
+ * 
+ * With {@link #setInstrumentation(boolean)} the agency times every observer
+ * call and every broadcast. {@link #getMetrics()} returns the numbers, and
+ * {@link #registerMBean(String)} publishes them over JMX.
+ * 
+ * The agency is also a {@link Flow.Publisher}: Reactive Streams subscribers
+ * pull news at their own pace with {@code request(n)} instead of having
+ * {@link Observer#update(String)} pushed at them. Each has a bounded buffer;
+ * once a subscriber's buffer is full, publishing waits for it to catch up,
+ * so no subscriber ever misses an item. With {@link #setFlowMaxWait(Duration)}
+ * publishing only waits a bounded time; a subscriber still behind after that
+ * is cancelled with {@code onError} and counted in {@link #getFlowDropCount()},
+ * so one stuck stream subscriber cannot stall publishing.
+ * 
+ * An observer that throws never keeps the message from the observers after
+ * it. With {@link #setQuarantinePolicy(QuarantinePolicy)} every observer call
+ * also gets a time budget, and observers that keep failing or overrunning it
+ * are quarantined and retried with backoff, so a misbehaving subscriber
+ * cannot hold publishing up for longer than its budget.
+ * 
+ * With {@link #setDeduplication(DeduplicationPolicy)} news that repeats a
+ * story published within a time window is dropped before it fans out.
+ * 
+ * For high message rates there is an allocation-free path:
+ * {@link EventObserver}s subscribed with {@link #addEventObserver(EventObserver)}
+ * receive pooled {@link NewsEvent}s published with
+ * {@link #publishEvent(NewsEvent)} instead of a new string per message.
  */
-public class NewsAgency implements Subject {
+public class NewsAgency implements Subject, Flow.Publisher<String>, AutoCloseable {
     
-    private List<Observer> observers;
-    private String latestNews;
+    private static final Executor FLOW_EXECUTOR = command -> Thread.ofVirtual().name("news-flow").start(command);
+    private static final int EVENT_POOL_SIZE = 64;
+    
+    private final SubscriberRegistry<ObserverSubscription> observers;
+    private final TopicIndex topicSubscriptions = new TopicIndex();
+    private final ContentIndex contentSubscriptions = new ContentIndex();
+    private volatile String latestNews;
+    private volatile boolean consoleLogging = true;
+    private volatile int mailboxCapacity;
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private volatile MicroBatcher batcher;
+    private volatile NewsLog newsLog;
+    private final Object publishLock = new Object();
+    private final DeliveryMetrics metrics = new DeliveryMetrics();
+    private volatile ObjectName mbeanName;
+    private volatile SubmissionPublisher<String> flowPublisher;
+    private volatile int flowBufferCapacity = Flow.defaultBufferSize();
+    private volatile long flowMaxWaitNanos = -1;
+    private final AtomicLong flowDrops = new AtomicLong();
+    private volatile QuarantinePolicy quarantinePolicy;
+    private volatile LanePolicy lanePolicy;
+    private final SubscriberRegistry<EventSubscription> eventObservers =
+            new SubscriberRegistry<>(EventSubscription[]::new, EventSubscription::isActive);
+    private final NewsEventPool eventPool = new NewsEventPool(EVENT_POOL_SIZE);
+    private final AtomicLong eventSequence = new AtomicLong();
+    private volatile DuplicateFilter duplicateFilter;
     
     public NewsAgency() {
-        this.observers = new ArrayList<>();
+        this.observers = new SubscriberRegistry<>(ObserverSubscription[]::new, ObserverSubscription::isActive);
     }
     
     @Override
-    public void addObserver(Observer observer) {
-        observers.add(observer);
-        System.out.println("📰 New subscriber added. Total subscribers: " + observers.size());
+    public Subscription addObserver(Observer observer) {
+        return register(observer, overflowPolicy, false);
+    }
+    
+    /**
+     * Subscribe an observer whose mailbox uses its own overflow policy
+     * instead of the agency default. Requires async delivery.
+     * 
+     * @param observer the observer to add
+     * @param policy what the observer's mailbox does when it is full
+     * @return the subscription handle
+     * @throws IllegalStateException if async delivery is not enabled
+     */
+    public Subscription addObserver(Observer observer, OverflowPolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        if (!isAsyncDelivery()) {
+            throw new IllegalStateException("Overflow policies require async delivery. Call setAsyncDelivery first.");
+        }
+        return register(observer, policy, false);
+    }
+    
+    /**
+     * Subscribe an observer without keeping it reachable. When nothing else
+     * references the observer it can be garbage collected; its subscription
+     * is then removed the next time news is delivered, and counts towards
+     * {@link #getObserverCount()} until that happens. Do not pass lambdas or
+     * method references that nothing else holds on to - they are collected
+     * right away.
+     * 
+     * @param observer the observer to add
+     * @return the subscription handle
+     */
+    public Subscription addWeakObserver(Observer observer) {
+        return register(observer, overflowPolicy, true);
+    }
+    
+    private Subscription register(Observer observer, OverflowPolicy policy, boolean weak) {
+        ObserverSubscription subscription = new ObserverSubscription(decorate(observer, policy, weak), observers);
+        observers.add(subscription);
+        if (consoleLogging) {
+            System.out.println("📰 New subscriber added. Total subscribers: " + getObserverCount());
+        }
+        return subscription;
     }
     
+    /**
+     * Subscribe an observer that first catches up on logged news, starting at
+     * the given log offset. History is replayed on the calling thread through
+     * {@link Observer#updateBatch(List)}; the observer then receives live news
+     * without gaps or duplicates.
+     * 
+     * @param observer the observer to add
+     * @param offset the first log offset to replay; offsets removed by
+     *               retention are skipped
+     * @return the subscription handle
+     * @throws IllegalStateException if no news log is attached
+     */
+    public Subscription addObserverFromOffset(Observer observer, long offset) {
+        NewsLog log = newsLog;
+        if (log == null) {
+            throw new IllegalStateException("Replay requires a news log. Call setNewsLog first.");
+        }
+        // catch up without blocking publishers, then replay the tail and
+        // subscribe while no new news can be logged
+        long start = Math.max(offset, log.getStartOffset());
+        long next = log.replay(start, observer);
+        Subscription subscription;
+        synchronized (publishLock) {
+            next = log.replay(next, observer);
+            subscription = register(observer, overflowPolicy, false);
+        }
+        if (consoleLogging) {
+            System.out.println("📰 Replayed " + Math.max(0, next - start) + " news items to the new subscriber");
+        }
+        return subscription;
+    }
+    
+    /**
+     * Subscribe an observer that first catches up on the news logged since
+     * the given time. See {@link #addObserverFromOffset(Observer, long)}.
+     * 
+     * @param observer the observer to add
+     * @param since replay news published at or after this time
+     * @return the subscription handle
+     * @throws IllegalStateException if no news log is attached
+     */
+    public Subscription addObserverFromTime(Observer observer, Instant since) {
+        NewsLog log = newsLog;
+        if (log == null) {
+            throw new IllegalStateException("Replay requires a news log. Call setNewsLog first.");
+        }
+        return addObserverFromOffset(observer, log.offsetAt(since));
+    }
+    
+    /**
+     * Subscribe an observer to the messages of matching topics only.
+     * 
+     * @param topicFilter the topic filter, e.g. "Tech" or "Sports/#"
+     * @param observer the observer to add
+     * @return the subscription handle
+     */
+    @Override
+    public Subscription addObserver(String topicFilter, Observer observer) {
+        TopicFilter filter = TopicFilter.compile(topicFilter);
+        Subscription subscription = topicSubscriptions.add(filter, decorate(observer, overflowPolicy, false));
+        if (consoleLogging) {
+            System.out.println("📰 New subscriber added for topic '" + filter + "'. Total subscribers: "
+                    + getObserverCount());
+        }
+        return subscription;
+    }
+    
+    /**
+     * Subscribe an observer to the messages whose text matches a content filter.
+     * 
+     * @param filter the content filter, e.g. {@code ContentFilter.keywords("election", "vote")}
+     * @param observer the observer to add
+     * @return the subscription handle
+     */
+    public Subscription addObserver(ContentFilter filter, Observer observer) {
+        Objects.requireNonNull(filter, "filter");
+        Subscription subscription = contentSubscriptions.add(filter, decorate(observer, overflowPolicy, false));
+        if (consoleLogging) {
+            System.out.println("📰 New subscriber added for content " + filter + ". Total subscribers: "
+                    + getObserverCount());
+        }
+        return subscription;
+    }
+    
+    /**
+     * Subscribe a Reactive Streams subscriber. News published from now on is
+     * delivered as {@code onNext} signals, never more than the subscriber
+     * requested; {@link #close()} completes the subscription.
+     * 
+     * @param subscriber the subscriber to add
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        boolean duplicate = false;
+        synchronized (this) {
+            SubmissionPublisher<String> publisher = flowPublisher;
+            if (publisher == null) {
+                publisher = new SubmissionPublisher<>(FLOW_EXECUTOR, flowBufferCapacity);
+                flowPublisher = publisher;
+            }
+            // the publisher only sees wrappers, so it cannot spot a duplicate by itself
+            for (Flow.Subscriber<? super String> existing : publisher.getSubscribers()) {
+                duplicate |= existing instanceof StreamSubscriber stream && stream.subscriber == subscriber;
+            }
+            if (!duplicate) {
+                publisher.subscribe(new StreamSubscriber(subscriber));
+            }
+        }
+        if (duplicate) {
+            StreamSubscriber.rejectDuplicate(subscriber);
+            return;
+        }
+        if (consoleLogging) {
+            System.out.println("📰 New stream subscriber added. Total subscribers: " + getObserverCount());
+        }
+    }
+    
+    /**
+     * Subscribe an observer to the events published with
+     * {@link #publishEvent(NewsEvent)}. It is called on the publishing thread
+     * and does not receive news published as strings.
+     * 
+     * @param observer the event observer to add
+     * @return the subscription handle
+     */
+    public Subscription addEventObserver(EventObserver observer) {
+        EventSubscription subscription = new EventSubscription(Objects.requireNonNull(observer, "observer"));
+        eventObservers.add(subscription);
+        if (consoleLogging) {
+            System.out.println("📰 New event subscriber added. Total subscribers: " + getObserverCount());
+        }
+        return subscription;
+    }
+    
+    /**
+     * Remove an observer by searching the subscriber list. Prefer
+     * {@link Subscription#unsubscribe()}, which does not search.
+     * 
+     * @param observer the observer to remove
+     */
     @Override
     public void removeObserver(Observer observer) {
-        observers.remove(observer);
-        System.out.println("📰 Subscriber removed. Total subscribers: " + observers.size());
+        ObserverSubscription subscription = observers.find(
+                candidate -> candidate.isActive() && observer.equals(ObserverDecorator.unwrap(candidate)));
+        if (subscription == null) {
+            subscription = topicSubscriptions.find(observer);
+        }
+        if (subscription == null) {
+            subscription = contentSubscriptions.find(observer);
+        }
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
+        if (consoleLogging) {
+            System.out.println("📰 Subscriber removed. Total subscribers: " + getObserverCount());
+        }
     }
     
     @Override
     public void notifyObservers(String message) {
-        System.out.println("📢 Broadcasting news to " + observers.size() + " subscribers...");
-        for (Observer observer : observers) {
-            observer.update(message);
+        broadcast(message, false, Priority.NORMAL);
+    }
+    
+    private CompletableFuture<Void> broadcast(String message, boolean trackDelivery, Priority priority) {
+        ObserverSubscription[] snapshot = observers.snapshot();
+        List<ObserverSubscription> filterMatches = List.of();
+        if (!topicSubscriptions.isEmpty() || !contentSubscriptions.isEmpty()) {
+            filterMatches = new ArrayList<>();
+            if (!topicSubscriptions.isEmpty()) {
+                topicSubscriptions.collect(TopicFilter.topicOf(message), filterMatches);
+            }
+            if (!contentSubscriptions.isEmpty()) {
+                contentSubscriptions.collect(message, filterMatches);
+            }
+        }
+        int recipients = snapshot.length + filterMatches.size();
+        if (consoleLogging) {
+            System.out.println("📢 Broadcasting news to " + recipients + " subscribers...");
+        }
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        FanOutTracker tracker = trackDelivery ? new FanOutTracker(recipients) : null;
+        for (ObserverSubscription subscription : snapshot) {
+            subscription.deliver(message, tracker, priority);
         }
+        for (int i = 0; i < filterMatches.size(); i++) {
+            filterMatches.get(i).deliver(message, tracker, priority);
+        }
+        if (timed) {
+            metrics.recordBroadcast(1, recipients, System.nanoTime() - start);
+        }
+        SubmissionPublisher<String> publisher = flowPublisher;
+        if (publisher != null && publisher.hasSubscribers()) {
+            offerToStreams(publisher, message);
+        }
+        return tracker != null ? tracker.completion() : null;
     }
     
     /**
@@ -41,12 +369,736 @@ public class NewsAgency implements Subject {
      * @param news the news to publish
      */
     public void publishNews(String news) {
+        publishNews(news, Priority.NORMAL);
+    }
+    
+    /**
+     * Publish news in a priority class. With priority lanes the news is queued
+     * in the lane of its priority in every mailbox; without them the priority
+     * has no effect on delivery order. Batches are delivered as
+     * {@link Priority#NORMAL} news, so only normal news goes through the
+     * micro-batcher; {@link Priority#HIGH} and {@link Priority#LOW} news skip
+     * it and keep their lane, and may therefore reach observers before
+     * normal news that is still lingering there.
+     * 
+     * @param news the news to publish
+     * @param priority the priority class of the news
+     */
+    public void publishNews(String news, Priority priority) {
+        Objects.requireNonNull(priority, "priority");
+        if (isDuplicate(news)) {
+            return;
+        }
+        this.latestNews = news;
+        if (consoleLogging) {
+            System.out.println("🗞️ News Agency: Publishing - " + news);
+        }
+        MicroBatcher currentBatcher = batcher;
+        if (currentBatcher != null && priority == Priority.NORMAL) {
+            currentBatcher.offer(news);
+            return;
+        }
+        NewsLog log = newsLog;
+        if (log == null) {
+            broadcast(news, false, priority);
+            return;
+        }
+        synchronized (publishLock) {
+            log.append(news);
+            broadcast(news, false, priority);
+        }
+    }
+    
+    /**
+     * Publish several news items at once. Each observer is notified once with
+     * the items it is interested in, through {@link Observer#updateBatch(List)}.
+     * 
+     * @param news the news to publish, in order
+     */
+    public void publishNews(List<String> news) {
+        if (duplicateFilter != null) {
+            news = news.stream().filter(item -> !isDuplicate(item)).toList();
+        }
+        if (news.isEmpty()) {
+            return;
+        }
+        this.latestNews = news.get(news.size() - 1);
+        if (consoleLogging) {
+            System.out.println("🗞️ News Agency: Publishing batch of " + news.size() + " news items");
+        }
+        publishBatch(List.copyOf(news));
+    }
+    
+    private void publishBatch(List<String> batch) {
+        NewsLog log = newsLog;
+        if (log == null) {
+            broadcastBatch(batch);
+            return;
+        }
+        synchronized (publishLock) {
+            for (String item : batch) {
+                log.append(item);
+            }
+            broadcastBatch(batch);
+        }
+    }
+    
+    private void broadcastBatch(List<String> batch) {
+        ObserverSubscription[] snapshot = observers.snapshot();
+        Map<ObserverSubscription, List<String>> filterBatches = Map.of();
+        if (!topicSubscriptions.isEmpty() || !contentSubscriptions.isEmpty()) {
+            filterBatches = new IdentityHashMap<>();
+            List<ObserverSubscription> matches = new ArrayList<>();
+            for (String message : batch) {
+                matches.clear();
+                if (!topicSubscriptions.isEmpty()) {
+                    topicSubscriptions.collect(TopicFilter.topicOf(message), matches);
+                }
+                if (!contentSubscriptions.isEmpty()) {
+                    contentSubscriptions.collect(message, matches);
+                }
+                for (ObserverSubscription subscription : matches) {
+                    filterBatches.computeIfAbsent(subscription, key -> new ArrayList<>()).add(message);
+                }
+            }
+        }
+        if (consoleLogging) {
+            System.out.println("📢 Broadcasting " + batch.size() + " news items to "
+                    + (snapshot.length + filterBatches.size()) + " subscribers...");
+        }
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        long recipients = (long) snapshot.length * batch.size();
+        for (ObserverSubscription subscription : snapshot) {
+            subscription.updateBatch(batch);
+        }
+        for (Map.Entry<ObserverSubscription, List<String>> entry : filterBatches.entrySet()) {
+            entry.getKey().updateBatch(entry.getValue());
+            recipients += entry.getValue().size();
+        }
+        if (timed) {
+            metrics.recordBroadcast(batch.size(), recipients, System.nanoTime() - start);
+        }
+        SubmissionPublisher<String> publisher = flowPublisher;
+        if (publisher != null && publisher.hasSubscribers()) {
+            for (int i = 0; i < batch.size(); i++) {
+                offerToStreams(publisher, batch.get(i));
+            }
+        }
+    }
+    
+    private void offerToStreams(SubmissionPublisher<String> publisher, String message) {
+        long maxWait = flowMaxWaitNanos;
+        if (maxWait < 0) {
+            publisher.submit(message);
+            return;
+        }
+        publisher.offer(message, maxWait, TimeUnit.NANOSECONDS, (subscriber, dropped) -> {
+            flowDrops.incrementAndGet();
+            if (subscriber instanceof StreamSubscriber stream) {
+                stream.fail(new IllegalStateException("Stream subscriber fell " + publisher.getMaxBufferCapacity()
+                        + " news items behind and was cancelled"));
+            }
+            return false;
+        });
+    }
+    
+    /**
+     * Publish news and get notified once every current subscriber has handled it.
+     * In async mode this returns as soon as the message sits in every mailbox.
+     * 
+     * @param news the news to publish
+     * @return a future that completes when all subscribers acknowledged delivery,
+     *         or completes exceptionally with the first subscriber failure;
+     *         already completed if the news was suppressed as a duplicate
+     */
+    public CompletableFuture<Void> publishNewsAsync(String news) {
+        if (isDuplicate(news)) {
+            return CompletableFuture.completedFuture(null);
+        }
         this.latestNews = news;
-        System.out.println("🗞️ News Agency: Publishing - " + news);
-        notifyObservers(news);
+        if (consoleLogging) {
+            System.out.println("🗞️ News Agency: Publishing - " + news);
+        }
+        NewsLog log = newsLog;
+        if (log == null) {
+            return broadcast(news, true, Priority.NORMAL);
+        }
+        synchronized (publishLock) {
+            log.append(news);
+            return broadcast(news, true, Priority.NORMAL);
+        }
+    }
+    
+    /**
+     * Take an empty event from the agency's pool, to be filled and handed to
+     * {@link #publishEvent(NewsEvent)}.
+     * 
+     * @return an event owned by the caller until it is published
+     */
+    public NewsEvent claimEvent() {
+        return eventPool.acquire();
+    }
+    
+    /**
+     * Stamp a claimed event with the next sequence number and the current
+     * time, deliver it to every event observer on the calling thread and
+     * return it to the pool. Once the pool and the event buffers are warm
+     * this creates no garbage, provided console logging is off.
+     * 
+     * @param event an event obtained from {@link #claimEvent()}; it must not
+     *              be used after this call
+     */
+    public void publishEvent(NewsEvent event) {
+        try {
+            event.stamp(eventSequence.incrementAndGet(), System.currentTimeMillis());
+            if (consoleLogging) {
+                System.out.println("🗞️ News Agency: Publishing event #" + event.getSequence() + " - " + event);
+            }
+            EventSubscription[] snapshot = eventObservers.snapshot();
+            boolean timed = metrics.isEnabled();
+            long start = timed ? System.nanoTime() : 0;
+            for (EventSubscription subscription : snapshot) {
+                subscription.deliver(event);
+            }
+            if (timed) {
+                metrics.recordBroadcast(1, snapshot.length, System.nanoTime() - start);
+            }
+        } finally {
+            eventPool.release(event);
+        }
+    }
+    
+    /**
+     * Publish text through the allocation-free path; the text is copied into a pooled event.
+     * 
+     * @param news the news text
+     */
+    public void publishEvent(CharSequence news) {
+        publishEvent(claimEvent().setText(news));
+    }
+    
+    /**
+     * Publish encoded news through the allocation-free path; the remaining
+     * bytes are copied into a pooled event.
+     * 
+     * @param news the encoded news; its position is not changed
+     */
+    public void publishEvent(ByteBuffer news) {
+        publishEvent(claimEvent().setBytes(news));
+    }
+    
+    private boolean isDuplicate(String news) {
+        DuplicateFilter filter = duplicateFilter;
+        if (filter == null || !filter.isDuplicate(news)) {
+            return false;
+        }
+        if (consoleLogging) {
+            System.out.println("🔁 News Agency: Suppressed duplicate - " + news);
+        }
+        return true;
     }
     
     public String getLatestNews() {
         return latestNews;
     }
+    
+    /**
+     * @return the number of subscriptions, including topic, content, stream and event subscriptions
+     */
+    public int getObserverCount() {
+        SubmissionPublisher<String> publisher = flowPublisher;
+        int streams = publisher != null ? publisher.getNumberOfSubscribers() : 0;
+        return observers.size() + topicSubscriptions.size() + contentSubscriptions.size() + streams
+                + eventObservers.size();
+    }
+    
+    /**
+     * Enable or disable the agency's own console output. Benchmarks and
+     * high-volume feeds turn this off so the broadcast path does no I/O.
+     * 
+     * @param consoleLogging true to print agency activity (the default)
+     */
+    public void setConsoleLogging(boolean consoleLogging) {
+        this.consoleLogging = consoleLogging;
+    }
+    
+    /**
+     * Switch to asynchronous fan-out: each observer added afterwards gets a
+     * bounded mailbox of the given size, drained by its own virtual thread.
+     * Full mailboxes block the publisher.
+     * 
+     * @param mailboxCapacity maximum queued messages per observer
+     * @throws IllegalStateException if observers are already subscribed
+     */
+    public void setAsyncDelivery(int mailboxCapacity) {
+        setAsyncDelivery(mailboxCapacity, OverflowPolicy.BLOCK);
+    }
+    
+    /**
+     * Switch to asynchronous fan-out with the given default overflow policy.
+     * 
+     * @param mailboxCapacity maximum queued messages per observer
+     * @param overflowPolicy what a full mailbox does with new messages
+     * @throws IllegalStateException if observers are already subscribed
+     */
+    public void setAsyncDelivery(int mailboxCapacity, OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        if (mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive: " + mailboxCapacity);
+        }
+        if (getObserverCount() > 0) {
+            throw new IllegalStateException("Async delivery must be configured before observers subscribe.");
+        }
+        this.mailboxCapacity = mailboxCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+    
+    public boolean isAsyncDelivery() {
+        return mailboxCapacity > 0;
+    }
+    
+    /**
+     * Set how many news items each stream subscriber may have outstanding
+     * (published but not yet requested and consumed) before publishing waits
+     * for it, see {@link #setFlowMaxWait(Duration)}.
+     * 
+     * @param capacity the buffer size per stream subscriber; rounded up to a power of two
+     * @throws IllegalStateException if stream subscribers already exist
+     */
+    public synchronized void setFlowBufferCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Flow buffer capacity must be positive: " + capacity);
+        }
+        if (flowPublisher != null) {
+            throw new IllegalStateException("Flow buffer must be configured before stream subscribers subscribe.");
+        }
+        this.flowBufferCapacity = capacity;
+    }
+    
+    /**
+     * Opt in to dropping stream subscribers that fall behind. Publishing
+     * waits at most this long for a subscriber whose buffer is full; if it
+     * is still full, the subscriber is cancelled and gets {@code onError}
+     * instead of silently missing the item, so the wait is paid once per
+     * stuck subscriber. By default publishing waits as long as it takes and
+     * every subscriber gets every item.
+     * 
+     * @param maxWait how long to wait, zero to cancel at once, or null to wait without limit
+     */
+    public void setFlowMaxWait(Duration maxWait) {
+        if (maxWait != null && maxWait.isNegative()) {
+            throw new IllegalArgumentException("Flow wait must not be negative: " + maxWait);
+        }
+        this.flowMaxWaitNanos = maxWait == null ? -1 : maxWait.toNanos();
+    }
+    
+    /**
+     * @return how many stream subscribers were cancelled because their buffer stayed full
+     */
+    public long getFlowDropCount() {
+        return flowDrops.get();
+    }
+    
+    /**
+     * Get the mailbox counters of a subscriber, including how many messages
+     * its overflow policy dropped or conflated.
+     * 
+     * @param observer a subscribed observer
+     * @return the observer's mailbox stats, or empty if it is not subscribed
+     *         or the agency delivers synchronously
+     */
+    public Optional<MailboxStats> getMailboxStats(Observer observer) {
+        Optional<MailboxStats> stats = findMailboxStats(observers.snapshot(), observer);
+        if (stats.isEmpty()) {
+            stats = findMailboxStats(topicSubscriptions.subscriptions(), observer);
+        }
+        return stats.isPresent() ? stats : findMailboxStats(contentSubscriptions.subscriptions(), observer);
+    }
+    
+    private static Optional<MailboxStats> findMailboxStats(ObserverSubscription[] subscriptions,
+            Observer observer) {
+        for (ObserverSubscription subscription : subscriptions) {
+            if (subscription.isActive() && subscription.getObserver() instanceof ObserverMailbox mailbox
+                    && observer.equals(ObserverDecorator.unwrap(mailbox))) {
+                return Optional.of(mailbox.getStats());
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Give every observer call a time budget and quarantine observers that
+     * keep failing or overrunning it; see {@link QuarantinePolicy}. With
+     * synchronous delivery each call then runs on its own virtual thread so
+     * the publisher can stop waiting for it, which costs a thread hand-off per
+     * call. With async delivery the mailbox thread calls the observer as before.
+     * 
+     * @param policy the budget and quarantine settings, or null to call
+     *               observers without a budget (the default)
+     * @throws IllegalStateException if observers are already subscribed
+     */
+    public void setQuarantinePolicy(QuarantinePolicy policy) {
+        if (getObserverCount() > 0) {
+            throw new IllegalStateException("Quarantine policy must be configured before observers subscribe.");
+        }
+        this.quarantinePolicy = policy;
+    }
+    
+    public Optional<QuarantinePolicy> getQuarantinePolicy() {
+        return Optional.ofNullable(quarantinePolicy);
+    }
+    
+    /**
+     * Give every mailbox one lane per {@link Priority}, each holding up to the
+     * mailbox capacity, and let the mailbox thread pick lanes as the policy
+     * says. Batches and news published without a priority go to the
+     * {@link Priority#NORMAL} lane.
+     * 
+     * @param policy the lane scheduling, or null for a single lane (the default)
+     * @throws IllegalStateException if delivery is synchronous or observers are already subscribed
+     */
+    public void setPriorityLanes(LanePolicy policy) {
+        if (policy != null && !isAsyncDelivery()) {
+            throw new IllegalStateException("Priority lanes require async delivery. Call setAsyncDelivery first.");
+        }
+        if (getObserverCount() > 0) {
+            throw new IllegalStateException("Priority lanes must be configured before observers subscribe.");
+        }
+        this.lanePolicy = policy;
+    }
+    
+    public Optional<LanePolicy> getPriorityLanes() {
+        return Optional.ofNullable(lanePolicy);
+    }
+    
+    /**
+     * Get the fault counters of a subscriber, including whether it is
+     * currently quarantined.
+     * 
+     * @param observer a subscribed observer
+     * @return the observer's health, or empty if it is not subscribed or no
+     *         quarantine policy was configured when it subscribed
+     */
+    public Optional<SubscriberHealth> getSubscriberHealth(Observer observer) {
+        Optional<SubscriberHealth> health = findHealth(observers.snapshot(), observer);
+        if (health.isEmpty()) {
+            health = findHealth(topicSubscriptions.subscriptions(), observer);
+        }
+        return health.isPresent() ? health : findHealth(contentSubscriptions.subscriptions(), observer);
+    }
+    
+    private static Optional<SubscriberHealth> findHealth(ObserverSubscription[] subscriptions, Observer observer) {
+        for (ObserverSubscription subscription : subscriptions) {
+            GuardedObserver guard = ObserverDecorator.find(subscription, GuardedObserver.class);
+            if (subscription.isActive() && guard != null && observer.equals(ObserverDecorator.unwrap(guard))) {
+                return Optional.of(guard.getHealth());
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Drop published news whose exact text was already published within the
+     * policy's window, before it reaches any subscriber, the news log or a
+     * micro-batch. Replaces any previous stage and its memory of past news.
+     * 
+     * @param policy the window, filter and cache settings, or null to deliver every item (the default)
+     */
+    public void setDeduplication(DeduplicationPolicy policy) {
+        this.duplicateFilter = policy != null ? new DuplicateFilter(policy) : null;
+    }
+    
+    /**
+     * @return the counters of the duplicate-suppression stage, or empty if it is off
+     */
+    public Optional<DeduplicationStats> getDeduplicationStats() {
+        DuplicateFilter filter = duplicateFilter;
+        return filter != null ? Optional.of(filter.getStats()) : Optional.empty();
+    }
+    
+    /**
+     * Coalesce single {@link #publishNews(String)} calls into batches. A batch
+     * is delivered once it holds {@code maxBatchSize} items or its oldest item
+     * has waited {@code maxLinger}, whichever comes first. With a news log
+     * attached, batched items are logged when their batch is delivered.
+     * 
+     * @param maxBatchSize maximum number of items per batch
+     * @param maxLinger maximum time an item waits for its batch to fill up
+     */
+    public void setMicroBatching(int maxBatchSize, Duration maxLinger) {
+        MicroBatcher previous = batcher;
+        batcher = new MicroBatcher(maxBatchSize, maxLinger, this::publishBatch);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+    
+    /**
+     * Append every published news item to a durable log, which enables replay
+     * for late subscribers. The agency does not close the log.
+     * 
+     * @param newsLog the log to append to, or null to stop logging
+     */
+    public void setNewsLog(NewsLog newsLog) {
+        synchronized (publishLock) {
+            this.newsLog = newsLog;
+        }
+    }
+    
+    public Optional<NewsLog> getNewsLog() {
+        return Optional.ofNullable(newsLog);
+    }
+    
+    /**
+     * Turn delivery instrumentation on or off. While on, every observer call
+     * is timed into a per-observer latency histogram and every broadcast into
+     * an agency-wide one. Can be switched at any time, also through JMX.
+     * 
+     * @param enabled true to record metrics (off by default)
+     */
+    public void setInstrumentation(boolean enabled) {
+        metrics.setEnabled(enabled);
+    }
+    
+    public boolean isInstrumentation() {
+        return metrics.isEnabled();
+    }
+    
+    /**
+     * Take a snapshot of the delivery metrics recorded while instrumentation was on.
+     * 
+     * @return agency-wide totals plus one entry per active subscription
+     */
+    public NewsAgencyMetrics getMetrics() {
+        List<ObserverMetrics> perObserver = new ArrayList<>();
+        collectMetrics(observers.snapshot(), perObserver);
+        collectMetrics(topicSubscriptions.subscriptions(), perObserver);
+        collectMetrics(contentSubscriptions.subscriptions(), perObserver);
+        return metrics.snapshot(perObserver);
+    }
+    
+    private static void collectMetrics(ObserverSubscription[] subscriptions, List<ObserverMetrics> perObserver) {
+        for (ObserverSubscription subscription : subscriptions) {
+            InstrumentedObserver instrumented = ObserverDecorator.find(subscription, InstrumentedObserver.class);
+            if (subscription.isActive() && instrumented != null) {
+                perObserver.add(instrumented.snapshot());
+            }
+        }
+    }
+    
+    /**
+     * Clear all recorded delivery metrics.
+     */
+    public void resetMetrics() {
+        metrics.reset();
+        resetMetrics(observers.snapshot());
+        resetMetrics(topicSubscriptions.subscriptions());
+        resetMetrics(contentSubscriptions.subscriptions());
+    }
+    
+    private static void resetMetrics(ObserverSubscription[] subscriptions) {
+        for (ObserverSubscription subscription : subscriptions) {
+            InstrumentedObserver instrumented = ObserverDecorator.find(subscription, InstrumentedObserver.class);
+            if (instrumented != null) {
+                instrumented.reset();
+            }
+        }
+    }
+    
+    /**
+     * Publish this agency's metrics as a {@link NewsAgencyMXBean} on the
+     * platform MBean server. It is unregistered again by {@link #close()}.
+     * 
+     * @param name distinguishes this agency from others in the same JVM
+     * @return the object name the bean was registered under
+     * @throws IllegalStateException if the bean cannot be registered
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.designpatterns.observer:type=NewsAgency,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new NewsAgencyMonitor(this), objectName);
+            mbeanName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register NewsAgency MBean '" + name + "'", e);
+        }
+    }
+    
+    /**
+     * Deliver any news still waiting in the micro-batching window.
+     */
+    public void flush() {
+        MicroBatcher currentBatcher = batcher;
+        if (currentBatcher != null) {
+            currentBatcher.flush();
+        }
+    }
+    
+    /**
+     * Flush pending micro-batches, stop all mailbox threads and complete
+     * stream subscribers. Messages that are still waiting in mailboxes are
+     * discarded; stream subscribers still receive what was already published.
+     */
+    @Override
+    public void close() {
+        MicroBatcher currentBatcher = batcher;
+        batcher = null;
+        if (currentBatcher != null) {
+            currentBatcher.close();
+        }
+        closeMailboxes(observers.snapshot());
+        closeMailboxes(topicSubscriptions.subscriptions());
+        closeMailboxes(contentSubscriptions.subscriptions());
+        SubmissionPublisher<String> publisher = flowPublisher;
+        if (publisher != null) {
+            publisher.close();
+        }
+        ObjectName name = mbeanName;
+        mbeanName = null;
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException e) {
+                // already unregistered by someone else
+            }
+        }
+    }
+    
+    private Observer decorate(Observer observer, OverflowPolicy policy, boolean weak) {
+        Objects.requireNonNull(observer, "observer");
+        Observer target = new InstrumentedObserver(weak ? new WeakObserver(observer) : observer, metrics);
+        int capacity = mailboxCapacity;
+        QuarantinePolicy quarantine = quarantinePolicy;
+        if (quarantine != null) {
+            target = new GuardedObserver(target, quarantine, capacity == 0);
+        }
+        return capacity > 0 ? new ObserverMailbox(target, capacity, policy, lanePolicy) : target;
+    }
+    
+    private static void closeMailboxes(ObserverSubscription[] subscriptions) {
+        for (ObserverSubscription subscription : subscriptions) {
+            if (subscription.getObserver() instanceof ObserverMailbox mailbox) {
+                mailbox.close();
+            }
+        }
+    }
+    
+    /**
+     * Wraps a stream subscriber so that publishing can cancel it with
+     * {@code onError} when it falls behind. The error is delivered between
+     * two {@code onNext} signals, never during one: if the subscriber is
+     * busy, the signal that is running delivers it when it returns.
+     */
+    private static final class StreamSubscriber implements Flow.Subscriber<String> {
+        
+        private final Flow.Subscriber<? super String> subscriber;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable failure;
+        
+        StreamSubscriber(Flow.Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(subscription);
+        }
+        
+        @Override
+        public void onNext(String item) {
+            if (failure != null || !busy.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                subscriber.onNext(item);
+            } finally {
+                busy.set(false);
+            }
+            if (failure != null) {
+                terminate(() -> subscriber.onError(failure));
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            terminate(() -> subscriber.onError(throwable));
+        }
+        
+        @Override
+        public void onComplete() {
+            terminate(subscriber::onComplete);
+        }
+        
+        void fail(Throwable error) {
+            failure = error;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            terminate(() -> subscriber.onError(error));
+        }
+        
+        static void rejectDuplicate(Flow.Subscriber<? super String> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Duplicate subscribe"));
+        }
+        
+        private void terminate(Runnable signal) {
+            // busy stays set, so nothing reaches the subscriber after its final signal
+            if (busy.compareAndSet(false, true)) {
+                signal.run();
+            }
+        }
+    }
+    
+    /**
+     * Registry entry and handle of one {@link EventObserver}.
+     */
+    private final class EventSubscription implements Subscription {
+        
+        private final EventObserver observer;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        
+        EventSubscription(EventObserver observer) {
+            this.observer = observer;
+        }
+        
+        void deliver(NewsEvent event) {
+            if (!active.get()) {
+                return;
+            }
+            event.rewind();
+            try {
+                observer.onEvent(event);
+            } catch (RuntimeException e) {
+                if (consoleLogging) {
+                    System.out.println("❌ Subscriber failed to handle news: " + e.getMessage());
+                }
+            }
+        }
+        
+        @Override
+        public void unsubscribe() {
+            if (active.compareAndSet(true, false)) {
+                eventObservers.markDead();
+            }
+        }
+        
+        @Override
+        public boolean isActive() {
+            return active.get();
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * JMX view of a {@link NewsAgency}'s delivery metrics, registered with
+ * {@link NewsAgency#registerMBean(String)}. Latencies are in microseconds.
+ */
+public interface NewsAgencyMXBean {
+    
+    boolean isInstrumentationEnabled();
+    
+    void setInstrumentationEnabled(boolean enabled);
+    
+    int getObserverCount();
+    
+    long getPublishCount();
+    
+    long getDeliveryCount();
+    
+    double getAverageFanOut();
+    
+    long getBroadcastP50Micros();
+    
+    long getBroadcastP99Micros();
+    
+    long getBroadcastMaxMicros();
+    
+    /**
+     * @return one line per observer, slowest p99 first:
+     *         {@code observer deliveries=.. failures=.. p50=..µs p99=..µs max=..µs}
+     */
+    String[] getSlowestObservers();
+    
+    /**
+     * @return duplicates suppressed so far, or 0 without deduplication
+     */
+    long getSuppressedDuplicates();
+    
+    /**
+     * @return the fraction of published news suppressed as duplicates
+     */
+    double getDuplicateSuppressionRatio();
+    
+    void resetMetrics();
+} 
\ No newline at end of file
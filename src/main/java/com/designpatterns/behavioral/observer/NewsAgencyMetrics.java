@@ -0,0 +1,42 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Point-in-time delivery metrics of a {@link NewsAgency}.
+ * 
+ * @param publishes news items published
+ * @param deliveries messages handed to observers (the fan-out total)
+ * @param broadcastLatency time each publish spent handing its message to all
+ *                         observers (or to their mailboxes in async mode)
+ * @param observers per-subscription metrics
+ */
+public record NewsAgencyMetrics(long publishes, long deliveries, LatencySnapshot broadcastLatency,
+                                List<ObserverMetrics> observers) {
+    
+    public NewsAgencyMetrics {
+        observers = List.copyOf(observers);
+    }
+    
+    /**
+     * @return average number of observers reached per published item
+     */
+    public double averageFanOut() {
+        return publishes == 0 ? 0 : (double) deliveries / publishes;
+    }
+    
+    /**
+     * Find the tail-latency offenders.
+     * 
+     * @param limit maximum number of observers to return
+     * @return the observers with the highest p99 update latency, slowest first
+     */
+    public List<ObserverMetrics> slowestObservers(int limit) {
+        return observers.stream()
+                .sorted(Comparator.comparingLong(
+                        (ObserverMetrics metrics) -> metrics.updateLatency().percentile(0.99)).reversed())
+                .limit(limit)
+                .toList();
+    }
+} 
\ No newline at end of file
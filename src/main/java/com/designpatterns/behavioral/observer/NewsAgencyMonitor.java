@@ -0,0 +1,91 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+
+/**
+ * {@link NewsAgencyMXBean} implementation that reads a fresh metrics snapshot per call.
+ */
+final class NewsAgencyMonitor implements NewsAgencyMXBean {
+    
+    private static final int SLOWEST_LIMIT = 20;
+    
+    private final NewsAgency newsAgency;
+    
+    NewsAgencyMonitor(NewsAgency newsAgency) {
+        this.newsAgency = newsAgency;
+    }
+    
+    @Override
+    public boolean isInstrumentationEnabled() {
+        return newsAgency.isInstrumentation();
+    }
+    
+    @Override
+    public void setInstrumentationEnabled(boolean enabled) {
+        newsAgency.setInstrumentation(enabled);
+    }
+    
+    @Override
+    public int getObserverCount() {
+        return newsAgency.getObserverCount();
+    }
+    
+    @Override
+    public long getPublishCount() {
+        return newsAgency.getMetrics().publishes();
+    }
+    
+    @Override
+    public long getDeliveryCount() {
+        return newsAgency.getMetrics().deliveries();
+    }
+    
+    @Override
+    public double getAverageFanOut() {
+        return newsAgency.getMetrics().averageFanOut();
+    }
+    
+    @Override
+    public long getBroadcastP50Micros() {
+        return newsAgency.getMetrics().broadcastLatency().percentile(0.5) / 1_000;
+    }
+    
+    @Override
+    public long getBroadcastP99Micros() {
+        return newsAgency.getMetrics().broadcastLatency().percentile(0.99) / 1_000;
+    }
+    
+    @Override
+    public long getBroadcastMaxMicros() {
+        return newsAgency.getMetrics().broadcastLatency().maxNanos() / 1_000;
+    }
+    
+    @Override
+    public String[] getSlowestObservers() {
+        List<ObserverMetrics> slowest = newsAgency.getMetrics().slowestObservers(SLOWEST_LIMIT);
+        String[] lines = new String[slowest.size()];
+        for (int i = 0; i < lines.length; i++) {
+            ObserverMetrics metrics = slowest.get(i);
+            LatencySnapshot latency = metrics.updateLatency();
+            lines[i] = metrics.observer() + " deliveries=" + metrics.deliveries() + " failures=" + metrics.failures()
+                    + " p50=" + latency.percentile(0.5) / 1_000 + "µs p99=" + latency.percentile(0.99) / 1_000
+                    + "µs max=" + latency.maxNanos() / 1_000 + "µs";
+        }
+        return lines;
+    }
+    
+    @Override
+    public long getSuppressedDuplicates() {
+        return newsAgency.getDeduplicationStats().map(DeduplicationStats::suppressed).orElse(0L);
+    }
+    
+    @Override
+    public double getDuplicateSuppressionRatio() {
+        return newsAgency.getDeduplicationStats().map(DeduplicationStats::suppressionRatio).orElse(0.0);
+    }
+    
+    @Override
+    public void resetMetrics() {
+        newsAgency.resetMetrics();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.designpatterns.behavioral.observer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable, mutable news message for the allocation-free delivery path
+ * ({@link NewsAgency#publishEvent(NewsEvent)}).
+ * 
+ * The payload is either text or raw bytes, copied into buffers the event
+ * owns. The buffers only grow, so once they have reached the size of the
+ * largest message, filling and delivering an event creates no garbage.
+ * Events come from a pool and go back to it after delivery; an
+ * {@link EventObserver} must therefore copy whatever it wants to keep.
+ */
+public final class NewsEvent {
+    
+    private static final int INITIAL_CAPACITY = 128;
+    
+    private final StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_CAPACITY).limit(0);
+    private int byteLength;
+    private boolean binary;
+    private long sequence;
+    private long timestamp;
+    
+    NewsEvent() {
+    }
+    
+    /**
+     * Replace the payload with a copy of the given text.
+     * 
+     * @param value the news text
+     * @return this event
+     */
+    public NewsEvent setText(CharSequence value) {
+        text.setLength(0);
+        text.append(value);
+        binary = false;
+        return this;
+    }
+    
+    /**
+     * Clear the payload and return the text buffer, for publishers that
+     * format the message in place instead of building a string first.
+     * 
+     * @return the empty text buffer of this event
+     */
+    public StringBuilder textBuffer() {
+        text.setLength(0);
+        binary = false;
+        return text;
+    }
+    
+    /**
+     * Replace the payload with a copy of the remaining bytes of the given
+     * buffer. The buffer's position is not changed.
+     * 
+     * @param value the encoded news
+     * @return this event
+     */
+    public NewsEvent setBytes(ByteBuffer value) {
+        int length = value.remaining();
+        if (bytes.capacity() < length) {
+            bytes = ByteBuffer.allocate(Math.max(length, bytes.capacity() * 2));
+        }
+        bytes.clear().limit(length);
+        bytes.put(0, value, value.position(), length);
+        byteLength = length;
+        binary = true;
+        return this;
+    }
+    
+    /**
+     * @return the text payload; only valid until the observer returns
+     * @throws IllegalStateException if the payload is binary
+     */
+    public CharSequence text() {
+        if (binary) {
+            throw new IllegalStateException("News event carries a binary payload.");
+        }
+        return text;
+    }
+    
+    /**
+     * @return the binary payload from position 0 to its limit; its content
+     *         must not be modified and it is only valid until the observer returns
+     * @throws IllegalStateException if the payload is text
+     */
+    public ByteBuffer bytes() {
+        if (!binary) {
+            throw new IllegalStateException("News event carries a text payload.");
+        }
+        return bytes;
+    }
+    
+    public boolean isBinary() {
+        return binary;
+    }
+    
+    /**
+     * @return the publish sequence number, increasing by one per event published by the agency
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * @return the publish time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    void stamp(long sequence, long timestamp) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+    }
+    
+    /**
+     * Undo position and limit changes an observer made while reading the bytes.
+     */
+    void rewind() {
+        if (binary) {
+            bytes.limit(byteLength).position(0);
+        }
+    }
+    
+    void reset() {
+        text.setLength(0);
+        bytes.clear().limit(0);
+        byteLength = 0;
+        binary = false;
+        sequence = 0;
+        timestamp = 0;
+    }
+    
+    /**
+     * @return the payload as a new string, decoding binary payloads as UTF-8
+     */
+    @Override
+    public String toString() {
+        return binary ? StandardCharsets.UTF_8.decode(bytes.duplicate()).toString() : text.toString();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Fixed-size pool of preallocated {@link NewsEvent}s. Every publishing thread
+ * takes its own event, so concurrent publishers never share one, and returns
+ * it after delivery. The free list is a plain array guarded by the pool's
+ * monitor, which allocates nothing on the uncontended path.
+ * 
+ * When more events are out than the pool holds, a new one is created and
+ * counted as a miss; it joins the pool on release if there is room.
+ */
+final class NewsEventPool {
+    
+    private final NewsEvent[] free;
+    private int available;
+    private long misses;
+    
+    /**
+     * @param capacity number of events to preallocate
+     */
+    NewsEventPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be positive: " + capacity);
+        }
+        this.free = new NewsEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            free[i] = new NewsEvent();
+        }
+        this.available = capacity;
+    }
+    
+    synchronized NewsEvent acquire() {
+        if (available == 0) {
+            misses++;
+            return new NewsEvent();
+        }
+        NewsEvent event = free[--available];
+        free[available] = null;
+        return event;
+    }
+    
+    void release(NewsEvent event) {
+        event.reset();
+        synchronized (this) {
+            if (available < free.length) {
+                free[available++] = event;
+            }
+        }
+    }
+    
+    synchronized int getAvailable() {
+        return available;
+    }
+    
+    synchronized long getMisses() {
+        return misses;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.designpatterns.behavioral.observer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Wire format of the socket transport: every news item is one frame made of
+ * a 4-byte big-endian payload length followed by the UTF-8 encoded text.
+ */
+final class NewsFrames {
+    
+    static final int HEADER_BYTES = Integer.BYTES;
+    static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+    
+    private NewsFrames() {
+    }
+    
+    /**
+     * @param message the news to send
+     * @return a frame ready to be written, positioned at its start
+     */
+    static ByteBuffer encode(String message) {
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("News item too large for a frame: " + payload.length + " bytes");
+        }
+        return ByteBuffer.allocate(HEADER_BYTES + payload.length).putInt(payload.length).put(payload).flip();
+    }
+    
+    /**
+     * Decode every complete frame in the buffer. Bytes of an incomplete
+     * trailing frame are left in the buffer, which is compacted for the next read.
+     * 
+     * @param buffer received bytes, in read mode; must be heap-backed
+     * @param messages receives the decoded news
+     * @throws IllegalStateException if a frame announces an invalid length
+     */
+    static void decode(ByteBuffer buffer, List<String> messages) {
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt(buffer.position());
+            if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+                throw new IllegalStateException("Corrupt news frame of length " + length);
+            }
+            if (buffer.remaining() < HEADER_BYTES + length) {
+                break;
+            }
+            int start = buffer.position() + HEADER_BYTES;
+            messages.add(new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8));
+            buffer.position(start + length);
+        }
+        buffer.compact();
+    }
+    
+    /**
+     * @param buffer the receive buffer after {@link #decode(ByteBuffer, List)}, in write mode
+     * @return the size of the frame at the start of the buffer, or 0 if its header is incomplete
+     */
+    static int pendingFrameBytes(ByteBuffer buffer) {
+        return buffer.position() >= HEADER_BYTES ? HEADER_BYTES + buffer.getInt(0) : 0;
+    }
+} 
\ No newline at end of file
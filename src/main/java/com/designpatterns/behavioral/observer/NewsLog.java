@@ -0,0 +1,248 @@
+package com.designpatterns.behavioral.observer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Durable, append-only log of published news.
+ * 
+ * Every message gets a log offset (0, 1, 2, ...) and a timestamp. The log is
+ * split into fixed-size segment files that are memory-mapped: appends encode
+ * the text straight into the mapped pages, and replay reads it back from
+ * them, so neither side copies through an intermediate buffer or issues a
+ * system call per message. Pages are forced to disk every
+ * {@link #setFsyncInterval(int) fsync interval} appends and whenever a
+ * segment fills up; between forces the operating system decides when to
+ * write them.
+ * 
+ * Reopening a directory recovers the existing segments and continues at the
+ * next offset. Only the newest {@link #setRetainedSegments(int) retained
+ * segments} are kept; older ones are deleted, and replay then starts at
+ * {@link #getStartOffset()}.
+ * 
+ * Appends are serialized; reads are lock-free and may run concurrently with
+ * appends.
+ */
+public class NewsLog implements AutoCloseable {
+    
+    public static final int DEFAULT_SEGMENT_BYTES = 16 * 1024 * 1024;
+    public static final int DEFAULT_FSYNC_INTERVAL = 64;
+    private static final int REPLAY_BATCH = 256;
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final List<NewsLogSegment> segments = new CopyOnWriteArrayList<>();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private volatile NewsLogSegment active;
+    private int fsyncInterval = DEFAULT_FSYNC_INTERVAL;
+    private int retainedSegments = Integer.MAX_VALUE;
+    private int unsyncedAppends;
+    private boolean closed;
+    
+    /**
+     * Open a log with the default segment size.
+     * 
+     * @param directory where the segment files live; created if missing
+     * @throws IOException if the directory or its segments cannot be opened
+     */
+    public NewsLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+    
+    /**
+     * @param directory where the segment files live; created if missing
+     * @param segmentBytes size of each segment file
+     * @throws IOException if the directory or its segments cannot be opened
+     */
+    public NewsLog(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes <= NewsLogSegment.HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(NewsLogSegment::isSegmentFile).sorted().toList()) {
+                segments.add(NewsLogSegment.open(file));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(NewsLogSegment.create(directory, 0, segmentBytes));
+        }
+        this.active = segments.get(segments.size() - 1);
+    }
+    
+    /**
+     * Append a message, stamped with the current time.
+     * 
+     * @param message the news to store
+     * @return the offset of the message
+     * @throws IllegalArgumentException if the message is larger than a segment
+     * @throws UncheckedIOException if a new segment file cannot be created
+     */
+    public synchronized long append(String message) {
+        if (closed) {
+            throw new IllegalStateException("News log is closed.");
+        }
+        // never behind the previous record, so time lookups can binary-search
+        long timestamp = Math.max(System.currentTimeMillis(), active.getLastTimestamp());
+        if (!active.tryAppend(message, timestamp, encoder)) {
+            if (active.isEmpty()) {
+                throw new IllegalArgumentException("News item does not fit into a log segment of "
+                        + segmentBytes + " bytes");
+            }
+            roll();
+            if (!active.tryAppend(message, timestamp, encoder)) {
+                throw new IllegalArgumentException("News item does not fit into a log segment of "
+                        + segmentBytes + " bytes");
+            }
+        }
+        if (fsyncInterval > 0 && ++unsyncedAppends >= fsyncInterval) {
+            active.force();
+            unsyncedAppends = 0;
+        }
+        return active.getEndOffset() - 1;
+    }
+    
+    private void roll() {
+        active.force();
+        unsyncedAppends = 0;
+        try {
+            NewsLogSegment next = NewsLogSegment.create(directory, active.getEndOffset(), segmentBytes);
+            segments.add(next);
+            active = next;
+            while (segments.size() > retainedSegments) {
+                segments.remove(0).delete();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll news log segment", e);
+        }
+    }
+    
+    /**
+     * Deliver stored messages to an observer, in offset order and in batches
+     * through {@link Observer#updateBatch(List)}, up to the end of the log.
+     * 
+     * @param fromOffset the first offset to deliver; offsets that were already
+     *                   removed by retention are skipped
+     * @param observer receives the messages
+     * @return the offset after the last delivered message
+     */
+    public long replay(long fromOffset, Observer observer) {
+        // clamp to the same snapshot that is read, or retention could move the start in between
+        List<NewsLogSegment> snapshot = List.copyOf(segments);
+        long offset = Math.max(fromOffset, snapshot.get(0).getBaseOffset());
+        List<String> batch = new ArrayList<>(REPLAY_BATCH);
+        for (NewsLogSegment segment : snapshot) {
+            while (offset < segment.getEndOffset()) {
+                batch.clear();
+                segment.read(offset, REPLAY_BATCH, batch);
+                // observers may keep the batch, so they get a copy rather than the reused buffer
+                observer.updateBatch(List.copyOf(batch));
+                offset += batch.size();
+            }
+        }
+        return offset;
+    }
+    
+    /**
+     * Find the first message written at or after the given time.
+     * 
+     * @param time the point in time to start from
+     * @return the offset of that message, or {@link #getNextOffset()} if none was written since
+     */
+    public long offsetAt(Instant time) {
+        long timestamp = time.toEpochMilli();
+        List<NewsLogSegment> snapshot = List.copyOf(segments);
+        int first = 0;
+        for (int i = snapshot.size() - 1; i > 0; i--) {
+            NewsLogSegment segment = snapshot.get(i);
+            if (!segment.isEmpty() && segment.getFirstTimestamp() <= timestamp) {
+                first = i;
+                break;
+            }
+        }
+        for (int i = first; i < snapshot.size(); i++) {
+            long offset = snapshot.get(i).offsetAt(timestamp);
+            if (offset < snapshot.get(i).getEndOffset()) {
+                return offset;
+            }
+        }
+        return getNextOffset();
+    }
+    
+    /**
+     * Force all appended messages to disk now.
+     */
+    public synchronized void flush() {
+        active.force();
+        unsyncedAppends = 0;
+    }
+    
+    /**
+     * @return the oldest offset that can still be replayed
+     */
+    public long getStartOffset() {
+        return segments.get(0).getBaseOffset();
+    }
+    
+    /**
+     * @return the offset the next appended message will get
+     */
+    public long getNextOffset() {
+        return active.getEndOffset();
+    }
+    
+    public int getSegmentCount() {
+        return segments.size();
+    }
+    
+    /**
+     * Force pages to disk every given number of appends. Larger intervals
+     * make appends cheaper but lose more messages if the machine crashes.
+     * 
+     * @param fsyncInterval appends between forces, or 0 to force only when a
+     *                      segment is full, on {@link #flush()} and on close
+     */
+    public synchronized void setFsyncInterval(int fsyncInterval) {
+        if (fsyncInterval < 0) {
+            throw new IllegalArgumentException("Fsync interval must not be negative: " + fsyncInterval);
+        }
+        this.fsyncInterval = fsyncInterval;
+    }
+    
+    /**
+     * Limit how many segment files are kept. The oldest segment is deleted
+     * when a new one is started beyond the limit.
+     * 
+     * @param retainedSegments maximum number of segments, at least 1
+     */
+    public synchronized void setRetainedSegments(int retainedSegments) {
+        if (retainedSegments < 1) {
+            throw new IllegalArgumentException("At least one segment must be retained: " + retainedSegments);
+        }
+        this.retainedSegments = retainedSegments;
+    }
+    
+    /**
+     * Force outstanding appends to disk and stop accepting new ones.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            active.force();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.designpatterns.behavioral.observer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One fixed-size, memory-mapped file of a {@link NewsLog}.
+ * 
+ * Records are laid out back to back as {@code [int size][long timestamp][UTF-8 text]},
+ * where {@code size} covers the whole record. The size is written last, so a
+ * record only becomes visible - to readers and to recovery after a crash -
+ * once its text is complete. A size of zero marks the end of the segment.
+ * 
+ * Records can only be found by walking the sizes, so the segment keeps a
+ * sparse in-memory index with the position of every
+ * {@value #INDEX_INTERVAL}th record. Reads and time lookups start from the
+ * nearest indexed record instead of the start of the file. Timestamps never
+ * decrease within a log, so time lookups binary-search the index.
+ */
+final class NewsLogSegment {
+    
+    static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    static final int INDEX_INTERVAL = 64;
+    private static final String SUFFIX = ".log";
+    
+    private final long baseOffset;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private volatile int writePosition;
+    private volatile int recordCount;
+    private volatile long firstTimestamp = Long.MIN_VALUE;
+    private volatile long lastTimestamp = Long.MIN_VALUE;
+    // position of record i * INDEX_INTERVAL at index i; written before recordCount publishes the record
+    private volatile int[] index = new int[16];
+    
+    private NewsLogSegment(long baseOffset, Path path, MappedByteBuffer buffer) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.buffer = buffer;
+    }
+    
+    /**
+     * Create and map a new, empty segment file.
+     */
+    static NewsLogSegment create(Path directory, long baseOffset, int segmentBytes) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+        return new NewsLogSegment(baseOffset, path, map(path, segmentBytes));
+    }
+    
+    /**
+     * Map an existing segment file and find the end of its last complete record.
+     */
+    static NewsLogSegment open(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        NewsLogSegment segment = new NewsLogSegment(baseOffset, path, map(path, Files.size(path)));
+        segment.recover();
+        return segment;
+    }
+    
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(SUFFIX) && name.length() > SUFFIX.length()
+                && name.chars().limit(name.length() - SUFFIX.length()).allMatch(Character::isDigit);
+    }
+    
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+    
+    private void recover() {
+        int position = 0;
+        int count = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int size = buffer.getInt(position);
+            if (size < HEADER_BYTES || position + size > buffer.capacity()) {
+                break;
+            }
+            long timestamp = buffer.getLong(position + Integer.BYTES);
+            if (count == 0) {
+                firstTimestamp = timestamp;
+            }
+            lastTimestamp = timestamp;
+            indexRecord(count, position);
+            position += size;
+            count++;
+        }
+        writePosition = position;
+        recordCount = count;
+    }
+    
+    /**
+     * Encode a message straight into the mapped pages.
+     * 
+     * @param encoder a UTF-8 encoder owned by the (single) writer
+     * @return false if the record does not fit into the rest of this segment
+     */
+    boolean tryAppend(String message, long timestamp, CharsetEncoder encoder) {
+        int position = writePosition;
+        if (position + HEADER_BYTES > buffer.capacity()) {
+            return false;
+        }
+        ByteBuffer target = buffer.duplicate().position(position + HEADER_BYTES);
+        encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(message), target, true);
+        if (result.isOverflow() || encoder.flush(target).isOverflow()) {
+            // the size field is still zero, so the partial text is never read
+            return false;
+        }
+        int size = target.position() - position;
+        buffer.putLong(position + Integer.BYTES, timestamp);
+        buffer.putInt(position, size);
+        if (recordCount == 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        indexRecord(recordCount, position);
+        writePosition = position + size;
+        recordCount++;
+        return true;
+    }
+    
+    private void indexRecord(int record, int position) {
+        if (record % INDEX_INTERVAL != 0) {
+            return;
+        }
+        int slot = record / INDEX_INTERVAL;
+        int[] current = index;
+        if (slot == current.length) {
+            current = Arrays.copyOf(current, slot * 2);
+        }
+        current[slot] = position;
+        index = current;
+    }
+    
+    /**
+     * Read the messages of this segment, starting at the given log offset.
+     * 
+     * @param fromOffset the first log offset to read, at least {@link #getBaseOffset()}
+     * @param maxMessages stop after this many messages
+     * @param messages receives the messages
+     */
+    void read(long fromOffset, int maxMessages, List<String> messages) {
+        int count = recordCount;
+        int end = writePosition;
+        if (fromOffset >= baseOffset + count) {
+            return;
+        }
+        int slot = (int) ((fromOffset - baseOffset) / INDEX_INTERVAL);
+        int position = index[slot];
+        long offset = baseOffset + (long) slot * INDEX_INTERVAL;
+        for (; offset < fromOffset && position < end; offset++) {
+            position += buffer.getInt(position);
+        }
+        for (int read = 0; read < maxMessages && position < end && offset < baseOffset + count; read++, offset++) {
+            int size = buffer.getInt(position);
+            ByteBuffer text = buffer.slice(position + HEADER_BYTES, size - HEADER_BYTES);
+            messages.add(StandardCharsets.UTF_8.decode(text).toString());
+            position += size;
+        }
+    }
+    
+    /**
+     * Find the first record written at or after the given time.
+     * 
+     * @return the log offset of that record, or {@link #getEndOffset()} if there is none
+     */
+    long offsetAt(long timestamp) {
+        int count = recordCount;
+        int[] positions = index;
+        // the last indexed record written before the time; the answer is at most one interval past it
+        int slot = 0;
+        int low = 1;
+        int high = (count - 1) / INDEX_INTERVAL;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(positions[mid] + Integer.BYTES) < timestamp) {
+                slot = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int position = positions[slot];
+        for (int i = slot * INDEX_INTERVAL; i < count; i++) {
+            if (buffer.getLong(position + Integer.BYTES) >= timestamp) {
+                return baseOffset + i;
+            }
+            position += buffer.getInt(position);
+        }
+        return baseOffset + count;
+    }
+    
+    void force() {
+        buffer.force();
+    }
+    
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+    
+    long getBaseOffset() {
+        return baseOffset;
+    }
+    
+    long getEndOffset() {
+        return baseOffset + recordCount;
+    }
+    
+    long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+    
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+    
+    boolean isEmpty() {
+        return recordCount == 0;
+    }
+} 
\ No newline at end of file
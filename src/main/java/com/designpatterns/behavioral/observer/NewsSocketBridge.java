@@ -0,0 +1,270 @@
+package com.designpatterns.behavioral.observer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Observer that forwards news to other processes on the same host over a
+ * non-blocking socket, TCP loopback or Unix-domain. Subscribe it to a local
+ * agency with {@link NewsAgency#addObserver(Observer)}; on the other side a
+ * {@link RemoteSubscriberProxy} feeds the news into that process's agency.
+ * 
+ * Every message is encoded once into a length-prefixed frame (see
+ * {@link NewsFrames}) and queued for every connected client. A single
+ * selector thread accepts clients and writes their queued frames with one
+ * gathering write per batch, so a burst of news costs a few system calls
+ * instead of one per message. Publishing never blocks on the network: a
+ * client whose queue overflows is disconnected.
+ */
+public class NewsSocketBridge implements Observer, AutoCloseable {
+    
+    public static final int DEFAULT_CLIENT_QUEUE_CAPACITY = 8192;
+    private static final int MAX_GATHER = 64;
+    
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final SocketAddress localAddress;
+    private final int clientQueueCapacity;
+    private final SubscriberRegistry<RemoteClient> clients = new SubscriberRegistry<>(RemoteClient[]::new);
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final Thread ioThread;
+    private volatile boolean closed;
+    
+    /**
+     * Listen with the default client queue capacity.
+     * 
+     * @param address an {@link java.net.InetSocketAddress} (port 0 picks a free
+     *                port) or a {@link UnixDomainSocketAddress}
+     * @throws IOException if the address cannot be bound
+     */
+    public NewsSocketBridge(SocketAddress address) throws IOException {
+        this(address, DEFAULT_CLIENT_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * @param address an {@link java.net.InetSocketAddress} (port 0 picks a free
+     *                port) or a {@link UnixDomainSocketAddress}
+     * @param clientQueueCapacity frames a client may lag behind before it is disconnected
+     * @throws IOException if the address cannot be bound
+     */
+    public NewsSocketBridge(SocketAddress address, int clientQueueCapacity) throws IOException {
+        if (clientQueueCapacity < 1) {
+            throw new IllegalArgumentException("Client queue capacity must be positive: " + clientQueueCapacity);
+        }
+        this.clientQueueCapacity = clientQueueCapacity;
+        this.server = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.selector = Selector.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.localAddress = server.getLocalAddress();
+        this.ioThread = new Thread(this::run, "news-socket-bridge");
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+    }
+    
+    @Override
+    public void update(String message) {
+        if (enqueue(NewsFrames.encode(message))) {
+            signal();
+        }
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        boolean queued = false;
+        for (int i = 0; i < messages.size(); i++) {
+            queued |= enqueue(NewsFrames.encode(messages.get(i)));
+        }
+        if (queued) {
+            signal();
+        }
+    }
+    
+    private boolean enqueue(ByteBuffer frame) {
+        RemoteClient[] snapshot = clients.snapshot();
+        for (RemoteClient client : snapshot) {
+            client.offer(frame);
+        }
+        return snapshot.length > 0;
+    }
+    
+    private void signal() {
+        // one wakeup per batch the I/O thread picks up, not one per message
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+    
+    /**
+     * @return the bound address, including the chosen port for TCP
+     */
+    public SocketAddress getLocalAddress() {
+        return localAddress;
+    }
+    
+    public int getClientCount() {
+        return clients.size();
+    }
+    
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                wakeupPending.set(false);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    }
+                }
+                selector.selectedKeys().clear();
+                for (RemoteClient client : clients.snapshot()) {
+                    client.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.out.println("❌ News socket bridge stopped: " + e.getMessage());
+            }
+        } catch (ClosedSelectorException e) {
+            // closed while selecting
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            if (!(localAddress instanceof UnixDomainSocketAddress)) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            RemoteClient client = new RemoteClient(channel, clientQueueCapacity);
+            client.key = channel.register(selector, 0, client);
+            clients.add(client);
+        }
+    }
+    
+    /**
+     * Stop accepting clients and disconnect the connected ones. Frames that
+     * were not written yet are discarded. A Unix-domain socket file is deleted.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        selector.wakeup();
+        try {
+            ioThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (RemoteClient client : clients.snapshot()) {
+            client.disconnect();
+        }
+        clients.clear();
+        try {
+            selector.close();
+            server.close();
+            if (localAddress instanceof UnixDomainSocketAddress unixAddress) {
+                Files.deleteIfExists(unixAddress.getPath());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close news socket bridge", e);
+        }
+    }
+    
+    /**
+     * One connected process: its queue of encoded frames and the frames of
+     * the gathering write in progress.
+     */
+    private final class RemoteClient {
+        
+        private final SocketChannel channel;
+        private final BlockingQueue<ByteBuffer> queue;
+        private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+        private int gatherStart;
+        private int gatherEnd;
+        private volatile boolean overflowed;
+        private SelectionKey key;
+        
+        RemoteClient(SocketChannel channel, int capacity) {
+            this.channel = channel;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+        
+        void offer(ByteBuffer frame) {
+            // frames are shared by all clients, so each gets its own position
+            if (!overflowed && !queue.offer(frame.duplicate())) {
+                overflowed = true;
+            }
+        }
+        
+        /**
+         * Write queued frames until the queue is empty or the socket buffer is full.
+         * Called on the I/O thread only.
+         */
+        void flush() {
+            if (overflowed) {
+                System.out.println("❌ Remote subscriber fell " + queue.size() + " news items behind; disconnecting");
+                disconnect();
+                return;
+            }
+            try {
+                while (true) {
+                    if (gatherStart == gatherEnd) {
+                        gatherStart = 0;
+                        gatherEnd = 0;
+                        ByteBuffer frame;
+                        while (gatherEnd < MAX_GATHER && (frame = queue.poll()) != null) {
+                            gather[gatherEnd++] = frame;
+                        }
+                        if (gatherEnd == 0) {
+                            key.interestOps(0);
+                            return;
+                        }
+                    }
+                    channel.write(gather, gatherStart, gatherEnd - gatherStart);
+                    while (gatherStart < gatherEnd && !gather[gatherStart].hasRemaining()) {
+                        gather[gatherStart++] = null;
+                    }
+                    if (gatherStart < gatherEnd) {
+                        // socket buffer full: continue once it is writable again
+                        key.interestOps(SelectionKey.OP_WRITE);
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                disconnect();
+            }
+        }
+        
+        void disconnect() {
+            clients.remove(this);
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+    }
+} 
\ No newline at end of file
@@ -19,4 +19,9 @@ public class NewsSubscriber implements Observer {
     public String getName() {
         return name;
     }
+    
+    @Override
+    public String toString() {
+        return "NewsSubscriber[" + name + "]";
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.designpatterns.behavioral.observer;
 
+import java.util.List;
+
 /**
  * Observer interface that defines the contract for all observers.
  * Observers are notified when the subject's state changes.
@@ -12,4 +14,18 @@ public interface Observer {
      * @param message the notification message
      */
     void update(String message);
+    
+    /**
+     * Called with several messages at once when the subject publishes a batch.
+     * The default delivers them one by one through {@link #update(String)};
+     * observers that can process a whole batch more cheaply (one write, one
+     * lock acquisition, ...) should override it.
+     * 
+     * @param messages the notification messages, in publish order
+     */
+    default void updateBatch(List<String> messages) {
+        for (int i = 0; i < messages.size(); i++) {
+            update(messages.get(i));
+        }
+    }
 } 
\ No newline at end of file
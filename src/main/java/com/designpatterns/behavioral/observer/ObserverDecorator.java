@@ -0,0 +1,46 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Observer that wraps another observer to add delivery behaviour (mailboxes,
+ * topic filtering, ...). Subjects unwrap decorators so that
+ * {@link Subject#removeObserver(Observer)} still finds the original observer.
+ */
+interface ObserverDecorator extends Observer {
+    
+    /**
+     * @return the wrapped observer
+     */
+    Observer getObserver();
+    
+    /**
+     * Strip all decorators from an observer.
+     * 
+     * @param observer a possibly decorated observer
+     * @return the innermost observer
+     */
+    static Observer unwrap(Observer observer) {
+        Observer current = observer;
+        while (current instanceof ObserverDecorator decorator) {
+            current = decorator.getObserver();
+        }
+        return current;
+    }
+    
+    /**
+     * Find a decorator of the given type in an observer's decorator chain.
+     * 
+     * @param observer a possibly decorated observer
+     * @param type the decorator type to look for
+     * @return the outermost decorator of that type, or null if there is none
+     */
+    static <D extends ObserverDecorator> D find(Observer observer, Class<D> type) {
+        Observer current = observer;
+        while (current instanceof ObserverDecorator decorator) {
+            if (type.isInstance(decorator)) {
+                return type.cast(decorator);
+            }
+            current = decorator.getObserver();
+        }
+        return null;
+    }
+} 
\ No newline at end of file
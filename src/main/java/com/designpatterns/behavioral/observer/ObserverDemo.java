@@ -42,6 +42,16 @@ public class ObserverDemo {
         // Publish more news (Bob won't receive this)
         newsAgency.publishNews("Sports: World Cup finals this weekend!");
         
+        System.out.println("\n" + "-".repeat(40) + "\n");
+        
+        // Topic subscription: Dave only cares about tech news
+        System.out.println("🏷️ Dave subscribes to 'Tech' news only:");
+        NewsSubscriber dave = new NewsSubscriber("Dave");
+        newsAgency.addObserver("Tech", dave);
+        
+        newsAgency.publishNews("Tech: Virtual threads go mainstream!");
+        newsAgency.publishNews("Sports: Local team wins the derby!");
+        
         System.out.println("\n=== Observer Pattern Demo Complete ===");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that gives an observer its own bounded mailbox, drained in order
+ * by a dedicated virtual thread.
+ * 
+ * {@link #update(String)} only enqueues, so the publisher never runs observer
+ * code and a slow observer only delays its own mailbox. What happens when
+ * the mailbox is full is decided by its {@link OverflowPolicy}.
+ * 
+ * With a {@link LanePolicy} the mailbox has one lane per {@link Priority},
+ * each bounded by the capacity and governed by the overflow policy on its
+ * own. The worker then picks the lane to deliver from by the policy's
+ * scheduling, so messages of different priorities may overtake each other;
+ * within a lane the order is kept.
+ */
+final class ObserverMailbox implements ObserverDecorator, AutoCloseable {
+    
+    private static final AtomicInteger MAILBOX_IDS = new AtomicInteger();
+    
+    private final Observer observer;
+    private final BlockingQueue<Delivery>[] lanes;
+    private final OverflowPolicy policy;
+    private final LanePolicy lanePolicy;
+    // one permit per queued delivery, so the worker can wait on all lanes at once
+    private final Semaphore queued;
+    private final Thread worker;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private volatile boolean closed;
+    private int currentLane;
+    private int servedFromLane;
+    
+    ObserverMailbox(Observer observer, int capacity, OverflowPolicy policy) {
+        this(observer, capacity, policy, null);
+    }
+    
+    /**
+     * @param observer the observer to deliver to
+     * @param capacity maximum queued messages, per lane
+     * @param policy what a full lane does with new messages
+     * @param lanePolicy priority lane scheduling, or null for a single lane
+     */
+    @SuppressWarnings("unchecked")
+    ObserverMailbox(Observer observer, int capacity, OverflowPolicy policy, LanePolicy lanePolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive: " + capacity);
+        }
+        this.observer = observer;
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.lanePolicy = lanePolicy;
+        this.lanes = (BlockingQueue<Delivery>[]) new BlockingQueue<?>[lanePolicy != null ? Priority.values().length : 1];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayBlockingQueue<>(capacity);
+        }
+        this.queued = lanePolicy != null ? new Semaphore(0) : null;
+        this.worker = Thread.ofVirtual().name("news-mailbox-" + MAILBOX_IDS.incrementAndGet()).start(this::drain);
+    }
+    
+    @Override
+    public void update(String message) {
+        enqueue(message, null);
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        enqueue(new Delivery(null, messages, null, Priority.NORMAL, lanePolicy != null ? System.nanoTime() : 0));
+    }
+    
+    /**
+     * Queue a message for delivery.
+     * 
+     * @param message the message to deliver
+     * @param tracker acknowledgement tracker for the publish, or null if nobody is waiting
+     */
+    void enqueue(String message, FanOutTracker tracker) {
+        enqueue(message, tracker, Priority.NORMAL);
+    }
+    
+    /**
+     * Queue a message for delivery in the lane of its priority.
+     * 
+     * @param message the message to deliver
+     * @param tracker acknowledgement tracker for the publish, or null if nobody is waiting
+     * @param priority the lane to queue in; ignored without priority lanes
+     */
+    void enqueue(String message, FanOutTracker tracker, Priority priority) {
+        enqueue(new Delivery(message, null, tracker, priority, lanePolicy != null ? System.nanoTime() : 0));
+    }
+    
+    private void enqueue(Delivery delivery) {
+        if (closed) {
+            delivery.acknowledge();
+            return;
+        }
+        BlockingQueue<Delivery> queue = lanes.length == 1 ? lanes[0] : lanes[delivery.priority().ordinal()];
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    queue.put(delivery);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    delivery.fail(e);
+                    return;
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!queue.offer(delivery)) {
+                    dropped.increment();
+                    delivery.acknowledge();
+                    return;
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(delivery)) {
+                    evictOne(queue, dropped);
+                }
+            }
+            case CONFLATE -> {
+                do {
+                    while (!queue.isEmpty()) {
+                        evictOne(queue, conflated);
+                    }
+                } while (!queue.offer(delivery));
+            }
+        }
+        if (queued != null) {
+            queued.release();
+        }
+        // close() may have run between the check and the put; never strand a message
+        if (closed && queue.remove(delivery)) {
+            delivery.acknowledge();
+        }
+    }
+    
+    /**
+     * Remove the oldest queued delivery. Evicted messages count as handled so
+     * that publish futures still complete.
+     */
+    private static void evictOne(BlockingQueue<Delivery> queue, LongAdder counter) {
+        Delivery evicted = queue.poll();
+        if (evicted != null) {
+            counter.increment();
+            evicted.acknowledge();
+        }
+    }
+    
+    private void drain() {
+        try {
+            while (!closed) {
+                Delivery next = lanes.length == 1 ? lanes[0].take() : takeScheduled();
+                if (next != null) {
+                    next.deliverTo(observer);
+                    delivered.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            // closing
+        }
+        // discarded messages still count as handled so publish futures complete
+        for (BlockingQueue<Delivery> lane : lanes) {
+            Delivery pending;
+            while ((pending = lane.poll()) != null) {
+                pending.acknowledge();
+            }
+        }
+    }
+    
+    /**
+     * Wait for a delivery in any lane and take the one the scheduling picks.
+     * Evictions leave surplus permits behind, so this may return null.
+     */
+    private Delivery takeScheduled() throws InterruptedException {
+        queued.acquire();
+        long now = System.nanoTime();
+        long starvationLimit = lanePolicy.starvationLimit().toNanos();
+        for (int lane = lanes.length - 1; lane > 0; lane--) {
+            Delivery oldest = lanes[lane].peek();
+            if (oldest != null && now - oldest.enqueuedAt() > starvationLimit) {
+                return lanes[lane].poll();
+            }
+        }
+        if (lanePolicy.scheduling() == LaneScheduling.STRICT) {
+            for (BlockingQueue<Delivery> lane : lanes) {
+                Delivery next = lane.poll();
+                if (next != null) {
+                    return next;
+                }
+            }
+            return null;
+        }
+        for (int i = 0; i <= lanes.length; i++) {
+            if (servedFromLane < lanePolicy.weightOf(currentLane)) {
+                Delivery next = lanes[currentLane].poll();
+                if (next != null) {
+                    servedFromLane++;
+                    return next;
+                }
+            }
+            currentLane = (currentLane + 1) % lanes.length;
+            servedFromLane = 0;
+        }
+        return null;
+    }
+    
+    /**
+     * Stop the mailbox thread. Messages still queued are discarded.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+    }
+    
+    @Override
+    public Observer getObserver() {
+        return observer;
+    }
+    
+    MailboxStats getStats() {
+        int pending = 0;
+        for (BlockingQueue<Delivery> lane : lanes) {
+            pending += lane.size();
+        }
+        return new MailboxStats(policy, pending, delivered.sum(), dropped.sum(), conflated.sum());
+    }
+    
+    /**
+     * One queued message, or one queued batch when {@code batch} is set.
+     * The enqueue time is only recorded with priority lanes.
+     */
+    private record Delivery(String message, List<String> batch, FanOutTracker tracker, Priority priority,
+                            long enqueuedAt) {
+        
+        void deliverTo(Observer observer) {
+            try {
+                if (batch != null) {
+                    observer.updateBatch(batch);
+                } else {
+                    observer.update(message);
+                }
+            } catch (RuntimeException e) {
+                System.out.println("❌ Subscriber failed to handle news: " + e.getMessage());
+                fail(e);
+                return;
+            }
+            acknowledge();
+        }
+        
+        void acknowledge() {
+            if (tracker != null) {
+                tracker.acknowledge();
+            }
+        }
+        
+        void fail(Throwable failure) {
+            if (tracker != null) {
+                tracker.fail(failure);
+            }
+        }
+    }
+} 
\ No newline at end of file
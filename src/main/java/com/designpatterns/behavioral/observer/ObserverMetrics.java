@@ -0,0 +1,14 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Delivery counters of one subscription.
+ * 
+ * @param observer the observer's {@code toString()}
+ * @param deliveries calls to {@link Observer#update(String)} or {@link Observer#updateBatch(java.util.List)}
+ * @param messages messages handed over by those calls
+ * @param failures calls that threw
+ * @param updateLatency how long the calls took
+ */
+public record ObserverMetrics(String observer, long deliveries, long messages, long failures,
+                              LatencySnapshot updateLatency) {
+} 
\ No newline at end of file
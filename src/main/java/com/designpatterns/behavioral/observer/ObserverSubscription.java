@@ -0,0 +1,134 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One entry of a {@link NewsAgency} subscriber registry, doubling as the
+ * {@link Subscription} handle returned to the caller.
+ * 
+ * Unsubscribing only flips a flag and tells the registries holding the entry
+ * that one of their entries died; delivery skips inactive entries and the
+ * registries purge them lazily (see {@link SubscriberRegistry#markDead()}).
+ * Weak subscriptions are swept the same way the first time a delivery finds
+ * their observer garbage collected.
+ * 
+ * A failing observer never stops delivery to the others: its exception is
+ * reported and, when the publisher waits for acknowledgements, recorded as
+ * the failure of this one delivery.
+ */
+final class ObserverSubscription implements ObserverDecorator, Subscription {
+    
+    private final Observer observer;
+    private final WeakObserver weakObserver;
+    private final SubscriberRegistry<?>[] registries;
+    private final AtomicBoolean active = new AtomicBoolean(true);
+    
+    /**
+     * @param observer the delivery target, possibly a mailbox or weak decorator
+     * @param registries the registries that will hold this entry
+     */
+    ObserverSubscription(Observer observer, SubscriberRegistry<?>... registries) {
+        this.observer = observer;
+        this.weakObserver = ObserverDecorator.find(observer, WeakObserver.class);
+        this.registries = registries;
+    }
+    
+    /**
+     * Hand a message to the observer, through its mailbox if it has one.
+     * 
+     * @param message the message to deliver
+     * @param tracker acknowledgement tracker for the publish, or null if nobody is waiting
+     */
+    void deliver(String message, FanOutTracker tracker) {
+        deliver(message, tracker, Priority.NORMAL);
+    }
+    
+    /**
+     * Hand a message to the observer, queued in the lane of its priority if
+     * the observer has a mailbox with priority lanes.
+     * 
+     * @param message the message to deliver
+     * @param tracker acknowledgement tracker for the publish, or null if nobody is waiting
+     * @param priority the priority class of the message
+     */
+    void deliver(String message, FanOutTracker tracker, Priority priority) {
+        if (!isLive()) {
+            if (tracker != null) {
+                tracker.acknowledge();
+            }
+        } else if (observer instanceof ObserverMailbox mailbox) {
+            mailbox.enqueue(message, tracker, priority);
+        } else {
+            try {
+                observer.update(message);
+            } catch (RuntimeException e) {
+                reportFailure(e);
+                if (tracker != null) {
+                    tracker.fail(e);
+                }
+                return;
+            }
+            if (tracker != null) {
+                tracker.acknowledge();
+            }
+        }
+    }
+    
+    @Override
+    public void update(String message) {
+        deliver(message, null);
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        if (isLive()) {
+            try {
+                observer.updateBatch(messages);
+            } catch (RuntimeException e) {
+                reportFailure(e);
+            }
+        }
+    }
+    
+    private static void reportFailure(RuntimeException failure) {
+        System.out.println("❌ Subscriber failed to handle news: " + failure.getMessage());
+    }
+    
+    private boolean isLive() {
+        if (!active.get()) {
+            return false;
+        }
+        if (weakObserver != null && weakObserver.isCleared()) {
+            unsubscribe();
+            return false;
+        }
+        return true;
+    }
+    
+    @Override
+    public void unsubscribe() {
+        if (!active.compareAndSet(true, false)) {
+            return;
+        }
+        if (observer instanceof ObserverMailbox mailbox) {
+            mailbox.close();
+        }
+        for (SubscriberRegistry<?> registry : registries) {
+            registry.markDead();
+        }
+    }
+    
+    @Override
+    public boolean isActive() {
+        return active.get();
+    }
+    
+    /**
+     * @return the delivery target: the observer itself, or its mailbox or weak decorator
+     */
+    @Override
+    public Observer getObserver() {
+        return observer;
+    }
+} 
\ No newline at end of file
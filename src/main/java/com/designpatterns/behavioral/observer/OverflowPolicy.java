@@ -0,0 +1,30 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * What an observer's mailbox does when a message arrives and the mailbox is
+ * full. Every policy except {@link #BLOCK} keeps memory bounded without ever
+ * stalling the publisher, so one lagging observer cannot hold up the others.
+ */
+public enum OverflowPolicy {
+    
+    /**
+     * Make the publisher wait until the observer catches up.
+     */
+    BLOCK,
+    
+    /**
+     * Evict the oldest queued message to make room for the new one.
+     */
+    DROP_OLDEST,
+    
+    /**
+     * Discard the new message and keep what is already queued.
+     */
+    DROP_NEWEST,
+    
+    /**
+     * Keep only the newest message: a new message replaces everything still
+     * queued, so a slow observer always catches up with the latest news.
+     */
+    CONFLATE
+} 
\ No newline at end of file
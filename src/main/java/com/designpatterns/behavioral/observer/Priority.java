@@ -0,0 +1,25 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Priority class of a published news item. With
+ * {@link NewsAgency#setPriorityLanes(LanePolicy) priority lanes} every class
+ * has its own lane in each observer's mailbox, so a breaking story does not
+ * wait behind a backlog of routine news.
+ */
+public enum Priority {
+    
+    /**
+     * Breaking news, delivered ahead of everything else.
+     */
+    HIGH,
+    
+    /**
+     * Regular news; what {@link NewsAgency#publishNews(String)} uses.
+     */
+    NORMAL,
+    
+    /**
+     * Bulk or background news that may wait.
+     */
+    LOW
+} 
\ No newline at end of file
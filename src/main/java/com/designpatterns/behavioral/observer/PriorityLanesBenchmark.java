@@ -0,0 +1,133 @@
+package com.designpatterns.behavioral.observer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures publish-to-observer latency of {@link Priority#HIGH} news, first
+ * on an idle mailbox and then while a second thread keeps the same mailbox
+ * saturated with {@link Priority#LOW} news, for a single-lane mailbox and for
+ * strict and weighted priority lanes.
+ * 
+ * The observer spends a fixed amount of work on every message, so the low
+ * priority flood fills the mailbox to capacity. With one lane a high priority
+ * item waits behind the whole backlog; with lanes it waits for at most the
+ * message in progress (strict) or one round of the weights (weighted).
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.PriorityLanesBenchmark"}
+ * with optional arguments {@code <samples> <workMicros> <mailboxCapacity>}.
+ */
+public class PriorityLanesBenchmark {
+    
+    private static final String HIGH_PREFIX = "Breaking: ";
+    
+    public static void main(String[] args) throws InterruptedException {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        long workNanos = (args.length > 1 ? Long.parseLong(args[1]) : 10) * 1_000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1_024;
+        
+        System.out.println("=== Priority Lanes Benchmark ===");
+        System.out.println("samples=" + samples + " work=" + workNanos / 1_000 + "µs capacity=" + capacity + "\n");
+        
+        run("single lane", null, samples, workNanos, capacity);
+        run("strict lanes", LanePolicy.strict(Duration.ofSeconds(1)), samples, workNanos, capacity);
+        run("weighted lanes 8/2/1", LanePolicy.weighted(8, 2, 1), samples, workNanos, capacity);
+    }
+    
+    private static void run(String label, LanePolicy lanes, int samples, long workNanos, int capacity)
+            throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong highReceived = new AtomicLong();
+        AtomicLong lowReceived = new AtomicLong();
+        try (NewsAgency agency = new NewsAgency()) {
+            agency.setConsoleLogging(false);
+            agency.setAsyncDelivery(capacity);
+            agency.setPriorityLanes(lanes);
+            Observer observer = message -> {
+                long start = System.nanoTime();
+                if (message.startsWith(HIGH_PREFIX)) {
+                    long sent = Long.parseLong(message, HIGH_PREFIX.length(), message.length(), 10);
+                    latency.record(start - sent);
+                    highReceived.incrementAndGet();
+                } else {
+                    lowReceived.incrementAndGet();
+                }
+                while (System.nanoTime() - start < workNanos) {
+                    Thread.onSpinWait();
+                }
+            };
+            agency.addObserver(observer);
+            
+            // warm-up pass, then idle and saturated passes
+            publishHigh(agency, highReceived, samples / 10, workNanos);
+            latency.reset();
+            publishHigh(agency, highReceived, samples, workNanos);
+            LatencySnapshot idle = latency.snapshot();
+            
+            FloodThread flood = new FloodThread(agency);
+            flood.start();
+            while (agency.getMailboxStats(observer).orElseThrow().pending() < capacity / 2) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            latency.reset();
+            long lowBefore = lowReceived.get();
+            long start = System.nanoTime();
+            publishHigh(agency, highReceived, samples, workNanos);
+            double lowRate = (lowReceived.get() - lowBefore) / ((System.nanoTime() - start) / 1e9);
+            LatencySnapshot saturated = latency.snapshot();
+            flood.finish();
+            
+            System.out.printf("▶ %s%n", label);
+            print("idle", idle);
+            print("saturated", saturated);
+            System.out.printf("   low priority delivered under load: %,10.0f msgs/s%n%n", lowRate);
+        }
+    }
+    
+    /**
+     * Publishes high priority news at a tenth of the observer's capacity and
+     * waits until all of it was delivered.
+     */
+    private static void publishHigh(NewsAgency agency, AtomicLong received, int samples, long workNanos) {
+        long target = received.get() + samples;
+        for (int i = 0; i < samples; i++) {
+            agency.publishNews(HIGH_PREFIX + System.nanoTime(), Priority.HIGH);
+            LockSupport.parkNanos(workNanos * 10);
+        }
+        while (received.get() < target) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+    
+    private static void print(String phase, LatencySnapshot snapshot) {
+        System.out.printf("   %-10s p50 %,12d ns   p99 %,12d ns   max %,12d ns%n",
+                phase, snapshot.percentile(0.50), snapshot.percentile(0.99), snapshot.maxNanos());
+    }
+    
+    /**
+     * Publishes low priority news as fast as the mailbox accepts it.
+     */
+    private static final class FloodThread extends Thread {
+        private final NewsAgency agency;
+        private volatile boolean running = true;
+        
+        FloodThread(NewsAgency agency) {
+            super("low-priority-flood");
+            this.agency = agency;
+        }
+        
+        @Override
+        public void run() {
+            long i = 0;
+            while (running) {
+                agency.publishNews("Routine: item " + i++, Priority.LOW);
+            }
+        }
+        
+        void finish() throws InterruptedException {
+            running = false;
+            join();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.designpatterns.behavioral.observer;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How a {@link NewsAgency} protects publishing from misbehaving observers.
+ * 
+ * Every call into an observer gets a time budget. A call that throws or runs
+ * past its budget counts as a failure; after {@code failureThreshold}
+ * consecutive failures the observer is quarantined and skipped. Once the
+ * backoff has passed it gets one trial message: if that succeeds it is
+ * healthy again, otherwise it goes back into quarantine for twice as long,
+ * up to {@code maxBackoff}.
+ * 
+ * @param timeBudget how long one call into an observer may take
+ * @param failureThreshold consecutive failures that put an observer into quarantine
+ * @param initialBackoff how long the first quarantine lasts
+ * @param maxBackoff upper bound for the doubling quarantine time
+ */
+public record QuarantinePolicy(Duration timeBudget, int failureThreshold, Duration initialBackoff,
+                               Duration maxBackoff) {
+    
+    public QuarantinePolicy {
+        Objects.requireNonNull(timeBudget, "timeBudget");
+        Objects.requireNonNull(initialBackoff, "initialBackoff");
+        Objects.requireNonNull(maxBackoff, "maxBackoff");
+        if (timeBudget.isNegative() || timeBudget.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive: " + timeBudget);
+        }
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive: " + failureThreshold);
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must be between 0 and " + maxBackoff + ": " + initialBackoff);
+        }
+    }
+    
+    /**
+     * A policy that quarantines after 3 consecutive failures, first for one
+     * second and at most for one minute.
+     * 
+     * @param timeBudget how long one call into an observer may take
+     * @return the policy
+     */
+    public static QuarantinePolicy withTimeBudget(Duration timeBudget) {
+        return new QuarantinePolicy(timeBudget, 3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+    }
+    
+    /**
+     * @param quarantines how often the observer was quarantined in a row, starting at 1
+     * @return how long this quarantine lasts, in nanoseconds
+     */
+    long backoffNanos(int quarantines) {
+        long backoff = initialBackoff.toNanos();
+        long max = maxBackoff.toNanos();
+        for (int i = 1; i < quarantines && backoff < max; i++) {
+            backoff = backoff > max / 2 ? max : backoff * 2;
+        }
+        return Math.min(backoff, max);
+    }
+} 
\ No newline at end of file
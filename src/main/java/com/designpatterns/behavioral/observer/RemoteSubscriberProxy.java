@@ -0,0 +1,117 @@
+package com.designpatterns.behavioral.observer;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Receiving end of a {@link NewsSocketBridge}: connects to the bridge of
+ * another process and republishes every news item it receives through a
+ * local {@link NewsAgency}, so observers in this process subscribe as usual.
+ * 
+ * The proxy is itself the {@link Observer} of the remote agency. A reader
+ * thread decodes all complete frames of each socket read and hands them over
+ * as one batch through {@link #updateBatch(List)}, so a burst of remote news
+ * becomes one local batch publish.
+ */
+public final class RemoteSubscriberProxy implements Observer, AutoCloseable {
+    
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    
+    private final NewsAgency localAgency;
+    private final SocketChannel channel;
+    private final Thread reader;
+    private volatile boolean closed;
+    private volatile long received;
+    
+    /**
+     * Connect to a bridge and start forwarding its news.
+     * 
+     * @param bridgeAddress the address returned by {@link NewsSocketBridge#getLocalAddress()}
+     * @param localAgency the agency that republishes the news in this process
+     * @throws IOException if the bridge cannot be reached
+     */
+    public RemoteSubscriberProxy(SocketAddress bridgeAddress, NewsAgency localAgency) throws IOException {
+        this.localAgency = Objects.requireNonNull(localAgency, "localAgency");
+        this.channel = SocketChannel.open(bridgeAddress);
+        this.reader = new Thread(this::run, "news-remote-subscriber");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+    
+    @Override
+    public void update(String message) {
+        received++;
+        localAgency.publishNews(message);
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        if (messages.size() == 1) {
+            update(messages.get(0));
+            return;
+        }
+        received += messages.size();
+        localAgency.publishNews(messages);
+    }
+    
+    private void run() {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        List<String> batch = new ArrayList<>();
+        try {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                NewsFrames.decode(buffer, batch);
+                if (!batch.isEmpty()) {
+                    updateBatch(batch);
+                    batch.clear();
+                }
+                int pending = NewsFrames.pendingFrameBytes(buffer);
+                if (pending > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(pending).put(buffer.flip());
+                }
+            }
+            if (!closed) {
+                System.out.println("📰 News bridge closed the connection");
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                System.out.println("❌ Remote news feed failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * @return news items received from the bridge so far
+     */
+    public long getReceivedCount() {
+        return received;
+    }
+    
+    public boolean isConnected() {
+        return reader.isAlive();
+    }
+    
+    /**
+     * Disconnect from the bridge. News already handed to the local agency is not affected.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+            reader.join();
+        } catch (IOException e) {
+            // already disconnected
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Side-by-side throughput benchmark of {@link RingBufferNewsBus} and the
+ * synchronous {@link NewsAgency} at 1, 8 and 64 observers.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.RingBufferBenchmark"}
+ * with optional arguments {@code <messages> <bufferSize> <spin|yield|park>}.
+ * Busy-spin needs at least one free core per observer to be meaningful.
+ */
+public class RingBufferBenchmark {
+    
+    private static final int[] OBSERVER_COUNTS = {1, 8, 64};
+    private static final String[] HEADLINES = {
+        "Breaking: markets rally", "Tech: new JDK released", "Sports: finals tonight", "Weather: storm warning"
+    };
+    
+    public static void main(String[] args) {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int bufferSize = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 16;
+        String waitName = args.length > 2 ? args[2] : "yield";
+        
+        System.out.println("=== Ring Buffer Benchmark ===");
+        System.out.println("messages=" + messages + " bufferSize=" + bufferSize + " wait=" + waitName
+                + " cores=" + Runtime.getRuntime().availableProcessors() + "\n");
+        
+        for (int observers : OBSERVER_COUNTS) {
+            // warm-up pass, then measured pass
+            runNewsAgency(observers, messages / 10);
+            double agencyRate = runNewsAgency(observers, messages);
+            runRingBuffer(observers, messages / 10, bufferSize, waitStrategy(waitName));
+            double ringRate = runRingBuffer(observers, messages, bufferSize, waitStrategy(waitName));
+            
+            System.out.printf("▶ %d observer(s)%n", observers);
+            System.out.printf("   NewsAgency:        %,15.0f msgs/s%n", agencyRate);
+            System.out.printf("   RingBufferNewsBus: %,15.0f msgs/s%n%n", ringRate);
+        }
+    }
+    
+    private static double runNewsAgency(int observers, int messages) {
+        NewsAgency agency = new NewsAgency();
+        agency.setConsoleLogging(false);
+        CountingObserver[] counters = subscribe(agency, observers);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            agency.publishNews(HEADLINES[i & 3]);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        verify(counters, messages);
+        return messages / seconds;
+    }
+    
+    private static double runRingBuffer(int observers, int messages, int bufferSize, WaitStrategy waitStrategy) {
+        try (RingBufferNewsBus bus = new RingBufferNewsBus(bufferSize, waitStrategy)) {
+            CountingObserver[] counters = subscribe(bus, observers);
+            
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                bus.publishNews(HEADLINES[i & 3]);
+            }
+            bus.awaitDrained();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            verify(counters, messages);
+            return messages / seconds;
+        }
+    }
+    
+    private static CountingObserver[] subscribe(Subject subject, int observers) {
+        CountingObserver[] counters = new CountingObserver[observers];
+        for (int i = 0; i < observers; i++) {
+            counters[i] = new CountingObserver();
+            subject.addObserver(counters[i]);
+        }
+        return counters;
+    }
+    
+    private static void verify(CountingObserver[] counters, int expected) {
+        for (CountingObserver counter : counters) {
+            if (counter.received != expected) {
+                throw new IllegalStateException("Observer received " + counter.received + " of " + expected);
+            }
+        }
+    }
+    
+    private static WaitStrategy waitStrategy(String name) {
+        return switch (name) {
+            case "spin" -> WaitStrategy.busySpin();
+            case "park" -> WaitStrategy.parking(1_000);
+            default -> WaitStrategy.yielding();
+        };
+    }
+    
+    /**
+     * Observer that only counts. Each instance is touched by a single consumer
+     * thread; awaitDrained() makes the count visible to the benchmark thread.
+     */
+    private static final class CountingObserver implements Observer {
+        private long received;
+        
+        @Override
+        public void update(String message) {
+            received++;
+        }
+    }
+} 
\ No newline at end of file
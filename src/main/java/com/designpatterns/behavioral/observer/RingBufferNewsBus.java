@@ -0,0 +1,233 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * High-rate Subject implementation backed by a preallocated ring buffer
+ * (disruptor style).
+ * 
+ * Publishing claims the next sequence number, writes the message into a
+ * reusable slot and publishes the sequence - no locks and no allocation per
+ * message. Every observer runs on its own consumer thread and tracks its own
+ * sequence, processing whatever has been published since it last looked in
+ * one batch. Publishers wait (using the configured {@link WaitStrategy}) only
+ * when the slowest observer is a full ring behind.
+ * 
+ * Observers added later start with the next published message; there is no replay.
+ */
+public class RingBufferNewsBus implements Subject, AutoCloseable {
+    
+    private static final AtomicInteger CONSUMER_IDS = new AtomicInteger();
+    
+    private final NewsSlot[] ring;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final Sequence claimed = new Sequence(-1);
+    private final Sequence published = new Sequence(-1);
+    private final SubscriberRegistry<Consumer> consumers = new SubscriberRegistry<>(Consumer[]::new);
+    private volatile long gatingCache = -1;
+    private volatile String latestNews;
+    
+    /**
+     * Create a bus with a yielding wait strategy.
+     * 
+     * @param bufferSize number of slots, must be a power of two
+     */
+    public RingBufferNewsBus(int bufferSize) {
+        this(bufferSize, WaitStrategy.yielding());
+    }
+    
+    /**
+     * @param bufferSize number of slots, must be a power of two
+     * @param waitStrategy how consumers and publishers wait for the ring
+     */
+    public RingBufferNewsBus(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two: " + bufferSize);
+        }
+        this.ring = new NewsSlot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new NewsSlot();
+        }
+        this.mask = bufferSize - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+    }
+    
+    @Override
+    public Subscription addObserver(Observer observer) {
+        Consumer consumer = new Consumer(observer, claimed.get());
+        consumers.add(consumer);
+        // a publisher may have claimed past us before it could see the new gating sequence
+        consumer.sequence.set(claimed.get());
+        consumer.start();
+        return consumer;
+    }
+    
+    @Override
+    public void removeObserver(Observer observer) {
+        Consumer removed = consumers.removeFirst(
+                consumer -> observer.equals(ObserverDecorator.unwrap(consumer.observer)));
+        if (removed != null) {
+            removed.halt();
+        }
+    }
+    
+    @Override
+    public void notifyObservers(String message) {
+        long sequence = claimed.incrementAndGet();
+        awaitCapacity(sequence);
+        ring[(int) (sequence & mask)].message = message;
+        // publish in claim order so consumers never see a gap
+        int attempts = 0;
+        while (published.get() != sequence - 1) {
+            waitStrategy.idle(attempts++);
+        }
+        published.set(sequence);
+    }
+    
+    /**
+     * Publish new news to every observer.
+     * 
+     * @param news the news to publish
+     */
+    public void publishNews(String news) {
+        this.latestNews = news;
+        notifyObservers(news);
+    }
+    
+    public String getLatestNews() {
+        return latestNews;
+    }
+    
+    public int getObserverCount() {
+        return consumers.size();
+    }
+    
+    public int getBufferSize() {
+        return ring.length;
+    }
+    
+    /**
+     * Block until every observer has processed everything published so far.
+     */
+    public void awaitDrained() {
+        long target = published.get();
+        int attempts = 0;
+        while (minimumConsumerSequence(target) < target) {
+            waitStrategy.idle(attempts++);
+        }
+    }
+    
+    /**
+     * Stop all consumer threads. Unprocessed messages are dropped.
+     */
+    @Override
+    public void close() {
+        for (Consumer consumer : consumers.snapshot()) {
+            consumer.halt();
+        }
+        consumers.clear();
+    }
+    
+    private void awaitCapacity(long sequence) {
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint <= gatingCache) {
+            return;
+        }
+        int attempts = 0;
+        long minimum;
+        while (wrapPoint > (minimum = minimumConsumerSequence(sequence - 1))) {
+            waitStrategy.idle(attempts++);
+        }
+        gatingCache = minimum;
+    }
+    
+    private long minimumConsumerSequence(long upperBound) {
+        long minimum = upperBound;
+        for (Consumer consumer : consumers.snapshot()) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+    
+    /**
+     * Reusable ring slot; written by exactly one publisher per lap.
+     */
+    private static final class NewsSlot {
+        private String message;
+    }
+    
+    /**
+     * Consumer thread feeding one observer from the ring.
+     */
+    private final class Consumer implements Runnable, Subscription {
+        
+        private final Observer observer;
+        private final Sequence sequence;
+        private final Thread thread;
+        private volatile boolean running = true;
+        
+        Consumer(Observer observer, long startSequence) {
+            this.observer = observer;
+            this.sequence = new Sequence(startSequence);
+            this.thread = new Thread(this, "news-ring-consumer-" + CONSUMER_IDS.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+        
+        void start() {
+            thread.start();
+        }
+        
+        /**
+         * Stop the consumer and wait for it to finish its current batch, so no
+         * delivery happens after this returns (unless called from the consumer itself).
+         */
+        void halt() {
+            running = false;
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        
+        @Override
+        public void unsubscribe() {
+            if (consumers.remove(this)) {
+                halt();
+            }
+        }
+        
+        @Override
+        public boolean isActive() {
+            return running;
+        }
+        
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int attempts = 0;
+            while (running) {
+                long available = published.get();
+                if (available < next) {
+                    waitStrategy.idle(attempts++);
+                    continue;
+                }
+                attempts = 0;
+                for (; next <= available; next++) {
+                    try {
+                        observer.update(ring[(int) (next & mask)].message);
+                    } catch (RuntimeException e) {
+                        System.out.println("❌ Subscriber failed to handle news: " + e.getMessage());
+                    }
+                }
+                sequence.set(available);
+            }
+            // a halted consumer no longer holds back publishers
+            sequence.set(Long.MAX_VALUE);
+        }
+    }
+} 
\ No newline at end of file
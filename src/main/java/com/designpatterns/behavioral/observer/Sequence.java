@@ -0,0 +1,45 @@
+package com.designpatterns.behavioral.observer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Cache-line padded sequence counter used by {@link RingBufferNewsBus}.
+ * 
+ * Publishers and consumers each hammer their own sequence; the padding keeps
+ * two sequences from sharing a cache line and invalidating each other.
+ */
+final class Sequence {
+    
+    private static final VarHandle VALUE;
+    
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Sequence.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+    private volatile long value;
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15;
+    
+    Sequence(long initialValue) {
+        this.value = initialValue;
+    }
+    
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+    
+    void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+    
+    long incrementAndGet() {
+        return (long) VALUE.getAndAdd(this, 1L) + 1L;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,359 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Subject that spreads news over several independent {@link NewsAgency}
+ * shards so that publishing scales with the number of cores.
+ * 
+ * A message is routed by its topic key - the first level of its topic, so
+ * {@code "Sports/Football: ..."} has the key {@code "Sports"} - to the shard
+ * the key hashes to. Every shard has its own subscriber registry, its own
+ * bounded queue and one worker thread that delivers the queued news in
+ * order. News with the same topic key therefore always arrives in publish
+ * order, while different keys are delivered in parallel.
+ * 
+ * Topic subscriptions whose first level is a literal live on a single shard.
+ * Plain subscriptions and filters starting with a wildcard are registered on
+ * every shard, so their observer is called from several worker threads
+ * concurrently and must be thread-safe.
+ * 
+ * {@link #close()} first waits for publishers that are already queueing
+ * news, so every publish either throws because the agency is closed or is
+ * delivered before the shard threads stop.
+ */
+public class ShardedNewsAgency implements Subject, AutoCloseable {
+    
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int MAX_DRAIN = 256;
+    
+    private final Shard[] shards;
+    private final SubscriberRegistry<ShardedSubscription> subscriptions =
+            new SubscriberRegistry<>(ShardedSubscription[]::new, ShardedSubscription::isActive);
+    private volatile String latestNews;
+    private volatile boolean consoleLogging = true;
+    private volatile boolean closed;
+    private final AtomicInteger publishing = new AtomicInteger();
+    
+    /**
+     * Create one shard per available core.
+     */
+    public ShardedNewsAgency() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * @param shardCount number of shards (and worker threads)
+     */
+    public ShardedNewsAgency(int shardCount) {
+        this(shardCount, DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * @param shardCount number of shards (and worker threads)
+     * @param queueCapacity news items each shard queues before publishers block
+     */
+    public ShardedNewsAgency(int shardCount, int queueCapacity) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+    
+    /**
+     * Subscribe an observer to all news, on every shard.
+     * 
+     * @param observer the observer to add
+     * @return the subscription handle
+     */
+    @Override
+    public Subscription addObserver(Observer observer) {
+        Subscription[] parts = new Subscription[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            parts[i] = shards[i].agency.addObserver(observer);
+        }
+        return register(observer, parts);
+    }
+    
+    /**
+     * Subscribe an observer to matching topics. The subscription lives only on
+     * the shard of its topic key, unless the filter starts with a wildcard.
+     * 
+     * @param topicFilter the topic filter, e.g. "Tech" or "Sports/#"
+     * @param observer the observer to add
+     * @return the subscription handle
+     */
+    @Override
+    public Subscription addObserver(String topicFilter, Observer observer) {
+        TopicFilter filter = TopicFilter.compile(topicFilter);
+        String key = filter.levels()[0];
+        if (TopicFilter.SINGLE_LEVEL.equals(key) || TopicFilter.MULTI_LEVEL.equals(key)) {
+            Subscription[] parts = new Subscription[shards.length];
+            for (int i = 0; i < shards.length; i++) {
+                parts[i] = shards[i].agency.addObserver(topicFilter, observer);
+            }
+            return register(observer, parts);
+        }
+        return register(observer, shards[shardOf(key)].agency.addObserver(topicFilter, observer));
+    }
+    
+    private Subscription register(Observer observer, Subscription... parts) {
+        ShardedSubscription subscription = new ShardedSubscription(observer, parts);
+        subscriptions.add(subscription);
+        if (consoleLogging) {
+            System.out.println("📰 New subscriber added. Total subscribers: " + getObserverCount());
+        }
+        return subscription;
+    }
+    
+    @Override
+    public void removeObserver(Observer observer) {
+        ShardedSubscription subscription = subscriptions.find(
+                candidate -> candidate.isActive() && observer.equals(candidate.observer));
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
+        if (consoleLogging) {
+            System.out.println("📰 Subscriber removed. Total subscribers: " + getObserverCount());
+        }
+    }
+    
+    /**
+     * Queue a message on the shard of its topic key.
+     * 
+     * @param message the notification message
+     */
+    @Override
+    public void notifyObservers(String message) {
+        // announce the publish before checking closed; close() checks in the opposite order
+        publishing.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("ShardedNewsAgency is closed.");
+            }
+            shards[shardOf(topicKey(TopicFilter.topicOf(message)))].enqueue(message);
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Publish news. Returns once the news is queued on its shard; it is
+     * delivered by the shard's worker thread.
+     * 
+     * @param news the news to publish
+     */
+    public void publishNews(String news) {
+        this.latestNews = news;
+        if (consoleLogging) {
+            System.out.println("🗞️ Sharded News Agency: Publishing - " + news);
+        }
+        notifyObservers(news);
+    }
+    
+    /**
+     * Block until every shard has delivered everything queued so far.
+     */
+    public void awaitDrained() {
+        for (Shard shard : shards) {
+            long target = shard.enqueued.get();
+            while (shard.delivered < target && shard.worker.isAlive()) {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+    
+    /**
+     * Map a topic key to its shard.
+     * 
+     * @param topicKey the first level of a topic
+     * @return the shard index
+     */
+    int shardOf(String topicKey) {
+        int hash = topicKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+    
+    /**
+     * @param topic a topic as returned by {@link TopicFilter#topicOf(String)}
+     * @return the first level of the topic
+     */
+    static String topicKey(String topic) {
+        int separator = topic.indexOf('/');
+        return separator < 0 ? topic : topic.substring(0, separator);
+    }
+    
+    public String getLatestNews() {
+        return latestNews;
+    }
+    
+    /**
+     * @return the number of subscriptions; a subscription counts once no
+     *         matter how many shards it spans
+     */
+    public int getObserverCount() {
+        return subscriptions.size();
+    }
+    
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    /**
+     * @param consoleLogging true to print agency activity (the default)
+     */
+    public void setConsoleLogging(boolean consoleLogging) {
+        this.consoleLogging = consoleLogging;
+    }
+    
+    /**
+     * Stop accepting news, deliver what is still queued and stop the shard threads.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // the workers keep draining, so publishers blocked on a full queue get through
+        while (publishing.get() > 0) {
+            LockSupport.parkNanos(50_000);
+        }
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+        for (Shard shard : shards) {
+            shard.join();
+            shard.agency.close();
+        }
+    }
+    
+    /**
+     * One partition: a plain synchronous agency fed by a single worker thread.
+     */
+    private static final class Shard {
+        
+        // compared by identity, never delivered
+        private static final String STOP = new String("stop");
+        
+        private final NewsAgency agency = new NewsAgency();
+        private final BlockingQueue<String> queue;
+        private final AtomicLong enqueued = new AtomicLong();
+        private final Thread worker;
+        private volatile long delivered;
+        
+        Shard(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            agency.setConsoleLogging(false);
+            this.worker = new Thread(this::run, "news-shard-" + index);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+        
+        void enqueue(String message) {
+            enqueued.incrementAndGet();
+            try {
+                queue.put(message);
+            } catch (InterruptedException e) {
+                enqueued.decrementAndGet();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing news", e);
+            }
+        }
+        
+        private void run() {
+            List<String> batch = new ArrayList<>(MAX_DRAIN);
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch, MAX_DRAIN - 1);
+                // close() queues the marker after the last publish, so it can only come last
+                boolean stop = batch.get(batch.size() - 1) == STOP;
+                if (stop) {
+                    batch.remove(batch.size() - 1);
+                }
+                deliver(batch);
+                delivered += batch.size();
+                batch.clear();
+                if (stop) {
+                    return;
+                }
+            }
+        }
+        
+        private void deliver(List<String> batch) {
+            try {
+                if (batch.size() == 1) {
+                    agency.publishNews(batch.get(0));
+                } else if (!batch.isEmpty()) {
+                    agency.publishNews(batch);
+                }
+            } catch (RuntimeException e) {
+                System.out.println("❌ Subscriber failed to handle news: " + e.getMessage());
+            }
+        }
+        
+        void stop() {
+            try {
+                queue.put(STOP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.interrupt();
+            }
+        }
+        
+        void join() {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * A subscription spanning one or more shards.
+     */
+    private final class ShardedSubscription implements Subscription {
+        
+        private final Observer observer;
+        private final Subscription[] parts;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        
+        ShardedSubscription(Observer observer, Subscription[] parts) {
+            this.observer = observer;
+            this.parts = parts;
+        }
+        
+        @Override
+        public void unsubscribe() {
+            if (active.compareAndSet(true, false)) {
+                for (Subscription part : parts) {
+                    part.unsubscribe();
+                }
+                subscriptions.markDead();
+            }
+        }
+        
+        @Override
+        public boolean isActive() {
+            return active.get();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scaling benchmark for {@link ShardedNewsAgency}: the same workload is run
+ * with 1, 2, 4, ... shards up to the number of cores, and the throughput of
+ * each run is compared with the single-shard run.
+ * 
+ * Every topic has a few subscribers that do a little CPU work per message,
+ * so delivery rather than queueing dominates, as it does for real observers.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.ShardedNewsAgencyBenchmark"}
+ * with optional arguments {@code <messages> <topics> <subscribersPerTopic> <publisherThreads> <maxShards>}.
+ */
+public class ShardedNewsAgencyBenchmark {
+    
+    private static final int WORK_ROUNDS = 200;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int topics = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int subscribersPerTopic = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int publisherThreads = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        int maxShards = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        
+        System.out.println("=== Sharded News Agency Benchmark ===");
+        System.out.println("messages=" + messages + " topics=" + topics + " subscribersPerTopic=" + subscribersPerTopic
+                + " publishers=" + publisherThreads + " cores=" + Runtime.getRuntime().availableProcessors() + "\n");
+        
+        String[] headlines = new String[topics];
+        for (int i = 0; i < topics; i++) {
+            headlines[i] = "Topic" + i + ": benchmark headline";
+        }
+        
+        double baseline = 0;
+        List<Integer> shardCounts = new ArrayList<>();
+        for (int shards = 1; shards < maxShards; shards *= 2) {
+            shardCounts.add(shards);
+        }
+        shardCounts.add(maxShards);
+        for (int shards : shardCounts) {
+            // warm-up pass, then measured pass
+            run(shards, headlines, messages / 10, subscribersPerTopic, publisherThreads);
+            double rate = run(shards, headlines, messages, subscribersPerTopic, publisherThreads);
+            if (shards == 1) {
+                baseline = rate;
+            }
+            System.out.printf("▶ %2d shard(s): %,13.0f msgs/s   speedup %.2fx%n", shards, rate, rate / baseline);
+        }
+    }
+    
+    private static double run(int shards, String[] headlines, int messages, int subscribersPerTopic,
+                              int publisherThreads) throws InterruptedException {
+        LongAdder deliveries = new LongAdder();
+        try (ShardedNewsAgency agency = new ShardedNewsAgency(shards)) {
+            agency.setConsoleLogging(false);
+            for (String headline : headlines) {
+                String topic = TopicFilter.topicOf(headline);
+                for (int i = 0; i < subscribersPerTopic; i++) {
+                    agency.addObserver(topic, new WorkingObserver(deliveries));
+                }
+            }
+            
+            List<Thread> publishers = new ArrayList<>();
+            int perPublisher = messages / publisherThreads;
+            long start = System.nanoTime();
+            for (int p = 0; p < publisherThreads; p++) {
+                int offset = p;
+                publishers.add(Thread.ofPlatform().name("publisher-" + p).start(() -> {
+                    for (int i = 0; i < perPublisher; i++) {
+                        agency.publishNews(headlines[(i + offset) % headlines.length]);
+                    }
+                }));
+            }
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+            agency.awaitDrained();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            
+            long expected = (long) perPublisher * publisherThreads * subscribersPerTopic;
+            if (deliveries.sum() != expected) {
+                throw new IllegalStateException("Expected " + expected + " deliveries but got " + deliveries.sum());
+            }
+            return perPublisher * publisherThreads / seconds;
+        }
+    }
+    
+    /**
+     * Observer that burns a little CPU per message, standing in for parsing or rendering.
+     */
+    private static final class WorkingObserver implements Observer {
+        private final LongAdder deliveries;
+        private long checksum;
+        
+        WorkingObserver(LongAdder deliveries) {
+            this.deliveries = deliveries;
+        }
+        
+        @Override
+        public void update(String message) {
+            long hash = checksum;
+            for (int i = 0; i < WORK_ROUNDS; i++) {
+                hash = hash * 31 + message.charAt(i % message.length());
+            }
+            checksum = hash;
+            deliveries.increment();
+        }
+    }
+} 
\ No newline at end of file
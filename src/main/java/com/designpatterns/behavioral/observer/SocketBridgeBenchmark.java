@@ -0,0 +1,104 @@
+package com.designpatterns.behavioral.observer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Loopback benchmark of {@link NewsSocketBridge} and {@link RemoteSubscriberProxy}
+ * over TCP and Unix-domain sockets. Both ends run in this JVM but only talk
+ * through the socket, exactly as two processes would.
+ * 
+ * The throughput phase keeps up to {@code window} news items in flight; the
+ * latency phase sends one item at a time and reports publish-to-observer
+ * latency percentiles.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.SocketBridgeBenchmark"}
+ * with optional arguments {@code <messages> <window> <latencySamples>}.
+ */
+public class SocketBridgeBenchmark {
+    
+    private static final String PREFIX = "Tech: ";
+    
+    public static void main(String[] args) throws IOException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 16_384;
+        int latencySamples = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        
+        System.out.println("=== Socket Bridge Benchmark ===");
+        System.out.println("messages=" + messages + " window=" + window + " latencySamples=" + latencySamples + "\n");
+        
+        run("TCP loopback", new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                messages, window, latencySamples);
+        Path directory = Files.createTempDirectory("news-bridge");
+        try {
+            run("Unix-domain socket", UnixDomainSocketAddress.of(directory.resolve("news.sock")),
+                    messages, window, latencySamples);
+        } finally {
+            Files.deleteIfExists(directory.resolve("news.sock"));
+            Files.delete(directory);
+        }
+    }
+    
+    private static void run(String transport, SocketAddress address, int messages, int window,
+                            int latencySamples) throws IOException {
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong received = new AtomicLong();
+        try (NewsAgency publisher = new NewsAgency();
+             NewsAgency receiver = new NewsAgency();
+             NewsSocketBridge bridge = new NewsSocketBridge(address, window * 2);
+             RemoteSubscriberProxy proxy = new RemoteSubscriberProxy(bridge.getLocalAddress(), receiver)) {
+            publisher.setConsoleLogging(false);
+            receiver.setConsoleLogging(false);
+            publisher.addObserver(bridge);
+            receiver.addObserver(message -> {
+                long sent = Long.parseLong(message, PREFIX.length(), message.length(), 10);
+                latency.record(System.nanoTime() - sent);
+                received.incrementAndGet();
+            });
+            while (bridge.getClientCount() == 0 && proxy.isConnected()) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            
+            // warm-up pass, then measured pass
+            publishWindowed(publisher, received, messages / 10, window);
+            received.set(0);
+            long start = System.nanoTime();
+            publishWindowed(publisher, received, messages, window);
+            double rate = messages / ((System.nanoTime() - start) / 1e9);
+            
+            latency.reset();
+            received.set(0);
+            for (int i = 1; i <= latencySamples; i++) {
+                publisher.publishNews(PREFIX + System.nanoTime());
+                while (received.get() < i) {
+                    Thread.onSpinWait();
+                }
+            }
+            LatencySnapshot snapshot = latency.snapshot();
+            
+            System.out.printf("▶ %s%n", transport);
+            System.out.printf("   throughput: %,13.0f msgs/s%n", rate);
+            System.out.printf("   latency:    p50 %,8d ns   p99 %,8d ns   max %,10d ns%n%n",
+                    snapshot.percentile(0.50), snapshot.percentile(0.99), snapshot.maxNanos());
+        }
+    }
+    
+    private static void publishWindowed(NewsAgency publisher, AtomicLong received, int messages, int window) {
+        for (int i = 0; i < messages; i++) {
+            while (i - received.get() >= window) {
+                Thread.onSpinWait();
+            }
+            publisher.publishNews(PREFIX + System.nanoTime());
+        }
+        while (received.get() < messages) {
+            Thread.onSpinWait();
+        }
+    }
+} 
\ No newline at end of file
@@ -10,8 +10,23 @@ public interface Subject {
      * Add an observer to the list of observers.
      * 
      * @param observer the observer to add
+     * @return a handle that removes this subscription again
      */
-    void addObserver(Observer observer);
+    Subscription addObserver(Observer observer);
+    
+    /**
+     * Add an observer that only receives messages whose topic matches the filter.
+     * See {@link TopicFilter} for the topic and wildcard syntax. The default
+     * implementation checks the filter on every message; subjects with a
+     * topic index override it.
+     * 
+     * @param topicFilter the topic filter, e.g. "Tech" or "Sports/#"
+     * @param observer the observer to add
+     * @return a handle that removes this subscription again
+     */
+    default Subscription addObserver(String topicFilter, Observer observer) {
+        return addObserver(new TopicFilteredObserver(TopicFilter.compile(topicFilter), observer));
+    }
     
     /**
      * Remove an observer from the list of observers.
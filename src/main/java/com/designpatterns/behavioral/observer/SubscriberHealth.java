@@ -0,0 +1,15 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Point-in-time fault counters of one observer guarded by a {@link QuarantinePolicy}.
+ * 
+ * @param quarantined whether the observer is currently skipped
+ * @param consecutiveFailures failures since the last successful call
+ * @param failures calls that threw
+ * @param timeouts calls that ran past the time budget, or found the previous call still running
+ * @param skipped messages (or batches) not delivered because of quarantine
+ * @param quarantines how often the observer was quarantined
+ */
+public record SubscriberHealth(boolean quarantined, int consecutiveFailures, long failures, long timeouts,
+                               long skipped, long quarantines) {
+} 
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Lock-free copy-on-write registry of subscribers.
+ * 
+ * The registry holds an immutable snapshot array that is replaced atomically
+ * (compare-and-set) on every mutation. Publishers call {@link #snapshot()} and
+ * iterate the returned array directly: no locking, no iterator allocation and
+ * no {@code ConcurrentModificationException} when subscribers come and go
+ * mid-broadcast. A publish that is already running keeps delivering to the
+ * snapshot it started with.
+ * 
+ * Single-element mutations copy the array, so mass registration should go
+ * through {@link #addAll(Collection)} which pays for one copy per batch.
+ * 
+ * Subscribers that can be deactivated in place (see the liveness predicate)
+ * do not have to be removed with a copy each: {@link #markDead()} only counts
+ * them, and once half of the snapshot is dead they are all purged with a
+ * single copy. Removal then costs O(1) amortized, and readers skip the few
+ * dead entries that are still in the snapshot. Every purge recounts the
+ * dead entries left in the new snapshot, so a miscount caused by racing
+ * deactivations lasts until the next purge at most.
+ * 
+ * @param <T> the subscriber type
+ */
+public final class SubscriberRegistry<T> {
+    
+    private final AtomicReference<T[]> snapshot;
+    private final IntFunction<T[]> arrayFactory;
+    private final Predicate<? super T> liveness;
+    private final AtomicInteger dead = new AtomicInteger();
+    
+    /**
+     * Create an empty registry.
+     * 
+     * @param arrayFactory creates typed snapshot arrays, e.g. {@code Observer[]::new}
+     */
+    public SubscriberRegistry(IntFunction<T[]> arrayFactory) {
+        this(arrayFactory, subscriber -> true);
+    }
+    
+    /**
+     * Create an empty registry whose subscribers can be deactivated in place.
+     * 
+     * @param arrayFactory creates typed snapshot arrays, e.g. {@code Observer[]::new}
+     * @param liveness tells whether a subscriber is still active; must never
+     *                 become true again once it returned false
+     */
+    public SubscriberRegistry(IntFunction<T[]> arrayFactory, Predicate<? super T> liveness) {
+        this.arrayFactory = Objects.requireNonNull(arrayFactory, "arrayFactory");
+        this.liveness = Objects.requireNonNull(liveness, "liveness");
+        this.snapshot = new AtomicReference<>(arrayFactory.apply(0));
+    }
+    
+    /**
+     * Append a subscriber to the end of the registry.
+     * 
+     * @param subscriber the subscriber to add
+     * @return the number of subscribers after the add
+     */
+    public int add(T subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        while (true) {
+            T[] current = snapshot.get();
+            T[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = subscriber;
+            if (snapshot.compareAndSet(current, next)) {
+                return next.length;
+            }
+        }
+    }
+    
+    /**
+     * Append several subscribers with a single array copy.
+     * 
+     * @param subscribers the subscribers to add
+     * @return the number of subscribers after the add
+     */
+    public int addAll(Collection<? extends T> subscribers) {
+        if (subscribers.isEmpty()) {
+            return size();
+        }
+        T[] added = subscribers.toArray(arrayFactory.apply(0));
+        for (T subscriber : added) {
+            Objects.requireNonNull(subscriber, "subscriber");
+        }
+        while (true) {
+            T[] current = snapshot.get();
+            T[] next = Arrays.copyOf(current, current.length + added.length);
+            System.arraycopy(added, 0, next, current.length, added.length);
+            if (snapshot.compareAndSet(current, next)) {
+                return next.length;
+            }
+        }
+    }
+    
+    /**
+     * Remove the first occurrence of a subscriber, matching {@code List.remove} semantics.
+     * 
+     * @param subscriber the subscriber to remove
+     * @return true if the subscriber was registered
+     */
+    public boolean remove(T subscriber) {
+        return removeFirst(candidate -> Objects.equals(subscriber, candidate)) != null;
+    }
+    
+    /**
+     * Remove the first subscriber accepted by the matcher.
+     * 
+     * @param matcher selects the subscriber to remove
+     * @return the removed subscriber, or null if none matched
+     */
+    public T removeFirst(Predicate<? super T> matcher) {
+        while (true) {
+            T[] current = snapshot.get();
+            int index = indexOf(current, matcher);
+            if (index < 0) {
+                return null;
+            }
+            T[] next = arrayFactory.apply(current.length - 1);
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            if (snapshot.compareAndSet(current, next)) {
+                return current[index];
+            }
+        }
+    }
+    
+    /**
+     * Record that one subscriber was deactivated in place. Call exactly once
+     * per subscriber, after the liveness predicate started rejecting it.
+     */
+    public void markDead() {
+        if (dead.incrementAndGet() * 2 > snapshot.get().length) {
+            purge();
+        }
+    }
+    
+    private void purge() {
+        while (true) {
+            T[] current = snapshot.get();
+            T[] next = arrayFactory.apply(current.length);
+            int live = 0;
+            for (T subscriber : current) {
+                if (liveness.test(subscriber)) {
+                    next[live++] = subscriber;
+                }
+            }
+            T[] pruned = Arrays.copyOf(next, live);
+            if (snapshot.compareAndSet(current, pruned)) {
+                // subscribers deactivated during the scan may or may not have been pruned, and their
+                // markDead calls may land on either side of the swap, so recount instead of adjusting
+                dead.set(countDead(pruned));
+                return;
+            }
+        }
+    }
+    
+    private int countDead(T[] subscribers) {
+        int count = 0;
+        for (T subscriber : subscribers) {
+            if (!liveness.test(subscriber)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Find the first subscriber accepted by the matcher without removing it.
+     * 
+     * @param matcher selects the subscriber
+     * @return the subscriber, or null if none matched
+     */
+    public T find(Predicate<? super T> matcher) {
+        T[] current = snapshot.get();
+        int index = indexOf(current, matcher);
+        return index < 0 ? null : current[index];
+    }
+    
+    /**
+     * Remove every subscriber.
+     */
+    public void clear() {
+        snapshot.set(arrayFactory.apply(0));
+        dead.set(0);
+    }
+    
+    /**
+     * Get the current subscribers. The returned array is shared and must not be modified.
+     * It may still contain subscribers that were deactivated but not yet purged.
+     * 
+     * @return an immutable point-in-time view of the registry
+     */
+    public T[] snapshot() {
+        return snapshot.get();
+    }
+    
+    /**
+     * @return the number of subscribers, not counting dead ones
+     */
+    public int size() {
+        // a markDead that races a purge can count a subscriber the purge already dropped until the next purge
+        return Math.max(0, snapshot.get().length - dead.get());
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    public boolean contains(T subscriber) {
+        return indexOf(snapshot.get(), candidate -> Objects.equals(subscriber, candidate)) >= 0;
+    }
+    
+    private static <T> int indexOf(T[] subscribers, Predicate<? super T> matcher) {
+        for (int i = 0; i < subscribers.length; i++) {
+            if (matcher.test(subscribers[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+} 
\ No newline at end of file
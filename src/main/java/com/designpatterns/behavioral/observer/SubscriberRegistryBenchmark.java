@@ -0,0 +1,174 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-threaded publish/subscribe churn benchmark for the subscriber registry
+ * behind {@link NewsAgency}.
+ * 
+ * Publisher threads broadcast continuously while churn threads subscribe and
+ * unsubscribe observers. The copy-on-write registry is compared against the
+ * previous approach of a list guarded by a single lock, and against
+ * {@link NewsAgency} subscription handles, which unsubscribe without a search
+ * or a copy per removal.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.observer.SubscriberRegistryBenchmark"}
+ * with optional arguments {@code <subscribers> <publisherThreads> <churnThreads> <seconds>}.
+ */
+public class SubscriberRegistryBenchmark {
+    
+    public static void main(String[] args) throws InterruptedException {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int publisherThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int churnThreads = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        
+        System.out.println("=== Subscriber Registry Benchmark ===");
+        System.out.println("subscribers=" + subscribers + " publishers=" + publisherThreads
+                + " churners=" + churnThreads + " duration=" + seconds + "s\n");
+        
+        run("copy-on-write registry", new CopyOnWriteTarget(), subscribers, publisherThreads, churnThreads, seconds);
+        run("subscription handles", new HandleTarget(), subscribers, publisherThreads, churnThreads, seconds);
+        run("synchronized ArrayList", new LockedListTarget(), subscribers, publisherThreads, churnThreads, seconds);
+    }
+    
+    private static void run(String name, Target target, int subscribers, int publisherThreads,
+                            int churnThreads, int seconds) throws InterruptedException {
+        LongAdder deliveries = new LongAdder();
+        LongAdder publishes = new LongAdder();
+        LongAdder churnOps = new LongAdder();
+        
+        List<Observer> initial = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            initial.add(message -> deliveries.increment());
+        }
+        long registerStart = System.nanoTime();
+        target.addAll(initial);
+        long registerMillis = (System.nanoTime() - registerStart) / 1_000_000;
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(publisherThreads + churnThreads);
+        List<Thread> threads = new ArrayList<>();
+        
+        for (int p = 0; p < publisherThreads; p++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    target.publish("Tech: benchmark");
+                    publishes.increment();
+                }
+                done.countDown();
+            }, "publisher-" + p));
+        }
+        for (int c = 0; c < churnThreads; c++) {
+            threads.add(new Thread(() -> {
+                Observer observer = message -> deliveries.increment();
+                while (running.get()) {
+                    target.add(observer).run();
+                    churnOps.add(2);
+                }
+                done.countDown();
+            }, "churn-" + c));
+        }
+        
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        
+        System.out.println("▶ " + name);
+        System.out.printf("   register %,d subscribers: %,d ms%n", subscribers, registerMillis);
+        System.out.printf("   publishes/s:   %,.0f%n", publishes.sum() / elapsed);
+        System.out.printf("   deliveries/s:  %,.0f%n", deliveries.sum() / elapsed);
+        System.out.printf("   churn ops/s:   %,.0f%n%n", churnOps.sum() / elapsed);
+    }
+    
+    private interface Target {
+        void addAll(List<Observer> observers);
+        
+        /**
+         * @return an action that removes the observer again
+         */
+        Runnable add(Observer observer);
+        
+        void publish(String message);
+    }
+    
+    private static final class CopyOnWriteTarget implements Target {
+        private final SubscriberRegistry<Observer> registry = new SubscriberRegistry<>(Observer[]::new);
+        
+        @Override
+        public void addAll(List<Observer> observers) {
+            registry.addAll(observers);
+        }
+        
+        @Override
+        public Runnable add(Observer observer) {
+            registry.add(observer);
+            return () -> registry.remove(observer);
+        }
+        
+        @Override
+        public void publish(String message) {
+            for (Observer observer : registry.snapshot()) {
+                observer.update(message);
+            }
+        }
+    }
+    
+    private static final class HandleTarget implements Target {
+        private final NewsAgency newsAgency = new NewsAgency();
+        
+        HandleTarget() {
+            newsAgency.setConsoleLogging(false);
+        }
+        
+        @Override
+        public void addAll(List<Observer> observers) {
+            for (Observer observer : observers) {
+                newsAgency.addObserver(observer);
+            }
+        }
+        
+        @Override
+        public Runnable add(Observer observer) {
+            return newsAgency.addObserver(observer)::unsubscribe;
+        }
+        
+        @Override
+        public void publish(String message) {
+            newsAgency.notifyObservers(message);
+        }
+    }
+    
+    private static final class LockedListTarget implements Target {
+        private final List<Observer> list = new ArrayList<>();
+        
+        @Override
+        public synchronized void addAll(List<Observer> observers) {
+            list.addAll(observers);
+        }
+        
+        @Override
+        public synchronized Runnable add(Observer observer) {
+            list.add(observer);
+            return () -> remove(observer);
+        }
+        
+        private synchronized void remove(Observer observer) {
+            list.remove(observer);
+        }
+        
+        @Override
+        public synchronized void publish(String message) {
+            for (Observer observer : list) {
+                observer.update(message);
+            }
+        }
+    }
+} 
\ No newline at end of file
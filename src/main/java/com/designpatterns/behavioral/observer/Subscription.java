@@ -0,0 +1,28 @@
+package com.designpatterns.behavioral.observer;
+
+/**
+ * Handle for one subscription, returned when an observer is added to a
+ * {@link Subject}. Unsubscribing through the handle does not have to search
+ * the subject's subscriber list.
+ */
+public interface Subscription extends AutoCloseable {
+    
+    /**
+     * Stop delivering news to the observer. Calling it again has no effect.
+     */
+    void unsubscribe();
+    
+    /**
+     * @return true until the subscription is cancelled (or, for weak
+     *         subscriptions, until the observer was found to be garbage collected)
+     */
+    boolean isActive();
+    
+    /**
+     * Same as {@link #unsubscribe()}, so subscriptions work with try-with-resources.
+     */
+    @Override
+    default void close() {
+        unsubscribe();
+    }
+} 
\ No newline at end of file
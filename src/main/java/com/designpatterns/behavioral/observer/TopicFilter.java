@@ -0,0 +1,120 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.Objects;
+
+/**
+ * Hierarchical topic filter for news subscriptions.
+ * 
+ * A message's topic is its prefix before the first colon, as in
+ * {@code "Tech: AI breakthrough"} or {@code "Sports/Football: Cup final"}.
+ * Levels are separated by {@code /}. Filters use MQTT-style wildcards:
+ * {@code +} matches exactly one level and {@code #} (last level only)
+ * matches the parent level and everything below it, so {@code "Sports/#"}
+ * matches {@code "Sports"} and {@code "Sports/Football"}, and {@code "#"}
+ * matches every message.
+ */
+public final class TopicFilter {
+    
+    static final String SINGLE_LEVEL = "+";
+    static final String MULTI_LEVEL = "#";
+    
+    private static final String[] NO_LEVELS = new String[0];
+    
+    private final String pattern;
+    private final String[] levels;
+    
+    private TopicFilter(String pattern, String[] levels) {
+        this.pattern = pattern;
+        this.levels = levels;
+    }
+    
+    /**
+     * Parse and validate a topic filter.
+     * 
+     * @param pattern the filter, e.g. {@code "Tech"}, {@code "Sports/+"} or {@code "Breaking/#"}
+     * @return the compiled filter
+     * @throws IllegalArgumentException if the filter is empty or uses {@code #} before the last level
+     */
+    public static TopicFilter compile(String pattern) {
+        Objects.requireNonNull(pattern, "pattern");
+        String[] levels = pattern.split("/", -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (level.isEmpty()) {
+                throw new IllegalArgumentException("Topic filter has an empty level: '" + pattern + "'");
+            }
+            if (level.length() > 1 && (level.contains(SINGLE_LEVEL) || level.contains(MULTI_LEVEL))) {
+                throw new IllegalArgumentException("Wildcards must occupy a whole level: '" + pattern + "'");
+            }
+            if (MULTI_LEVEL.equals(level) && i != levels.length - 1) {
+                throw new IllegalArgumentException("'#' is only allowed as the last level: '" + pattern + "'");
+            }
+        }
+        return new TopicFilter(pattern, levels);
+    }
+    
+    /**
+     * Extract the topic of a message: the text before the first colon, provided
+     * it contains no whitespace. Messages without a topic yield an empty string.
+     * 
+     * @param message the news message
+     * @return the topic, or {@code ""} if the message has none
+     */
+    public static String topicOf(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == ':') {
+                return message.substring(0, i);
+            }
+            if (Character.isWhitespace(c)) {
+                return "";
+            }
+        }
+        return "";
+    }
+    
+    /**
+     * Split a topic into its levels.
+     * 
+     * @param topic a topic as returned by {@link #topicOf(String)}
+     * @return the topic levels; empty for the empty topic
+     */
+    static String[] levelsOf(String topic) {
+        return topic.isEmpty() ? NO_LEVELS : topic.split("/", -1);
+    }
+    
+    /**
+     * Check a topic against this filter.
+     * 
+     * @param topic a topic as returned by {@link #topicOf(String)}
+     * @return true if a message with this topic should be delivered
+     */
+    public boolean matches(String topic) {
+        String[] topicLevels = levelsOf(topic);
+        for (int i = 0; i < levels.length; i++) {
+            if (MULTI_LEVEL.equals(levels[i])) {
+                return true;
+            }
+            if (i >= topicLevels.length) {
+                return false;
+            }
+            if (!SINGLE_LEVEL.equals(levels[i]) && !levels[i].equals(topicLevels[i])) {
+                return false;
+            }
+        }
+        return levels.length == topicLevels.length;
+    }
+    
+    String[] levels() {
+        return levels;
+    }
+    
+    public String getPattern() {
+        return pattern;
+    }
+    
+    @Override
+    public String toString() {
+        return pattern;
+    }
+} 
\ No newline at end of file
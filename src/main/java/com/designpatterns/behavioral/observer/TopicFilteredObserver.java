@@ -0,0 +1,45 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decorator that forwards only messages whose topic matches a filter.
+ * Used by subjects without a topic index; every message is still checked
+ * against every filtered observer.
+ */
+final class TopicFilteredObserver implements ObserverDecorator {
+    
+    private final TopicFilter filter;
+    private final Observer observer;
+    
+    TopicFilteredObserver(TopicFilter filter, Observer observer) {
+        this.filter = filter;
+        this.observer = observer;
+    }
+    
+    @Override
+    public void update(String message) {
+        if (filter.matches(TopicFilter.topicOf(message))) {
+            observer.update(message);
+        }
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        List<String> matching = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            if (filter.matches(TopicFilter.topicOf(message))) {
+                matching.add(message);
+            }
+        }
+        if (!matching.isEmpty()) {
+            observer.updateBatch(matching);
+        }
+    }
+    
+    @Override
+    public Observer getObserver() {
+        return observer;
+    }
+} 
\ No newline at end of file
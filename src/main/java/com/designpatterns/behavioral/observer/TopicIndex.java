@@ -0,0 +1,123 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trie from topic levels to subscriber sets.
+ * 
+ * Matching a topic walks one path per wildcard branch, so the cost of a
+ * lookup depends on the topic depth and the number of matching subscribers,
+ * not on how many topic subscriptions exist. Each node keeps its subscribers
+ * in copy-on-write registries, so lookups are lock-free and safe alongside
+ * concurrent subscribe and unsubscribe. Unsubscribing goes through the
+ * {@link ObserverSubscription} handle and never walks the trie.
+ */
+final class TopicIndex {
+    
+    private final Node root = new Node();
+    private final SubscriberRegistry<Entry> entries =
+            new SubscriberRegistry<>(Entry[]::new, entry -> entry.subscription().isActive());
+    
+    /**
+     * Register an observer for a topic filter.
+     * 
+     * @param filter the topic filter
+     * @param observer the observer to deliver matching messages to
+     * @return the new subscription; unsubscribing it removes it from the index
+     */
+    ObserverSubscription add(TopicFilter filter, Observer observer) {
+        Node node = root;
+        for (String level : filter.levels()) {
+            if (TopicFilter.MULTI_LEVEL.equals(level)) {
+                return register(filter, observer, node.multiLevel);
+            }
+            node = node.children.computeIfAbsent(level, key -> new Node());
+        }
+        return register(filter, observer, node.exact);
+    }
+    
+    private ObserverSubscription register(TopicFilter filter, Observer observer,
+            SubscriberRegistry<ObserverSubscription> registry) {
+        ObserverSubscription subscription = new ObserverSubscription(observer, registry, entries);
+        registry.add(subscription);
+        entries.add(new Entry(filter, subscription));
+        return subscription;
+    }
+    
+    /**
+     * Find the first active subscription whose (unwrapped) observer equals the given one.
+     * 
+     * @param observer the subscribed observer
+     * @return the subscription, or null if none matched
+     */
+    ObserverSubscription find(Observer observer) {
+        Entry entry = entries.find(candidate -> candidate.subscription().isActive()
+                && observer.equals(ObserverDecorator.unwrap(candidate.subscription())));
+        return entry != null ? entry.subscription() : null;
+    }
+    
+    /**
+     * Append every subscription with a filter matching the topic.
+     * 
+     * @param topic the message topic
+     * @param matches receives the matching subscriptions, once per matching subscription
+     */
+    void collect(String topic, List<ObserverSubscription> matches) {
+        collect(root, TopicFilter.levelsOf(topic), 0, matches);
+    }
+    
+    private static void collect(Node node, String[] levels, int depth, List<ObserverSubscription> matches) {
+        addAll(node.multiLevel, matches);
+        if (depth == levels.length) {
+            addAll(node.exact, matches);
+            return;
+        }
+        Node child = node.children.get(levels[depth]);
+        if (child != null) {
+            collect(child, levels, depth + 1, matches);
+        }
+        Node anyLevel = node.children.get(TopicFilter.SINGLE_LEVEL);
+        if (anyLevel != null) {
+            collect(anyLevel, levels, depth + 1, matches);
+        }
+    }
+    
+    private static void addAll(SubscriberRegistry<ObserverSubscription> registry,
+            List<ObserverSubscription> matches) {
+        for (ObserverSubscription subscription : registry.snapshot()) {
+            if (subscription.isActive()) {
+                matches.add(subscription);
+            }
+        }
+    }
+    
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    ObserverSubscription[] subscriptions() {
+        Entry[] snapshot = entries.snapshot();
+        ObserverSubscription[] subscriptions = new ObserverSubscription[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            subscriptions[i] = snapshot[i].subscription();
+        }
+        return subscriptions;
+    }
+    
+    private record Entry(TopicFilter filter, ObserverSubscription subscription) {
+    }
+    
+    private static final class Node {
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private final SubscriberRegistry<ObserverSubscription> exact =
+                new SubscriberRegistry<>(ObserverSubscription[]::new, ObserverSubscription::isActive);
+        private final SubscriberRegistry<ObserverSubscription> multiLevel =
+                new SubscriberRegistry<>(ObserverSubscription[]::new, ObserverSubscription::isActive);
+    }
+} 
\ No newline at end of file
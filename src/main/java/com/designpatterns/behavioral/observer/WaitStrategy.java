@@ -0,0 +1,66 @@
+package com.designpatterns.behavioral.observer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Strategy used by {@link RingBufferNewsBus} threads while they wait for the
+ * ring buffer - consumers for new events, publishers for free slots.
+ * 
+ * Implementations trade CPU for latency: busy-spinning reacts fastest but
+ * burns a core per waiting thread, parking is cheapest but adds wake-up delay.
+ */
+public interface WaitStrategy {
+    
+    /**
+     * Back off once while the awaited sequence is not yet available.
+     * 
+     * @param attempts number of consecutive idle calls so far, starting at 0
+     */
+    void idle(int attempts);
+    
+    /**
+     * Spin on the CPU without ever giving it up. Lowest latency; only use when
+     * every consumer has a dedicated core.
+     * 
+     * @return busy-spin wait strategy
+     */
+    static WaitStrategy busySpin() {
+        return attempts -> Thread.onSpinWait();
+    }
+    
+    /**
+     * Spin briefly, then yield the CPU to other runnable threads.
+     * 
+     * @return yielding wait strategy
+     */
+    static WaitStrategy yielding() {
+        return attempts -> {
+            if (attempts < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        };
+    }
+    
+    /**
+     * Spin briefly, yield for a while, then park for the given time on each call.
+     * 
+     * @param parkNanos how long to park once spinning and yielding gave nothing
+     * @return parking wait strategy
+     */
+    static WaitStrategy parking(long parkNanos) {
+        if (parkNanos <= 0) {
+            throw new IllegalArgumentException("Park time must be positive: " + parkNanos);
+        }
+        return attempts -> {
+            if (attempts < 100) {
+                Thread.onSpinWait();
+            } else if (attempts < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+            }
+        };
+    }
+} 
\ No newline at end of file
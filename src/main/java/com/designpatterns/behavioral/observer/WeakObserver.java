@@ -0,0 +1,46 @@
+package com.designpatterns.behavioral.observer;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * Decorator that only holds its observer weakly, so the subscription does
+ * not keep the observer alive. Once the observer is garbage collected,
+ * messages are silently discarded until the subject sweeps the subscription.
+ */
+final class WeakObserver implements ObserverDecorator {
+    
+    private final WeakReference<Observer> reference;
+    
+    WeakObserver(Observer observer) {
+        this.reference = new WeakReference<>(observer);
+    }
+    
+    @Override
+    public void update(String message) {
+        Observer observer = reference.get();
+        if (observer != null) {
+            observer.update(message);
+        }
+    }
+    
+    @Override
+    public void updateBatch(List<String> messages) {
+        Observer observer = reference.get();
+        if (observer != null) {
+            observer.updateBatch(messages);
+        }
+    }
+    
+    /**
+     * @return the observer, or null once it was garbage collected
+     */
+    @Override
+    public Observer getObserver() {
+        return reference.get();
+    }
+    
+    boolean isCleared() {
+        return reference.refersTo(null);
+    }
+} 
\ No newline at end of file
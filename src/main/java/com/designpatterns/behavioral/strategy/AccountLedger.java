@@ -0,0 +1,235 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent ledger of spendable amounts - balances, credit limits, daily
+ * transfer limits - kept as exact minor units (cents).
+ * 
+ * A payment first reserves its amount, which atomically takes it out of the
+ * account's available amount or fails if that would go below zero, and then
+ * commits the reservation once the gateway approved it or releases it if
+ * the payment did not go through. Each account is updated with
+ * compare-and-set on its own counters, so concurrent payments on different
+ * accounts never contend and payments on one hot account contend only with
+ * each other.
+ */
+public final class AccountLedger {
+    
+    private static final int MINOR_DIGITS = 2;
+    
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    
+    /**
+     * Open an account with an initial available amount. Opening an account
+     * that already exists leaves it unchanged, so several strategies can
+     * share one account.
+     * 
+     * @param accountId the account identifier
+     * @param availableMinor the spendable amount in minor units
+     * @return true if the account was opened, false if it already existed
+     * @throws IllegalArgumentException if the amount is negative
+     */
+    public boolean open(String accountId, long availableMinor) {
+        Objects.requireNonNull(accountId, "accountId");
+        if (availableMinor < 0) {
+            throw new IllegalArgumentException("Opening amount must not be negative: " + availableMinor);
+        }
+        return accounts.putIfAbsent(accountId, new Account(availableMinor)) == null;
+    }
+    
+    /**
+     * Reserve an amount if the account has enough available.
+     * 
+     * @param accountId the account to reserve on
+     * @param amountMinor the amount in minor units
+     * @return the reservation, or empty if the available amount is too low
+     * @throws IllegalArgumentException if the account does not exist or the amount is not positive
+     */
+    public Optional<Reservation> reserve(String accountId, long amountMinor) {
+        if (amountMinor <= 0) {
+            throw new IllegalArgumentException("Reserved amount must be positive: " + amountMinor);
+        }
+        Account account = account(accountId);
+        long available;
+        do {
+            available = account.available.get();
+            if (available < amountMinor) {
+                return Optional.empty();
+            }
+        } while (!account.available.compareAndSet(available, available - amountMinor));
+        account.reserved.addAndGet(amountMinor);
+        return Optional.of(new Reservation(accountId, account, amountMinor));
+    }
+    
+    /**
+     * Reserve and immediately commit an amount.
+     * 
+     * @param accountId the account to debit
+     * @param amountMinor the amount in minor units
+     * @return true if the account had enough available and was debited
+     */
+    public boolean debit(String accountId, long amountMinor) {
+        Optional<Reservation> reservation = reserve(accountId, amountMinor);
+        reservation.ifPresent(Reservation::commit);
+        return reservation.isPresent();
+    }
+    
+    /**
+     * Add to an account's available amount, e.g. a top-up or the start of a
+     * new day for a daily limit.
+     * 
+     * @param accountId the account to credit
+     * @param amountMinor the amount in minor units
+     */
+    public void credit(String accountId, long amountMinor) {
+        if (amountMinor <= 0) {
+            throw new IllegalArgumentException("Credited amount must be positive: " + amountMinor);
+        }
+        account(accountId).available.addAndGet(amountMinor);
+    }
+    
+    /**
+     * @return the amount that can still be reserved, in minor units
+     */
+    public long getAvailable(String accountId) {
+        return account(accountId).available.get();
+    }
+    
+    /**
+     * @return the amount held by open reservations, in minor units
+     */
+    public long getReserved(String accountId) {
+        return account(accountId).reserved.get();
+    }
+    
+    /**
+     * @return the amount committed so far, in minor units
+     */
+    public long getDebited(String accountId) {
+        return account(accountId).debited.get();
+    }
+    
+    public boolean hasAccount(String accountId) {
+        return accounts.containsKey(accountId);
+    }
+    
+    private Account account(String accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new IllegalArgumentException("Unknown account: " + accountId);
+        }
+        return account;
+    }
+    
+    /**
+     * Convert an amount to minor units, rounding half-even to the cent.
+     * 
+     * @param amount the amount in major units, e.g. dollars
+     * @return the amount in minor units, e.g. cents
+     */
+    public static long toMinorUnits(double amount) {
+        return BigDecimal.valueOf(amount).setScale(MINOR_DIGITS, RoundingMode.HALF_EVEN).unscaledValue()
+                .longValueExact();
+    }
+    
+    /**
+     * @param minorUnits an amount in minor units
+     * @return the amount in major units
+     */
+    public static double toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_DIGITS).doubleValue();
+    }
+    
+    /**
+     * Derive a stable account key from a full card or account number without
+     * keeping the number itself. Masked numbers cannot be used, since two
+     * cards can share their last four digits.
+     * 
+     * @param number the unmasked card or account number
+     * @return the SHA-256 of the number, in hex
+     */
+    static String fingerprint(String number) {
+        Objects.requireNonNull(number, "number");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(number.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static final class Account {
+        private final AtomicLong available;
+        private final AtomicLong reserved = new AtomicLong();
+        private final AtomicLong debited = new AtomicLong();
+        
+        Account(long available) {
+            this.available = new AtomicLong(available);
+        }
+    }
+    
+    /**
+     * An amount held on an account until it is committed or released.
+     * Exactly one of the two may happen.
+     */
+    public static final class Reservation {
+        private final String accountId;
+        private final Account account;
+        private final long amountMinor;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        
+        private Reservation(String accountId, Account account, long amountMinor) {
+            this.accountId = accountId;
+            this.account = account;
+            this.amountMinor = amountMinor;
+        }
+        
+        /**
+         * Turn the reservation into a debit.
+         * 
+         * @throws IllegalStateException if the reservation was already committed or released
+         */
+        public void commit() {
+            settle();
+            account.reserved.addAndGet(-amountMinor);
+            account.debited.addAndGet(amountMinor);
+        }
+        
+        /**
+         * Return the reserved amount to the account.
+         * 
+         * @throws IllegalStateException if the reservation was already committed or released
+         */
+        public void release() {
+            settle();
+            account.reserved.addAndGet(-amountMinor);
+            account.available.addAndGet(amountMinor);
+        }
+        
+        private void settle() {
+            if (!settled.compareAndSet(false, true)) {
+                throw new IllegalStateException("Reservation already settled.");
+            }
+        }
+        
+        public String getAccountId() {
+            return accountId;
+        }
+        
+        public long getAmountMinor() {
+            return amountMinor;
+        }
+    }
+} 
\ No newline at end of file
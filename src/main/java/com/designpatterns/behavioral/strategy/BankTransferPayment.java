@@ -1,7 +1,14 @@
 package com.designpatterns.behavioral.strategy;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Concrete strategy implementation for bank transfer payments.
+ * 
+ * The remaining daily transfer limit lives in an {@link AccountLedger};
+ * each transfer reserves its amount against it. Crediting the account
+ * restores the limit for a new day.
  */
 public class BankTransferPayment implements PaymentStrategy {
     
@@ -9,13 +16,28 @@ public class BankTransferPayment implements PaymentStrategy {
     private final String accountNumber;
     private final String routingNumber;
     private final double dailyTransferLimit;
+    private final AccountLedger ledger;
+    private final String accountId;
     
     public BankTransferPayment(String bankName, String accountNumber, 
                              String routingNumber, double dailyTransferLimit) {
+        this(bankName, accountNumber, routingNumber, dailyTransferLimit, new AccountLedger());
+    }
+    
+    /**
+     * Create a bank transfer strategy whose daily limit is kept in a shared
+     * ledger. The account is opened with the full daily limit unless the
+     * ledger already has it.
+     */
+    public BankTransferPayment(String bankName, String accountNumber, 
+                             String routingNumber, double dailyTransferLimit, AccountLedger ledger) {
         this.bankName = bankName;
         this.accountNumber = maskAccountNumber(accountNumber);
         this.routingNumber = routingNumber;
         this.dailyTransferLimit = dailyTransferLimit;
+        this.ledger = ledger;
+        this.accountId = "bank:" + routingNumber + ":" + AccountLedger.fingerprint(accountNumber);
+        ledger.open(accountId, AccountLedger.toMinorUnits(dailyTransferLimit));
     }
     
     @Override
@@ -25,6 +47,13 @@ public class BankTransferPayment implements PaymentStrategy {
             return false;
         }
         
+        Optional<AccountLedger.Reservation> reservation =
+                ledger.reserve(accountId, AccountLedger.toMinorUnits(amount));
+        if (reservation.isEmpty()) {
+            System.out.println("❌ Bank transfer payment declined: amount $" + amount + " is no longer available");
+            return false;
+        }
+        
         System.out.println("🏦 Processing bank transfer payment...");
         System.out.println("   Bank: " + bankName);
         System.out.println("   Account: " + accountNumber);
@@ -34,16 +63,54 @@ public class BankTransferPayment implements PaymentStrategy {
         // Simulate payment processing (bank transfers typically take longer)
         try {
             Thread.sleep(2000); // Simulate longer processing time
+            reservation.get().commit();
             System.out.println("✅ Bank transfer payment of $" + amount + " initiated successfully!");
             System.out.println("   Note: Transfer may take 1-3 business days to complete.");
             return true;
         } catch (InterruptedException e) {
+            reservation.get().release();
             System.out.println("❌ Bank transfer payment processing interrupted");
             Thread.currentThread().interrupt();
             return false;
         }
     }
     
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        long start = System.nanoTime();
+        boolean[] accepted = BatchPayments.validate(this, requests);
+        AccountLedger.Reservation[] reservations = BatchPayments.reserve(ledger, accountId, requests, accepted);
+        int count = BatchPayments.count(accepted);
+        if (count < requests.size()) {
+            System.out.println("❌ " + (requests.size() - count) + " bank transfer payments failed validation");
+        }
+        if (count == 0) {
+            return BatchPayments.results(this, requests, accepted, false, start);
+        }
+        
+        double total = BatchPayments.total(requests, accepted);
+        System.out.println("🏦 Processing bank transfer batch...");
+        System.out.println("   Bank: " + bankName);
+        System.out.println("   Account: " + accountNumber);
+        System.out.println("   Routing: " + routingNumber);
+        System.out.println("   Payments: " + count);
+        System.out.println("   Total: $" + total);
+        
+        // Simulate one gateway call for the whole batch
+        try {
+            Thread.sleep(2000); // Same processing time as a single transfer
+            BatchPayments.settle(reservations, true);
+            System.out.println("✅ Bank transfer batch of " + count + " payments processed successfully!");
+            System.out.println("   Note: Transfers may take 1-3 business days to complete.");
+            return BatchPayments.results(this, requests, accepted, true, start);
+        } catch (InterruptedException e) {
+            BatchPayments.settle(reservations, false);
+            System.out.println("❌ Bank transfer batch processing interrupted");
+            Thread.currentThread().interrupt();
+            return BatchPayments.results(this, requests, accepted, false, start);
+        }
+    }
+    
     @Override
     public String getPaymentMethodName() {
         return "Bank Transfer";
@@ -51,13 +118,14 @@ public class BankTransferPayment implements PaymentStrategy {
     
     @Override
     public boolean validatePayment(double amount) {
-        if (amount <= 0) {
+        if (amount <= 0 || AccountLedger.toMinorUnits(amount) == 0) {
             System.out.println("❌ Invalid amount: $" + amount);
             return false;
         }
         
-        if (amount > dailyTransferLimit) {
-            System.out.println("❌ Amount $" + amount + " exceeds daily transfer limit $" + dailyTransferLimit);
+        if (AccountLedger.toMinorUnits(amount) > ledger.getAvailable(accountId)) {
+            System.out.println("❌ Amount $" + amount + " exceeds remaining daily transfer limit $"
+                    + getRemainingDailyLimit() + " (limit $" + dailyTransferLimit + ")");
             return false;
         }
         
@@ -84,4 +152,11 @@ public class BankTransferPayment implements PaymentStrategy {
     public double getDailyTransferLimit() {
         return dailyTransferLimit;
     }
+    
+    /**
+     * @return the daily limit minus all committed and reserved transfers
+     */
+    public double getRemainingDailyLimit() {
+        return AccountLedger.toAmount(ledger.getAvailable(accountId));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared steps of the batched payment paths: validating every request up
+ * front and turning the outcome of the one gateway call into per-item
+ * results.
+ */
+final class BatchPayments {
+    
+    private BatchPayments() {
+    }
+    
+    /**
+     * Validate each request with the strategy's own rules.
+     * 
+     * @param strategy the strategy the batch is for
+     * @param requests the batch
+     * @return for each request, whether it goes into the gateway call
+     */
+    static boolean[] validate(PaymentStrategy strategy, List<PaymentRequest> requests) {
+        boolean[] accepted = new boolean[requests.size()];
+        for (int i = 0; i < accepted.length; i++) {
+            accepted[i] = strategy.validatePayment(requests.get(i).amount());
+        }
+        return accepted;
+    }
+    
+    /**
+     * Reserve the amount of every accepted request on the ledger. Requests
+     * whose reservation fails, because earlier ones in the batch used up the
+     * available amount, are no longer accepted.
+     * 
+     * @param accepted the result of {@link #validate(PaymentStrategy, List)}; updated in place
+     * @return the reservation of each accepted request, null for the others
+     */
+    static AccountLedger.Reservation[] reserve(AccountLedger ledger, String accountId,
+                                               List<PaymentRequest> requests, boolean[] accepted) {
+        AccountLedger.Reservation[] reservations = new AccountLedger.Reservation[accepted.length];
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i]) {
+                reservations[i] = ledger.reserve(accountId, AccountLedger.toMinorUnits(requests.get(i).amount()))
+                        .orElse(null);
+                accepted[i] = reservations[i] != null;
+            }
+        }
+        return reservations;
+    }
+    
+    /**
+     * Commit or release every reservation of a batch.
+     */
+    static void settle(AccountLedger.Reservation[] reservations, boolean commit) {
+        for (AccountLedger.Reservation reservation : reservations) {
+            if (reservation == null) {
+                continue;
+            }
+            if (commit) {
+                reservation.commit();
+            } else {
+                reservation.release();
+            }
+        }
+    }
+    
+    /**
+     * @param accepted the result of {@link #validate(PaymentStrategy, List)}
+     * @return the number of requests that passed validation
+     */
+    static int count(boolean[] accepted) {
+        int count = 0;
+        for (boolean item : accepted) {
+            if (item) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * @param accepted the result of {@link #validate(PaymentStrategy, List)}
+     * @return the total amount of the requests that passed validation
+     */
+    static double total(List<PaymentRequest> requests, boolean[] accepted) {
+        double total = 0;
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i]) {
+                total += requests.get(i).amount();
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Build the per-item results of a batch.
+     * 
+     * @param strategy the strategy that processed the batch
+     * @param requests the batch
+     * @param accepted the result of {@link #validate(PaymentStrategy, List)}
+     * @param approved whether the gateway call for the accepted requests succeeded
+     * @param start {@link System#nanoTime()} when the batch started
+     * @return one result per request, in request order
+     */
+    static List<PaymentResult> results(PaymentStrategy strategy, List<PaymentRequest> requests,
+                                       boolean[] accepted, boolean approved, long start) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        List<PaymentResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < accepted.length; i++) {
+            PaymentResult.Status status = accepted[i] && approved
+                    ? PaymentResult.Status.APPROVED : PaymentResult.Status.DECLINED;
+            results.add(new PaymentResult(strategy.getPaymentMethodName(), requests.get(i).amount(), status, elapsed));
+        }
+        return results;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Card payment latency while bank transfers flood the system: once with
+ * both methods sharing one fixed pool, once with a
+ * {@link BulkheadPaymentStrategy} per method on virtual threads.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.strategy.BulkheadBenchmark"}
+ * with optional arguments {@code <transfers> <cardPayments>}.
+ */
+public class BulkheadBenchmark {
+    
+    private static final int SHARED_POOL_THREADS = 16;
+    
+    public static void main(String[] args) throws Exception {
+        int transfers = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int cardPayments = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        
+        System.out.println("=== Bulkhead Benchmark ===");
+        System.out.println("transfers=" + transfers + " (500 ms) card payments=" + cardPayments + " (20 ms)\n");
+        
+        try (ExecutorService shared = Executors.newFixedThreadPool(SHARED_POOL_THREADS)) {
+            run("shared pool of " + SHARED_POOL_THREADS + " threads", shared, new SimulatedGateway("Bank", 500),
+                    new SimulatedGateway("Card", 20), transfers, cardPayments);
+        }
+        BulkheadPaymentStrategy bank = new BulkheadPaymentStrategy(new SimulatedGateway("Bank", 500),
+                new BulkheadPolicy(8, 1_000, Duration.ofSeconds(30)));
+        BulkheadPaymentStrategy card = new BulkheadPaymentStrategy(new SimulatedGateway("Card", 20),
+                new BulkheadPolicy(8, 1_000, Duration.ofSeconds(30)));
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            run("bulkhead of 8 per method", virtualThreads, bank, card, transfers, cardPayments);
+        }
+        System.out.println("   bank " + bank.getStats());
+        System.out.println("   card " + card.getStats());
+    }
+    
+    private static void run(String label, ExecutorService executor, PaymentStrategy bank, PaymentStrategy card,
+                            int transfers, int cardPayments) {
+        PaymentContext bankContext = new PaymentContext(bank);
+        PaymentContext cardContext = new PaymentContext(card);
+        bankContext.setConsoleLogging(false);
+        cardContext.setConsoleLogging(false);
+        bankContext.setExecutor(executor);
+        cardContext.setExecutor(executor);
+        
+        List<CompletableFuture<PaymentResult>> bankResults = new ArrayList<>();
+        for (int i = 0; i < transfers; i++) {
+            bankResults.add(bankContext.executePaymentAsync(100.0));
+        }
+        List<CompletableFuture<PaymentResult>> cardResults = new ArrayList<>();
+        for (int i = 0; i < cardPayments; i++) {
+            cardResults.add(cardContext.executePaymentAsync(100.0));
+        }
+        long[] cardMillis = cardResults.stream().mapToLong(result -> result.join().elapsed().toMillis()).sorted()
+                .toArray();
+        bankResults.forEach(CompletableFuture::join);
+        
+        System.out.printf("▶ %s%n", label);
+        System.out.printf("   card p50 %,6d ms   p99 %,6d ms%n%n", cardMillis[cardMillis.length / 2],
+                cardMillis[(int) Math.ceil(cardMillis.length * 0.99) - 1]);
+    }
+    
+    /**
+     * Quiet gateway with a fixed latency.
+     */
+    private static final class SimulatedGateway implements PaymentStrategy {
+        private final String name;
+        private final long latencyMillis;
+        
+        SimulatedGateway(String name, long latencyMillis) {
+            this.name = name;
+            this.latencyMillis = latencyMillis;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            try {
+                Thread.sleep(latencyMillis);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return name;
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0;
+        }
+    }
+} 
\ No newline at end of file
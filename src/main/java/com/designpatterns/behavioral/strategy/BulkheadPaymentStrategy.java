@@ -0,0 +1,141 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that gives a payment strategy its own concurrency limit, so a
+ * slow method such as bank transfer cannot take all the capacity a fast
+ * one such as credit card needs. See {@link BulkheadPolicy} for the limits.
+ * 
+ * The limit is a fair semaphore rather than a dedicated thread pool: the
+ * payment runs on the caller's thread, which with
+ * {@link PaymentContext#executePaymentAsync(double)} is a virtual thread,
+ * and waiting for a slot costs no platform thread. A payment that finds the
+ * waiting line full, or waits longer than allowed, is declined without
+ * calling the gateway.
+ * 
+ * A batch takes one slot, since it makes one gateway call.
+ */
+public class BulkheadPaymentStrategy implements PaymentStrategy {
+    
+    private final PaymentStrategy delegate;
+    private final BulkheadPolicy policy;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+    
+    /**
+     * @param delegate the strategy that talks to the gateway
+     * @param policy the concurrency and queue limits
+     */
+    public BulkheadPaymentStrategy(PaymentStrategy delegate, BulkheadPolicy policy) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.slots = new Semaphore(policy.maxConcurrent(), true);
+    }
+    
+    @Override
+    public boolean processPayment(double amount) {
+        if (!delegate.validatePayment(amount)) {
+            return false;
+        }
+        if (!enter()) {
+            System.out.println("🚧 " + getPaymentMethodName() + " is at capacity, payment of $" + amount + " declined");
+            return false;
+        }
+        try {
+            return delegate.processPayment(amount);
+        } finally {
+            leave();
+        }
+    }
+    
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        if (!enter()) {
+            System.out.println("🚧 " + getPaymentMethodName() + " is at capacity, batch of " + requests.size()
+                    + " payments declined");
+            return BatchPayments.results(this, requests, new boolean[requests.size()], false, System.nanoTime());
+        }
+        try {
+            return delegate.processBatch(requests);
+        } finally {
+            leave();
+        }
+    }
+    
+    private boolean enter() {
+        try {
+            // the timed variant honours fairness, so a free slot goes to the longest waiter
+            if (slots.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            if (waiting.incrementAndGet() > policy.maxQueued()) {
+                waiting.decrementAndGet();
+                rejectedQueueFull.increment();
+                return false;
+            }
+            try {
+                if (slots.tryAcquire(policy.maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedTimeout.increment();
+        return false;
+    }
+    
+    private void leave() {
+        slots.release();
+        completed.increment();
+    }
+    
+    @Override
+    public String getPaymentMethodName() {
+        return delegate.getPaymentMethodName();
+    }
+    
+    @Override
+    public boolean validatePayment(double amount) {
+        return delegate.validatePayment(amount);
+    }
+    
+    /**
+     * @return the bulkhead's counters
+     */
+    public BulkheadStats getStats() {
+        return new BulkheadStats(policy.maxConcurrent() - slots.availablePermits(), waiting.get(), completed.sum(),
+                rejectedQueueFull.sum(), rejectedTimeout.sum());
+    }
+    
+    /**
+     * Counters of a bulkhead.
+     * 
+     * @param active payments currently running
+     * @param waiting payments currently waiting for a slot
+     * @param completed payments and batches that ran
+     * @param rejectedQueueFull payments declined because the waiting line was full
+     * @param rejectedTimeout payments declined because no slot freed up in time
+     */
+    public record BulkheadStats(int active, int waiting, long completed, long rejectedQueueFull,
+                                long rejectedTimeout) {
+        
+        /**
+         * @return all payments declined by the bulkhead
+         */
+        public long rejected() {
+            return rejectedQueueFull + rejectedTimeout;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of a {@link BulkheadPaymentStrategy}.
+ * 
+ * At most {@code maxConcurrent} payments run at once. Up to
+ * {@code maxQueued} more wait for a slot, each for at most {@code maxWait};
+ * anything beyond that is rejected at once.
+ * 
+ * @param maxConcurrent payments that may run at the same time
+ * @param maxQueued payments that may wait for a slot
+ * @param maxWait how long a payment may wait for a slot
+ */
+public record BulkheadPolicy(int maxConcurrent, int maxQueued, Duration maxWait) {
+    
+    public BulkheadPolicy {
+        Objects.requireNonNull(maxWait, "maxWait");
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Maximum concurrent payments must be positive: " + maxConcurrent);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum queued payments must not be negative: " + maxQueued);
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("Maximum wait must not be negative: " + maxWait);
+        }
+    }
+    
+    /**
+     * A policy that lets as many payments wait as may run, each for up to
+     * the given time.
+     * 
+     * @param maxConcurrent payments that may run at the same time
+     * @param maxWait how long a payment may wait for a slot
+     * @return the policy
+     */
+    public static BulkheadPolicy of(int maxConcurrent, Duration maxWait) {
+        return new BulkheadPolicy(maxConcurrent, maxConcurrent, maxWait);
+    }
+} 
\ No newline at end of file
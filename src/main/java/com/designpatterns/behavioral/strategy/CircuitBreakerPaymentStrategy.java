@@ -0,0 +1,246 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decorator that stops sending payments to a gateway that is down. See
+ * {@link CircuitBreakerPolicy} for when the circuit opens and closes.
+ * 
+ * A payment fails when the wrapped strategy throws or, with a slow-call
+ * duration in the policy, takes too long; a decline is a healthy answer.
+ * The breaker only sees a call once it returns, so a gateway that hangs is
+ * not counted until then: wrap a {@link ResilientPaymentStrategy}, whose
+ * deadline bounds every call, and set the slow-call duration below that
+ * deadline so that payments it gives up on count as failures.
+ * 
+ * While the circuit is open, payments are
+ * declined at once instead of waiting for the gateway, and
+ * {@link #validatePayment(double)} reports false, so a
+ * {@link FallbackPaymentStrategy} or a {@link RoutingPaymentContext} moves
+ * on to the next strategy without trying this one.
+ * 
+ * Batches go straight to the wrapped strategy's batched path when the
+ * circuit lets payments through, and are declined as a whole otherwise.
+ * 
+ * Every state change starts a new generation, and a payment's outcome only
+ * counts towards the generation that let it through. A slow payment let
+ * through while closed that finishes after the circuit opened is therefore
+ * neither a failure of the new window nor a trial payment.
+ */
+public class CircuitBreakerPaymentStrategy implements PaymentStrategy {
+    
+    /**
+     * State of the circuit.
+     */
+    public enum State {
+        /** Payments go through and their outcomes are recorded. */
+        CLOSED,
+        /** Payments fail fast until the open duration has passed. */
+        OPEN,
+        /** A limited number of trial payments go through. */
+        HALF_OPEN
+    }
+    
+    private static final long REJECTED = -1;
+    
+    private final PaymentStrategy delegate;
+    private final CircuitBreakerPolicy policy;
+    private final boolean[] window;
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long calls;
+    private long failures;
+    private long rejected;
+    
+    /**
+     * @param delegate the strategy that talks to the gateway
+     * @param policy when the circuit opens and closes
+     */
+    public CircuitBreakerPaymentStrategy(PaymentStrategy delegate, CircuitBreakerPolicy policy) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.window = new boolean[policy.windowSize()];
+    }
+    
+    @Override
+    public boolean processPayment(double amount) {
+        if (!delegate.validatePayment(amount)) {
+            return false;
+        }
+        long permit = acquirePermission();
+        if (permit == REJECTED) {
+            System.out.println("⛔ " + getPaymentMethodName() + " circuit is open, payment declined without calling the gateway");
+            return false;
+        }
+        
+        long start = System.nanoTime();
+        boolean answered = false;
+        try {
+            boolean approved = delegate.processPayment(amount);
+            answered = true;
+            return approved;
+        } finally {
+            record(permit, answered && !isSlow(start));
+        }
+    }
+    
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        long permit = acquirePermission();
+        if (permit == REJECTED) {
+            System.out.println("⛔ " + getPaymentMethodName() + " circuit is open, batch declined without calling the gateway");
+            return BatchPayments.results(this, requests, new boolean[requests.size()], false, System.nanoTime());
+        }
+        
+        long start = System.nanoTime();
+        boolean answered = false;
+        try {
+            List<PaymentResult> results = delegate.processBatch(requests);
+            answered = results.stream().noneMatch(result -> result.status() == PaymentResult.Status.FAILED
+                    || result.status() == PaymentResult.Status.TIMED_OUT);
+            return results;
+        } finally {
+            record(permit, answered && !isSlow(start));
+        }
+    }
+    
+    private boolean isSlow(long start) {
+        Duration slowCall = policy.slowCallDuration();
+        return slowCall != null && System.nanoTime() - start >= slowCall.toNanos();
+    }
+    
+    /**
+     * @return the generation that let the payment through, or
+     *         {@link #REJECTED} if the circuit is open
+     */
+    private synchronized long acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= policy.openDuration().toNanos()) {
+            state = State.HALF_OPEN;
+            generation++;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.CLOSED) {
+            return generation;
+        }
+        if (state == State.HALF_OPEN && trialsStarted < policy.halfOpenCalls()) {
+            trialsStarted++;
+            return generation;
+        }
+        rejected++;
+        return REJECTED;
+    }
+    
+    private synchronized void record(long permit, boolean success) {
+        calls++;
+        if (!success) {
+            failures++;
+        }
+        if (permit != generation) {
+            // let through before the last state change, so it says nothing about the current state
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                open();
+            } else if (++trialsSucceeded >= policy.halfOpenCalls()) {
+                state = State.CLOSED;
+                generation++;
+                System.out.println("✅ " + getPaymentMethodName() + " circuit closed");
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        
+        if (windowCount == window.length) {
+            windowFailures -= window[windowNext] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = !success;
+        windowFailures += success ? 0 : 1;
+        windowNext = (windowNext + 1) % window.length;
+        if (windowCount >= policy.minimumCalls()
+                && (double) windowFailures / windowCount >= policy.failureRateThreshold()) {
+            open();
+        }
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        generation++;
+        openedAt = System.nanoTime();
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+        System.out.println("⛔ " + getPaymentMethodName() + " circuit opened for " + policy.openDuration().toMillis() + " ms");
+    }
+    
+    @Override
+    public String getPaymentMethodName() {
+        return delegate.getPaymentMethodName();
+    }
+    
+    /**
+     * Validate the payment with the wrapped strategy's rules. Returns false
+     * while the circuit is open, since the payment could not go through.
+     */
+    @Override
+    public boolean validatePayment(double amount) {
+        return isCallPermitted() && delegate.validatePayment(amount);
+    }
+    
+    /**
+     * Check whether a payment would currently be let through, without
+     * using up one of the half-open trial payments.
+     * 
+     * @return false while the circuit is open or all trial payments are running
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openedAt >= policy.openDuration().toNanos();
+            case HALF_OPEN -> trialsStarted < policy.halfOpenCalls();
+        };
+    }
+    
+    /**
+     * @return the current state of the circuit
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= policy.openDuration().toNanos()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+    
+    /**
+     * @return the breaker's counters
+     */
+    public synchronized BreakerStats getStats() {
+        double failureRate = windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+        return new BreakerStats(getState(), failureRate, calls, failures, rejected);
+    }
+    
+    /**
+     * Counters of a circuit breaker.
+     * 
+     * @param state the current state
+     * @param failureRate the failure rate over the current window
+     * @param calls payments that reached the wrapped strategy
+     * @param failures of those, the ones that failed
+     * @param rejected payments and batches declined because the circuit was open
+     */
+    public record BreakerStats(State state, double failureRate, long calls, long failures, long rejected) {
+    }
+} 
\ No newline at end of file
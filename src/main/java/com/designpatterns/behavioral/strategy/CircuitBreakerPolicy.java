@@ -0,0 +1,82 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of a {@link CircuitBreakerPaymentStrategy}.
+ * 
+ * The breaker keeps the outcomes of the last {@code windowSize} payments.
+ * Once the window holds at least {@code minimumCalls} outcomes and the share
+ * of failures reaches {@code failureRateThreshold}, the circuit opens and
+ * payments fail fast for {@code openDuration}. After that,
+ * {@code halfOpenCalls} trial payments are let through: if all of them
+ * succeed the circuit closes again, otherwise it reopens.
+ * 
+ * A payment fails when the gateway throws or, with a
+ * {@code slowCallDuration}, when it takes at least that long, whatever
+ * its outcome. A declined payment is an answer from a working gateway and
+ * does not count as a failure.
+ * 
+ * @param windowSize how many recent payments the failure rate is computed over
+ * @param minimumCalls payments needed in the window before the circuit can open
+ * @param failureRateThreshold failure rate at which the circuit opens, in (0, 1]
+ * @param openDuration how long the circuit stays open before trial payments
+ * @param halfOpenCalls trial payments needed to close the circuit again
+ * @param slowCallDuration payments taking at least this long count as failures,
+ *                         or null to only count exceptions
+ */
+public record CircuitBreakerPolicy(int windowSize, int minimumCalls, double failureRateThreshold,
+                                   Duration openDuration, int halfOpenCalls, Duration slowCallDuration) {
+    
+    public CircuitBreakerPolicy {
+        Objects.requireNonNull(openDuration, "openDuration");
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        if (minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between 1 and the window size: " + minimumCalls);
+        }
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+            throw new IllegalArgumentException("Failure rate threshold must be in (0, 1]: " + failureRateThreshold);
+        }
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException("Open duration must not be negative: " + openDuration);
+        }
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Half-open calls must be positive: " + halfOpenCalls);
+        }
+        if (slowCallDuration != null && (slowCallDuration.isNegative() || slowCallDuration.isZero())) {
+            throw new IllegalArgumentException("Slow call duration must be positive: " + slowCallDuration);
+        }
+    }
+    
+    /**
+     * A policy that only counts exceptions as failures.
+     */
+    public CircuitBreakerPolicy(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                                int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, null);
+    }
+    
+    /**
+     * A policy that opens at a 50% failure rate over the last 20 payments,
+     * once at least 10 were seen, stays open for 30 seconds and closes after
+     * 3 successful trial payments.
+     * 
+     * @return the policy
+     */
+    public static CircuitBreakerPolicy defaults() {
+        return new CircuitBreakerPolicy(20, 10, 0.5, Duration.ofSeconds(30), 3);
+    }
+    
+    /**
+     * @param slowCallDuration payments taking at least this long count as failures,
+     *                         or null to only count exceptions
+     * @return a copy of this policy with the given slow-call duration
+     */
+    public CircuitBreakerPolicy withSlowCallDuration(Duration slowCallDuration) {
+        return new CircuitBreakerPolicy(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls,
+                slowCallDuration);
+    }
+} 
\ No newline at end of file
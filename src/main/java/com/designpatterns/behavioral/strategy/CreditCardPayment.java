@@ -1,7 +1,13 @@
 package com.designpatterns.behavioral.strategy;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Concrete strategy implementation for credit card payments.
+ * 
+ * Each payment reserves its amount against the card's available credit in
+ * an {@link AccountLedger}, so concurrent payments cannot exceed the limit.
  */
 public class CreditCardPayment implements PaymentStrategy {
     
@@ -10,14 +16,29 @@ public class CreditCardPayment implements PaymentStrategy {
     private final String expiryDate;
     private final String cvv;
     private final double creditLimit;
+    private final AccountLedger ledger;
+    private final String accountId;
     
     public CreditCardPayment(String cardNumber, String cardHolderName, 
                            String expiryDate, String cvv, double creditLimit) {
+        this(cardNumber, cardHolderName, expiryDate, cvv, creditLimit, new AccountLedger());
+    }
+    
+    /**
+     * Create a credit card strategy whose available credit is kept in a
+     * shared ledger. The card's account is opened with the full credit limit
+     * unless the ledger already has it.
+     */
+    public CreditCardPayment(String cardNumber, String cardHolderName, 
+                           String expiryDate, String cvv, double creditLimit, AccountLedger ledger) {
         this.cardNumber = maskCardNumber(cardNumber);
         this.cardHolderName = cardHolderName;
         this.expiryDate = expiryDate;
         this.cvv = cvv;
         this.creditLimit = creditLimit;
+        this.ledger = ledger;
+        this.accountId = "card:" + AccountLedger.fingerprint(cardNumber);
+        ledger.open(accountId, AccountLedger.toMinorUnits(creditLimit));
     }
     
     @Override
@@ -27,6 +48,13 @@ public class CreditCardPayment implements PaymentStrategy {
             return false;
         }
         
+        Optional<AccountLedger.Reservation> reservation =
+                ledger.reserve(accountId, AccountLedger.toMinorUnits(amount));
+        if (reservation.isEmpty()) {
+            System.out.println("❌ Credit card payment declined: amount $" + amount + " is no longer available");
+            return false;
+        }
+        
         System.out.println("💳 Processing credit card payment...");
         System.out.println("   Card: " + cardNumber);
         System.out.println("   Holder: " + cardHolderName);
@@ -35,15 +63,51 @@ public class CreditCardPayment implements PaymentStrategy {
         // Simulate payment processing
         try {
             Thread.sleep(1000); // Simulate network delay
+            reservation.get().commit();
             System.out.println("✅ Credit card payment of $" + amount + " processed successfully!");
             return true;
         } catch (InterruptedException e) {
+            reservation.get().release();
             System.out.println("❌ Credit card payment processing interrupted");
             Thread.currentThread().interrupt();
             return false;
         }
     }
     
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        long start = System.nanoTime();
+        boolean[] accepted = BatchPayments.validate(this, requests);
+        AccountLedger.Reservation[] reservations = BatchPayments.reserve(ledger, accountId, requests, accepted);
+        int count = BatchPayments.count(accepted);
+        if (count < requests.size()) {
+            System.out.println("❌ " + (requests.size() - count) + " credit card payments failed validation");
+        }
+        if (count == 0) {
+            return BatchPayments.results(this, requests, accepted, false, start);
+        }
+        
+        double total = BatchPayments.total(requests, accepted);
+        System.out.println("💳 Processing credit card batch...");
+        System.out.println("   Card: " + cardNumber);
+        System.out.println("   Holder: " + cardHolderName);
+        System.out.println("   Payments: " + count);
+        System.out.println("   Total: $" + total);
+        
+        // Simulate one gateway call for the whole batch
+        try {
+            Thread.sleep(1000); // Same network delay as a single payment
+            BatchPayments.settle(reservations, true);
+            System.out.println("✅ Credit card batch of " + count + " payments processed successfully!");
+            return BatchPayments.results(this, requests, accepted, true, start);
+        } catch (InterruptedException e) {
+            BatchPayments.settle(reservations, false);
+            System.out.println("❌ Credit card batch processing interrupted");
+            Thread.currentThread().interrupt();
+            return BatchPayments.results(this, requests, accepted, false, start);
+        }
+    }
+    
     @Override
     public String getPaymentMethodName() {
         return "Credit Card";
@@ -51,13 +115,14 @@ public class CreditCardPayment implements PaymentStrategy {
     
     @Override
     public boolean validatePayment(double amount) {
-        if (amount <= 0) {
+        if (amount <= 0 || AccountLedger.toMinorUnits(amount) == 0) {
             System.out.println("❌ Invalid amount: $" + amount);
             return false;
         }
         
-        if (amount > creditLimit) {
-            System.out.println("❌ Amount $" + amount + " exceeds credit limit $" + creditLimit);
+        if (AccountLedger.toMinorUnits(amount) > ledger.getAvailable(accountId)) {
+            System.out.println("❌ Amount $" + amount + " exceeds available credit $" + getAvailableCredit()
+                    + " (limit $" + creditLimit + ")");
             return false;
         }
         
@@ -79,4 +144,11 @@ public class CreditCardPayment implements PaymentStrategy {
     public double getCreditLimit() {
         return creditLimit;
     }
+    
+    /**
+     * @return the credit limit minus all committed and reserved payments
+     */
+    public double getAvailableCredit() {
+        return AccountLedger.toAmount(ledger.getAvailable(accountId));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Strategy that tries an ordered chain of strategies, e.g. credit card
+ * then PayPal, and uses the first one that can take the payment.
+ * 
+ * A strategy is skipped when its {@code validatePayment} rejects the
+ * amount, which includes a {@link CircuitBreakerPaymentStrategy} whose
+ * circuit is open. If the chosen strategy throws or does not approve the
+ * payment, the next one in the chain is tried; the concrete strategies
+ * release their ledger reservation in that case, so nothing is charged
+ * twice.
+ * 
+ * Batches go to the first strategy that accepts at least one of their
+ * payments.
+ */
+public class FallbackPaymentStrategy implements PaymentStrategy {
+    
+    private final List<PaymentStrategy> chain;
+    
+    /**
+     * @param chain the strategies to try, in order
+     */
+    public FallbackPaymentStrategy(PaymentStrategy... chain) {
+        if (chain.length == 0) {
+            throw new IllegalArgumentException("Fallback chain must contain at least one payment strategy.");
+        }
+        this.chain = List.of(chain);
+    }
+    
+    @Override
+    public boolean processPayment(double amount) {
+        for (PaymentStrategy strategy : chain) {
+            if (!strategy.validatePayment(amount)) {
+                System.out.println("⏭️ Skipping " + strategy.getPaymentMethodName() + " for amount: $" + amount);
+                continue;
+            }
+            try {
+                if (strategy.processPayment(amount)) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                System.out.println("❌ " + strategy.getPaymentMethodName() + " payment failed: " + e.getMessage());
+            }
+            System.out.println("↪️ Falling back from " + strategy.getPaymentMethodName());
+        }
+        System.out.println("❌ No payment method in the chain could take amount: $" + amount);
+        return false;
+    }
+    
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        for (PaymentStrategy strategy : chain) {
+            if (BatchPayments.count(BatchPayments.validate(strategy, requests)) > 0) {
+                return strategy.processBatch(requests);
+            }
+        }
+        return BatchPayments.results(this, requests, new boolean[requests.size()], false, System.nanoTime());
+    }
+    
+    @Override
+    public String getPaymentMethodName() {
+        return chain.stream().map(PaymentStrategy::getPaymentMethodName).collect(Collectors.joining(" → "));
+    }
+    
+    @Override
+    public boolean validatePayment(double amount) {
+        return chain.stream().anyMatch(strategy -> strategy.validatePayment(amount));
+    }
+    
+    /**
+     * @return the strategies of the chain, in order
+     */
+    public List<PaymentStrategy> getChain() {
+        return chain;
+    }
+} 
\ No newline at end of file
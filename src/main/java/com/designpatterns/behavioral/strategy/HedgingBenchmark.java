@@ -0,0 +1,105 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checkout latency against a gateway with a heavy tail, with and without
+ * hedging in {@link ResilientPaymentStrategy}. Most gateway calls take
+ * about 10 ms, a few take 300 ms; a hedged attempt usually lands on a fast
+ * call and cuts the tail. Payments carry a payment id, since hedging only
+ * applies to keyed payments on an idempotent gateway.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.strategy.HedgingBenchmark"}
+ * with optional arguments {@code <payments> <concurrency>}.
+ */
+public class HedgingBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int payments = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        ResiliencePolicy policy = ResiliencePolicy.withDeadline(Duration.ofSeconds(2));
+        
+        System.out.println("=== Hedging Benchmark ===");
+        System.out.println("payments=" + payments + " concurrency=" + concurrency + "\n");
+        
+        run("no hedging", policy, payments, concurrency);
+        run("hedging at p95", policy.withHedging(true), payments, concurrency);
+    }
+    
+    private static void run(String label, ResiliencePolicy policy, int payments, int concurrency) throws Exception {
+        HeavyTailGateway gateway = new HeavyTailGateway();
+        ResilientPaymentStrategy strategy = new ResilientPaymentStrategy(gateway, policy);
+        strategy.setConsoleLogging(false);
+        
+        long[] latencies = new long[payments];
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int first = w;
+                workers.add(executor.submit(() -> {
+                    for (int i = first; i < payments; i += concurrency) {
+                        long start = System.nanoTime();
+                        strategy.processPayment(new PaymentRequest("payment-" + i, 10.0));
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        
+        Arrays.sort(latencies);
+        System.out.printf("▶ %s%n", label);
+        System.out.printf("   p50 %6.1f ms   p99 %6.1f ms   max %6.1f ms%n", percentile(latencies, 0.50),
+                percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        System.out.printf("   gateway calls per payment: %.3f%n%n", (double) gateway.calls.get() / payments);
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.ceil(sorted.length * quantile) - 1] / 1e6;
+    }
+    
+    /**
+     * Quiet gateway: 97% of calls take 10 ms, the rest 300 ms. It charges
+     * nothing, so a duplicate attempt of a payment is harmless.
+     */
+    private static final class HeavyTailGateway implements PaymentStrategy {
+        private final AtomicLong calls = new AtomicLong();
+        
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(100) < 97 ? 10 : 300);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        
+        @Override
+        public boolean isIdempotent() {
+            return true;
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return "Heavy-Tail Gateway";
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of payment results by idempotency key, so a
+ * client retry gets the original result instead of being charged again.
+ * 
+ * The first submission of a key executes the payment; a duplicate that
+ * arrives while it is in flight waits for that attempt and one that arrives
+ * later gets the stored result without touching the gateway. A payment that
+ * throws is not remembered, so its retry executes again. Reusing a key for a
+ * different amount is rejected.
+ * 
+ * Entries expire a fixed time after they were created. Payments in flight
+ * are kept apart from the finished ones, in a concurrent map that
+ * duplicates can wait on without taking the cache's lock. Only finished
+ * entries count towards the size bound and are evicted, least recently used
+ * first, so an eviction never has to skip entries; the cache may hold more
+ * entries than the bound while that many payments are running.
+ */
+public final class IdempotencyCache {
+    
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Entry> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> finished = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder inFlightHits = new LongAdder();
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    
+    /**
+     * @param maxEntries how many finished keys the cache holds at most
+     * @param ttl how long a key is remembered after its first submission
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum entries must be positive: " + maxEntries);
+        }
+        Objects.requireNonNull(ttl, "ttl");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + ttl);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+    
+    /**
+     * Execute a payment once per idempotency key.
+     * 
+     * @param request the payment; its {@code paymentId} is the idempotency key
+     * @param payment executes the payment if the key is new
+     * @return the result of the first execution for this key
+     * @throws IllegalArgumentException if the key was used for a different amount
+     */
+    public PaymentResult execute(PaymentRequest request, Supplier<PaymentResult> payment) {
+        String key = request.paymentId();
+        Entry entry = inFlight.get(key);
+        boolean owner = false;
+        if (entry != null) {
+            checkAmount(entry, request);
+            inFlightHits.increment();
+        } else {
+            long now = System.nanoTime();
+            synchronized (this) {
+                entry = finished.get(key);
+                if (entry != null && now - entry.createdAt >= ttlNanos) {
+                    finished.remove(key);
+                    expirations++;
+                    entry = null;
+                }
+                if (entry != null) {
+                    checkAmount(entry, request);
+                    hits++;
+                } else {
+                    Entry created = new Entry(request.amount(), now);
+                    entry = inFlight.putIfAbsent(key, created);
+                    if (entry == null) {
+                        entry = created;
+                        owner = true;
+                        misses++;
+                    } else {
+                        checkAmount(entry, request);
+                        inFlightHits.increment();
+                    }
+                }
+            }
+        }
+        if (owner) {
+            try {
+                entry.result.complete(payment.get());
+            } catch (RuntimeException | Error e) {
+                inFlight.remove(key, entry);
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+            synchronized (this) {
+                // both maps are updated under the lock, so a locked lookup always finds the key in one of them
+                if (inFlight.remove(key, entry)) {
+                    finished.put(key, entry);
+                    evictOverflow();
+                }
+            }
+        }
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    private static void checkAmount(Entry entry, PaymentRequest request) {
+        if (entry.amount != request.amount()) {
+            throw new IllegalArgumentException("Idempotency key " + request.paymentId()
+                    + " was already used for amount $" + entry.amount);
+        }
+    }
+    
+    private void evictOverflow() {
+        long now = System.nanoTime();
+        Iterator<Entry> eldestFirst = finished.values().iterator();
+        while (finished.size() > maxEntries) {
+            Entry entry = eldestFirst.next();
+            eldestFirst.remove();
+            if (now - entry.createdAt >= ttlNanos) {
+                expirations++;
+            } else {
+                evictions++;
+            }
+        }
+    }
+    
+    /**
+     * Forget a key, e.g. after the payment was refunded.
+     * 
+     * @param paymentId the idempotency key
+     */
+    public synchronized void invalidate(String paymentId) {
+        inFlight.remove(paymentId);
+        finished.remove(paymentId);
+    }
+    
+    /**
+     * @return the cache's counters
+     */
+    public synchronized IdempotencyStats getStats() {
+        return new IdempotencyStats(hits, inFlightHits.sum(), misses, evictions, expirations,
+                finished.size() + inFlight.size());
+    }
+    
+    private static final class Entry {
+        private final double amount;
+        private final long createdAt;
+        private final CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        
+        Entry(double amount, long createdAt) {
+            this.amount = amount;
+            this.createdAt = createdAt;
+        }
+    }
+} 
\ No newline at end of file
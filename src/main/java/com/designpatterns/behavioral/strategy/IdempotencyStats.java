@@ -0,0 +1,23 @@
+package com.designpatterns.behavioral.strategy;
+
+/**
+ * Counters of an {@link IdempotencyCache}.
+ * 
+ * @param hits duplicates answered with the result of a finished payment
+ * @param inFlightHits duplicates that waited for the payment already in flight
+ * @param misses payments executed because their key was new or had expired
+ * @param evictions finished entries dropped to stay within the size bound
+ * @param expirations entries dropped because they outlived the time to live
+ * @param size entries currently held, including payments in flight
+ */
+public record IdempotencyStats(long hits, long inFlightHits, long misses, long evictions, long expirations,
+                               int size) {
+    
+    /**
+     * @return the fraction of lookups answered without executing a payment
+     */
+    public double hitRate() {
+        long lookups = hits + inFlightHits + misses;
+        return lookups == 0 ? 0 : (double) (hits + inFlightHits) / lookups;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark of {@link AccountLedger}: many threads reserve and
+ * commit small amounts on randomly chosen accounts, from a handful of hot
+ * accounts up to thousands of mostly uncontended ones. A ledger guarded by
+ * one global lock runs the same workload for comparison.
+ * 
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.designpatterns.behavioral.strategy.LedgerContentionBenchmark"}
+ * with optional arguments {@code <threads> <millisPerRun>}.
+ */
+public class LedgerContentionBenchmark {
+    
+    private static final int[] ACCOUNT_COUNTS = {10, 100, 1_000, 10_000};
+    private static final long OPENING_BALANCE = Long.MAX_VALUE / 4;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2_000;
+        
+        System.out.println("=== Ledger Contention Benchmark ===");
+        System.out.println("threads=" + threads + " run=" + millis + " ms\n");
+        
+        for (int accounts : ACCOUNT_COUNTS) {
+            String[] ids = new String[accounts];
+            AccountLedger ledger = new AccountLedger();
+            GlobalLockLedger locked = new GlobalLockLedger();
+            for (int i = 0; i < accounts; i++) {
+                ids[i] = "acct-" + i;
+                ledger.open(ids[i], OPENING_BALANCE);
+                locked.open(ids[i], OPENING_BALANCE);
+            }
+            
+            // warm-up pass, then measured passes
+            run(threads, millis / 4, ids, id -> ledger.reserve(id, 1).ifPresent(AccountLedger.Reservation::commit));
+            double cas = run(threads, millis, ids,
+                    id -> ledger.reserve(id, 1).ifPresent(AccountLedger.Reservation::commit));
+            double global = run(threads, millis, ids, id -> locked.debit(id, 1));
+            
+            System.out.printf("▶ %,d accounts%n", accounts);
+            System.out.printf("   CAS per account: %,14.0f payments/s%n", cas);
+            System.out.printf("   global lock:     %,14.0f payments/s%n%n", global);
+        }
+    }
+    
+    private static double run(int threads, long millis, String[] ids, Payment payment) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    startSignal.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while (System.nanoTime() < deadline[0]) {
+                    for (int i = 0; i < 256; i++) {
+                        payment.pay(ids[random.nextInt(ids.length)]);
+                    }
+                    done += 256;
+                }
+                completed.add(done);
+            });
+            workers[t].start();
+        }
+        long start = System.nanoTime();
+        deadline[0] = start + millis * 1_000_000;
+        startSignal.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return completed.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+    
+    @FunctionalInterface
+    private interface Payment {
+        void pay(String accountId);
+    }
+    
+    /**
+     * Baseline ledger that serializes every payment on one monitor.
+     */
+    private static final class GlobalLockLedger {
+        private final Map<String, long[]> balances = new HashMap<>();
+        
+        synchronized void open(String accountId, long amount) {
+            balances.put(accountId, new long[] {amount});
+        }
+        
+        synchronized boolean debit(String accountId, long amount) {
+            long[] balance = balances.get(accountId);
+            if (balance[0] < amount) {
+                return false;
+            }
+            balance[0] -= amount;
+            return true;
+        }
+    }
+} 
\ No newline at end of file
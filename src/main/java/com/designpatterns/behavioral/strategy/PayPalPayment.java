@@ -1,16 +1,33 @@
 package com.designpatterns.behavioral.strategy;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Concrete strategy implementation for PayPal payments.
+ * 
+ * The account balance lives in an {@link AccountLedger}; each payment
+ * reserves its amount and is debited from the balance once it succeeds.
  */
 public class PayPalPayment implements PaymentStrategy {
     
     private final String email;
-    private final double accountBalance;
+    private final AccountLedger ledger;
+    private final String accountId;
     
     public PayPalPayment(String email, double accountBalance) {
+        this(email, accountBalance, new AccountLedger());
+    }
+    
+    /**
+     * Create a PayPal strategy whose balance is kept in a shared ledger. The
+     * account is opened with the given balance unless the ledger already has it.
+     */
+    public PayPalPayment(String email, double accountBalance, AccountLedger ledger) {
         this.email = email;
-        this.accountBalance = accountBalance;
+        this.ledger = ledger;
+        this.accountId = "paypal:" + email;
+        ledger.open(accountId, AccountLedger.toMinorUnits(accountBalance));
     }
     
     @Override
@@ -20,23 +37,66 @@ public class PayPalPayment implements PaymentStrategy {
             return false;
         }
         
+        Optional<AccountLedger.Reservation> reservation =
+                ledger.reserve(accountId, AccountLedger.toMinorUnits(amount));
+        if (reservation.isEmpty()) {
+            System.out.println("❌ PayPal payment declined: amount $" + amount + " is no longer available");
+            return false;
+        }
+        
         System.out.println("🅿️ Processing PayPal payment...");
         System.out.println("   Account: " + email);
         System.out.println("   Amount: $" + amount);
-        System.out.println("   Remaining balance: $" + (accountBalance - amount));
+        System.out.println("   Remaining balance: $" + getAccountBalance());
         
         // Simulate payment processing
         try {
             Thread.sleep(800); // Simulate network delay
+            reservation.get().commit();
             System.out.println("✅ PayPal payment of $" + amount + " processed successfully!");
             return true;
         } catch (InterruptedException e) {
+            reservation.get().release();
             System.out.println("❌ PayPal payment processing interrupted");
             Thread.currentThread().interrupt();
             return false;
         }
     }
     
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        long start = System.nanoTime();
+        boolean[] accepted = BatchPayments.validate(this, requests);
+        AccountLedger.Reservation[] reservations = BatchPayments.reserve(ledger, accountId, requests, accepted);
+        int count = BatchPayments.count(accepted);
+        if (count < requests.size()) {
+            System.out.println("❌ " + (requests.size() - count) + " PayPal payments failed validation");
+        }
+        if (count == 0) {
+            return BatchPayments.results(this, requests, accepted, false, start);
+        }
+        
+        double total = BatchPayments.total(requests, accepted);
+        System.out.println("🅿️ Processing PayPal batch...");
+        System.out.println("   Account: " + email);
+        System.out.println("   Payments: " + count);
+        System.out.println("   Total: $" + total);
+        System.out.println("   Remaining balance: $" + getAccountBalance());
+        
+        // Simulate one gateway call for the whole batch
+        try {
+            Thread.sleep(800); // Same network delay as a single payment
+            BatchPayments.settle(reservations, true);
+            System.out.println("✅ PayPal batch of " + count + " payments processed successfully!");
+            return BatchPayments.results(this, requests, accepted, true, start);
+        } catch (InterruptedException e) {
+            BatchPayments.settle(reservations, false);
+            System.out.println("❌ PayPal batch processing interrupted");
+            Thread.currentThread().interrupt();
+            return BatchPayments.results(this, requests, accepted, false, start);
+        }
+    }
+    
     @Override
     public String getPaymentMethodName() {
         return "PayPal";
@@ -44,14 +104,14 @@ public class PayPalPayment implements PaymentStrategy {
     
     @Override
     public boolean validatePayment(double amount) {
-        if (amount <= 0) {
+        if (amount <= 0 || AccountLedger.toMinorUnits(amount) == 0) {
             System.out.println("❌ Invalid amount: $" + amount);
             return false;
         }
         
-        if (amount > accountBalance) {
+        if (AccountLedger.toMinorUnits(amount) > ledger.getAvailable(accountId)) {
             System.out.println("❌ Insufficient PayPal balance. Required: $" + amount + 
-                             ", Available: $" + accountBalance);
+                             ", Available: $" + getAccountBalance());
             return false;
         }
         
@@ -71,7 +131,10 @@ public class PayPalPayment implements PaymentStrategy {
         return email;
     }
     
+    /**
+     * @return the balance left after all committed and reserved payments
+     */
     public double getAccountBalance() {
-        return accountBalance;
+        return AccountLedger.toAmount(ledger.getAvailable(accountId));
     }
 } 
\ No newline at end of file
@@ -1,13 +1,39 @@
 package com.designpatterns.behavioral.strategy;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
 /**
  * Context class that uses PaymentStrategy.
  * This class maintains a reference to a strategy object and delegates 
  * the payment processing to the strategy.
+ * 
+ * {@link #executePaymentAsync(double)} runs the payment on a virtual thread
+ * instead of blocking the caller for the whole gateway call, so one node can
+ * keep many thousands of payments in flight. A deadline or a cancelled
+ * future interrupts the payment thread.
+ * 
+ * {@link #executePayment(PaymentRequest)} treats the request's payment id as
+ * an idempotency key: a client retry of the same request gets the original
+ * result from the context's {@link IdempotencyCache} instead of paying again.
  */
 public class PaymentContext {
     
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+    private static final int DEFAULT_IDEMPOTENCY_KEYS = 10_000;
+    private static final Duration DEFAULT_IDEMPOTENCY_TTL = Duration.ofHours(24);
+    
     private PaymentStrategy paymentStrategy;
+    private ExecutorService executor = VIRTUAL_THREADS;
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(DEFAULT_IDEMPOTENCY_KEYS, DEFAULT_IDEMPOTENCY_TTL);
+    private volatile boolean consoleLogging = true;
     
     /**
      * Constructor that accepts a payment strategy.
@@ -46,10 +72,174 @@ public class PaymentContext {
             throw new IllegalStateException("Payment strategy not set. Please set a payment strategy before executing payment.");
         }
         
-        System.out.println("🔄 Executing payment using " + paymentStrategy.getPaymentMethodName() + " strategy");
+        if (consoleLogging) {
+            System.out.println("🔄 Executing payment using " + paymentStrategy.getPaymentMethodName() + " strategy");
+        }
         return paymentStrategy.processPayment(amount);
     }
     
+    /**
+     * Execute a payment at most once per payment id. A duplicate of a
+     * finished payment gets its result right away, and a duplicate of a
+     * payment still in flight waits for it instead of starting another one.
+     * 
+     * @param request the payment; its payment id is the idempotency key
+     * @return the result of the first execution of this payment id
+     * @throws IllegalStateException if no payment strategy is set
+     * @throws IllegalArgumentException if the payment id was used for a different amount
+     */
+    public PaymentResult executePayment(PaymentRequest request) {
+        PaymentStrategy strategy = paymentStrategy;
+        if (strategy == null) {
+            throw new IllegalStateException("Payment strategy not set. Please set a payment strategy before executing payment.");
+        }
+        
+        return idempotencyCache.execute(request, () -> {
+            if (consoleLogging) {
+                System.out.println("🔄 Executing payment " + request.paymentId() + " using "
+                        + strategy.getPaymentMethodName() + " strategy");
+            }
+            return process(strategy, request, System.nanoTime(), consoleLogging);
+        });
+    }
+    
+    /**
+     * Execute several payments using the current strategy. Strategies with a
+     * batched path validate all of them up front and pay the gateway latency
+     * once for the whole batch.
+     * 
+     * @param requests the payments to execute
+     * @return one result per request, in request order
+     * @throws IllegalStateException if no payment strategy is set
+     */
+    public List<PaymentResult> executeBatch(List<PaymentRequest> requests) {
+        if (paymentStrategy == null) {
+            throw new IllegalStateException("Payment strategy not set. Please set a payment strategy before executing payment.");
+        }
+        
+        if (consoleLogging) {
+            System.out.println("🔄 Executing batch of " + requests.size() + " payments using "
+                    + paymentStrategy.getPaymentMethodName() + " strategy");
+        }
+        return paymentStrategy.processBatch(requests);
+    }
+    
+    /**
+     * Execute payment using the current strategy without blocking the caller.
+     * 
+     * @param amount the amount to pay
+     * @return a future completed with the payment result; cancelling it
+     *         interrupts the payment
+     * @throws IllegalStateException if no payment strategy is set
+     */
+    public CompletableFuture<PaymentResult> executePaymentAsync(double amount) {
+        return executePaymentAsync(amount, null);
+    }
+    
+    /**
+     * Execute payment using the current strategy without blocking the caller,
+     * giving up once the deadline has passed. A payment that times out
+     * completes with {@link PaymentResult.Status#TIMED_OUT} and its thread is
+     * interrupted.
+     * 
+     * @param amount the amount to pay
+     * @param timeout how long the payment may take, or null for no deadline
+     * @return a future completed with the payment result; cancelling it
+     *         interrupts the payment
+     * @throws IllegalStateException if no payment strategy is set
+     */
+    public CompletableFuture<PaymentResult> executePaymentAsync(double amount, Duration timeout) {
+        PaymentStrategy strategy = paymentStrategy;
+        if (strategy == null) {
+            throw new IllegalStateException("Payment strategy not set. Please set a payment strategy before executing payment.");
+        }
+        
+        if (consoleLogging) {
+            System.out.println("🔄 Executing payment asynchronously using " + strategy.getPaymentMethodName()
+                    + " strategy");
+        }
+        long start = System.nanoTime();
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> result.complete(process(strategy, amount, start, consoleLogging)));
+        if (timeout != null) {
+            // the timed-out result is built up front, so it reports the timeout as its duration
+            result.completeOnTimeout(new PaymentResult(strategy.getPaymentMethodName(), amount,
+                    PaymentResult.Status.TIMED_OUT, timeout), timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        result.whenComplete((payment, failure) -> {
+            if (failure != null || payment.status() == PaymentResult.Status.TIMED_OUT) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    static PaymentResult process(PaymentStrategy strategy, double amount, long start, boolean consoleLogging) {
+        return process(strategy, amount, () -> strategy.processPayment(amount), start, consoleLogging);
+    }
+    
+    private static PaymentResult process(PaymentStrategy strategy, PaymentRequest request, long start,
+                                         boolean consoleLogging) {
+        return process(strategy, request.amount(), () -> strategy.processPayment(request), start, consoleLogging);
+    }
+    
+    private static PaymentResult process(PaymentStrategy strategy, double amount, BooleanSupplier payment,
+                                         long start, boolean consoleLogging) {
+        PaymentResult.Status status;
+        try {
+            status = payment.getAsBoolean() ? PaymentResult.Status.APPROVED : PaymentResult.Status.DECLINED;
+        } catch (RuntimeException e) {
+            if (consoleLogging) {
+                System.out.println("❌ " + strategy.getPaymentMethodName() + " payment failed: " + e.getMessage());
+            }
+            status = PaymentResult.Status.FAILED;
+        }
+        return resultOf(strategy, amount, status, start);
+    }
+    
+    private static PaymentResult resultOf(PaymentStrategy strategy, double amount, PaymentResult.Status status,
+                                          long start) {
+        return new PaymentResult(strategy.getPaymentMethodName(), amount, status,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+    
+    /**
+     * Set the executor that runs asynchronous payments. The default starts a
+     * virtual thread per payment.
+     * 
+     * @param executor the executor to use
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+    
+    /**
+     * Set the cache that remembers payment ids, e.g. to share one cache
+     * between contexts. The default holds 10,000 ids for 24 hours.
+     * 
+     * @param idempotencyCache the cache to use
+     */
+    public void setIdempotencyCache(IdempotencyCache idempotencyCache) {
+        this.idempotencyCache = Objects.requireNonNull(idempotencyCache, "idempotencyCache");
+    }
+    
+    /**
+     * @return the counters of the context's idempotency cache
+     */
+    public IdempotencyStats getIdempotencyStats() {
+        return idempotencyCache.getStats();
+    }
+    
+    /**
+     * Enable or disable the context's own console output. High-volume callers
+     * turn this off; the strategies still print their own messages.
+     * 
+     * @param consoleLogging true to print a line per executed payment
+     */
+    public void setConsoleLogging(boolean consoleLogging) {
+        this.consoleLogging = consoleLogging;
+    }
+    
     /**
      * Validate payment using the current strategy.
      * 
@@ -0,0 +1,17 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.util.Objects;
+
+/**
+ * One payment of a batch handed to {@link PaymentStrategy#processBatch(java.util.List)},
+ * or a single payment handed to {@link PaymentContext#executePayment(PaymentRequest)}.
+ * 
+ * @param paymentId the caller's reference for the payment; also its idempotency key
+ * @param amount the amount to be paid
+ */
+public record PaymentRequest(String paymentId, double amount) {
+    
+    public PaymentRequest {
+        Objects.requireNonNull(paymentId, "paymentId");
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one payment executed through a {@link PaymentContext}.
+ * 
+ * @param paymentMethod the name of the strategy that handled the payment
+ * @param amount the amount that was paid
+ * @param status how the payment ended
+ * @param elapsed time from submission until the outcome was known
+ */
+public record PaymentResult(String paymentMethod, double amount, Status status, Duration elapsed) {
+    
+    /**
+     * How a payment ended.
+     */
+    public enum Status {
+        /** The strategy processed the payment. */
+        APPROVED,
+        /** The strategy rejected the payment, e.g. because it failed validation. */
+        DECLINED,
+        /** The payment did not finish before its deadline and was abandoned. */
+        TIMED_OUT,
+        /** The strategy threw an exception. */
+        FAILED
+    }
+    
+    /**
+     * @return true if the payment was approved
+     */
+    public boolean isSuccessful() {
+        return status == Status.APPROVED;
+    }
+} 
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.designpatterns.behavioral.strategy;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Strategy interface that defines the contract for all payment strategies.
  * This interface allows different payment methods to be used interchangeably.
@@ -14,6 +18,29 @@ public interface PaymentStrategy {
      */
     boolean processPayment(double amount);
     
+    /**
+     * Process a payment identified by its payment id. Strategies that are
+     * {@link #isIdempotent() idempotent} charge a payment id at most once,
+     * however often and however concurrently they are called with it; this
+     * default ignores the id.
+     * 
+     * @param request the payment; its payment id is the idempotency key
+     * @return true if payment is successful, false otherwise
+     */
+    default boolean processPayment(PaymentRequest request) {
+        return processPayment(request.amount());
+    }
+    
+    /**
+     * Whether {@link #processPayment(PaymentRequest)} charges each payment id
+     * at most once, so two attempts of one payment may run side by side.
+     * 
+     * @return true if the strategy deduplicates payment ids
+     */
+    default boolean isIdempotent() {
+        return false;
+    }
+    
     /**
      * Get the name of the payment method.
      * 
@@ -28,4 +55,24 @@ public interface PaymentStrategy {
      * @return true if the amount can be processed, false otherwise
      */
     boolean validatePayment(double amount);
+    
+    /**
+     * Process several payments. Implementations validate every request up
+     * front and send the valid ones to the gateway in a single call; this
+     * default processes them one after another.
+     * 
+     * @param requests the payments to process
+     * @return one result per request, in request order
+     */
+    default List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        List<PaymentResult> results = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            long start = System.nanoTime();
+            boolean approved = processPayment(request.amount());
+            results.add(new PaymentResult(getPaymentMethodName(), request.amount(),
+                    approved ? PaymentResult.Status.APPROVED : PaymentResult.Status.DECLINED,
+                    Duration.ofNanos(System.nanoTime() - start)));
+        }
+        return results;
+    }
 } 
\ No newline at end of file
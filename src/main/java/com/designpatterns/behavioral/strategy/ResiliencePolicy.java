@@ -0,0 +1,71 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of a {@link ResilientPaymentStrategy}.
+ * 
+ * A payment gets up to {@code maxAttempts} attempts within its deadline.
+ * An attempt that throws or outlives the attempt timeout is retried after a
+ * random backoff between zero and {@code baseBackoff * 2^(retry - 1)},
+ * capped at {@code maxBackoff}. Retries and hedged attempts draw from a
+ * retry budget that every payment refills by {@code retryBudgetRatio}, so
+ * during an outage extra attempts stay a fixed fraction of the traffic
+ * instead of multiplying it. A declined payment is never retried.
+ * 
+ * @param deadline how long one payment may take in total, including retries
+ * @param attemptTimeout how long a single attempt may take
+ * @param maxAttempts attempts per payment, including the first
+ * @param baseBackoff backoff bound before the first retry
+ * @param maxBackoff largest backoff bound
+ * @param retryBudgetRatio extra attempts allowed per payment, on average
+ * @param hedging whether a second attempt is started once the first one is
+ *                slower than 95% of recent attempts
+ */
+public record ResiliencePolicy(Duration deadline, Duration attemptTimeout, int maxAttempts, Duration baseBackoff,
+                               Duration maxBackoff, double retryBudgetRatio, boolean hedging) {
+    
+    public ResiliencePolicy {
+        Objects.requireNonNull(deadline, "deadline");
+        Objects.requireNonNull(attemptTimeout, "attemptTimeout");
+        Objects.requireNonNull(baseBackoff, "baseBackoff");
+        Objects.requireNonNull(maxBackoff, "maxBackoff");
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Deadline must be positive: " + deadline);
+        }
+        if (attemptTimeout.isNegative() || attemptTimeout.isZero()) {
+            throw new IllegalArgumentException("Attempt timeout must be positive: " + attemptTimeout);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Maximum attempts must be positive: " + maxAttempts);
+        }
+        if (baseBackoff.isNegative() || maxBackoff.compareTo(baseBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= base <= max: " + baseBackoff + ", " + maxBackoff);
+        }
+        if (!(retryBudgetRatio >= 0 && retryBudgetRatio <= 1)) {
+            throw new IllegalArgumentException("Retry budget ratio must be in [0, 1]: " + retryBudgetRatio);
+        }
+    }
+    
+    /**
+     * A policy with three attempts of at most half the deadline each, backoff
+     * from 50 ms up to 1 s, a 10% retry budget and no hedging.
+     * 
+     * @param deadline how long one payment may take in total
+     * @return the policy
+     */
+    public static ResiliencePolicy withDeadline(Duration deadline) {
+        return new ResiliencePolicy(deadline, deadline.dividedBy(2), 3, Duration.ofMillis(50), Duration.ofSeconds(1),
+                0.1, false);
+    }
+    
+    /**
+     * @param hedging whether slow attempts get a hedged second attempt
+     * @return a copy of this policy with the given hedging setting
+     */
+    public ResiliencePolicy withHedging(boolean hedging) {
+        return new ResiliencePolicy(deadline, attemptTimeout, maxAttempts, baseBackoff, maxBackoff, retryBudgetRatio,
+                hedging);
+    }
+} 
\ No newline at end of file
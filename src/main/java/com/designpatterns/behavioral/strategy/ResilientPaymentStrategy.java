@@ -0,0 +1,378 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that makes another payment strategy resilient to a slow or
+ * flaky gateway: every payment has a deadline, failed and timed-out
+ * attempts are retried with jittered exponential backoff as long as the
+ * retry budget allows, and optionally a slow attempt is hedged with a
+ * second one. See {@link ResiliencePolicy} for the settings.
+ * 
+ * Attempts run on virtual threads. The hedge delay is the 95th percentile
+ * of the latest attempt latencies, so only the slowest 5% of payments pay
+ * for a second attempt. Two attempts of one payment run side by side, so
+ * hedging only applies to {@link #processPayment(PaymentRequest)} on an
+ * {@link PaymentStrategy#isIdempotent() idempotent} strategy, which charges
+ * a payment id at most once; anything else would reserve the amount twice.
+ * The first approval wins and the other attempt is interrupted, while a
+ * decline only counts once no other attempt is left. The wrapped strategy
+ * must give up cleanly when interrupted, as the concrete strategies do by
+ * releasing their ledger reservation.
+ * 
+ * An interrupt that arrives after the wrapped strategy committed does not
+ * undo the charge, so an approval is always reported, never dropped. A
+ * timed-out attempt that approves before the deadline approves the
+ * payment. A retry only starts once every abandoned attempt has finished;
+ * if one is still running at the deadline the payment is not retried.
+ * An approval that arrives after the payment was given up is logged and
+ * counted in {@link ResilienceStats#lateApprovals()} for reconciliation.
+ * 
+ * Batches go straight to the wrapped strategy's batched path.
+ */
+public class ResilientPaymentStrategy implements PaymentStrategy {
+    
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int MIN_HEDGE_SAMPLES = 20;
+    private static final int HEDGE_REFRESH_INTERVAL = 8;
+    private static final long BUDGET_UNIT = 1_000;
+    private static final long BUDGET_CAPACITY = 10 * BUDGET_UNIT;
+    private static final int OPEN = 0;
+    private static final int APPROVED = 1;
+    private static final int GAVE_UP = 2;
+    
+    private final PaymentStrategy delegate;
+    private final ResiliencePolicy policy;
+    private final AtomicLong retryBudget = new AtomicLong(BUDGET_CAPACITY);
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long latencyCount;
+    private volatile long hedgeDelayNanos = -1;
+    private volatile boolean consoleLogging = true;
+    
+    private final LongAdder payments = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder budgetRejections = new LongAdder();
+    private final LongAdder lateApprovals = new LongAdder();
+    
+    /**
+     * @param delegate the strategy that talks to the gateway
+     * @param policy deadlines, retry and hedging settings
+     */
+    public ResilientPaymentStrategy(PaymentStrategy delegate, ResiliencePolicy policy) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.policy = Objects.requireNonNull(policy, "policy");
+    }
+    
+    @Override
+    public boolean processPayment(double amount) {
+        return process(null, amount, false);
+    }
+    
+    /**
+     * Process a payment, hedging slow attempts if the policy enables hedging
+     * and the wrapped strategy is idempotent. Every attempt carries the
+     * request's payment id.
+     * 
+     * @param request the payment; its payment id is the idempotency key
+     * @return true if the payment was approved
+     */
+    @Override
+    public boolean processPayment(PaymentRequest request) {
+        return process(request.paymentId(), request.amount(), policy.hedging() && delegate.isIdempotent());
+    }
+    
+    @Override
+    public boolean isIdempotent() {
+        return delegate.isIdempotent();
+    }
+    
+    private boolean process(String paymentId, double amount, boolean hedging) {
+        long deadline = System.nanoTime() + policy.deadline().toNanos();
+        payments.increment();
+        retryBudget.accumulateAndGet((long) (policy.retryBudgetRatio() * BUDGET_UNIT),
+                (budget, deposit) -> Math.min(BUDGET_CAPACITY, budget + deposit));
+        AtomicInteger outcome = new AtomicInteger(OPEN);
+        
+        for (int attempt = 1; ; attempt++) {
+            PaymentResult.Status status;
+            try {
+                status = attempt(paymentId, amount, hedging, deadline, outcome);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return giveUp(outcome);
+            }
+            if (status == PaymentResult.Status.APPROVED) {
+                return true;
+            }
+            if (outcome.get() == APPROVED) {
+                // an abandoned attempt committed before it noticed the interrupt
+                return true;
+            }
+            if (status == PaymentResult.Status.DECLINED) {
+                return giveUp(outcome);
+            }
+            if (status == PaymentResult.Status.TIMED_OUT) {
+                timeouts.increment();
+            }
+            if (status == null) {
+                timeouts.increment();
+                log("❌ " + getPaymentMethodName() + " payment not retried: an abandoned attempt is still running");
+                return giveUp(outcome);
+            }
+            
+            long backoff = backoffNanos(attempt);
+            if (attempt >= policy.maxAttempts() || System.nanoTime() + backoff >= deadline) {
+                log("❌ " + getPaymentMethodName() + " payment gave up after " + attempt + " attempt(s)");
+                return giveUp(outcome);
+            }
+            if (!withdrawBudget()) {
+                budgetRejections.increment();
+                log("❌ " + getPaymentMethodName() + " payment not retried: retry budget exhausted");
+                return giveUp(outcome);
+            }
+            retries.increment();
+            log("🔁 Retrying " + getPaymentMethodName() + " payment in "
+                    + TimeUnit.NANOSECONDS.toMillis(backoff) + " ms");
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return giveUp(outcome);
+            }
+        }
+    }
+    
+    /**
+     * Settle a payment as not approved, unless an attempt approved it in the
+     * meantime.
+     * 
+     * @return true if an attempt approved the payment after all
+     */
+    private static boolean giveUp(AtomicInteger outcome) {
+        return !outcome.compareAndSet(OPEN, GAVE_UP);
+    }
+    
+    /**
+     * Run one attempt, hedged if it gets slow, and wait for its outcome.
+     * Before returning, abandoned attempts are interrupted and given until
+     * the deadline to finish, so a retry never runs next to an attempt that
+     * may still commit.
+     * 
+     * @return the outcome, or null if an abandoned attempt was still running
+     *         at the deadline
+     */
+    private PaymentResult.Status attempt(String paymentId, double amount, boolean hedging, long deadline,
+                                         AtomicInteger outcome) throws InterruptedException {
+        long start = System.nanoTime();
+        long attemptDeadline = Math.min(deadline, start + policy.attemptTimeout().toNanos());
+        long hedgeDelay = hedgeDelayNanos;
+        long hedgeAt = hedging && hedgeDelay >= 0 ? start + hedgeDelay : Long.MAX_VALUE;
+        BlockingQueue<Attempt> finished = new LinkedBlockingQueue<>();
+        List<Launched> running = new ArrayList<>(2);
+        running.add(launch(paymentId, amount, false, finished, outcome));
+        int outstanding = 1;
+        PaymentResult.Status status = PaymentResult.Status.FAILED;
+        boolean interrupted = false;
+        try {
+            while (outstanding > 0) {
+                long now = System.nanoTime();
+                if (now >= attemptDeadline) {
+                    if (status != PaymentResult.Status.DECLINED) {
+                        status = PaymentResult.Status.TIMED_OUT;
+                    }
+                    break;
+                }
+                Attempt done = finished.poll(Math.min(hedgeAt, attemptDeadline) - now, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (System.nanoTime() >= hedgeAt) {
+                        hedgeAt = Long.MAX_VALUE;
+                        if (withdrawBudget()) {
+                            hedges.increment();
+                            log("🏁 Hedging slow " + getPaymentMethodName() + " payment");
+                            running.add(launch(paymentId, amount, true, finished, outcome));
+                            outstanding++;
+                        } else {
+                            budgetRejections.increment();
+                        }
+                    }
+                    continue;
+                }
+                outstanding--;
+                if (done.status() == PaymentResult.Status.APPROVED) {
+                    if (done.hedge()) {
+                        hedgeWins.increment();
+                    }
+                    return PaymentResult.Status.APPROVED;
+                }
+                // a decline is final only once the other attempt, if any, has not approved either
+                if (status != PaymentResult.Status.DECLINED) {
+                    status = done.status();
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            throw e;
+        } finally {
+            for (Launched attempt : running) {
+                attempt.task().cancel(true);
+            }
+        }
+        
+        // nothing follows an approval or the caller's interrupt, so only a retry or a decline waits
+        if (!interrupted && outcome.get() != APPROVED) {
+            for (Launched attempt : running) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !attempt.settled().await(remaining, TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+            }
+        }
+        return status;
+    }
+    
+    private Launched launch(String paymentId, double amount, boolean hedge, BlockingQueue<Attempt> finished,
+                            AtomicInteger outcome) {
+        CountDownLatch settled = new CountDownLatch(1);
+        Future<?> task = VIRTUAL_THREADS.submit(() -> {
+            try {
+                long start = System.nanoTime();
+                PaymentResult.Status status;
+                try {
+                    boolean approved = paymentId == null ? delegate.processPayment(amount)
+                            : delegate.processPayment(new PaymentRequest(paymentId, amount));
+                    status = approved ? PaymentResult.Status.APPROVED : PaymentResult.Status.DECLINED;
+                } catch (RuntimeException e) {
+                    log("❌ " + getPaymentMethodName() + " attempt failed: " + e.getMessage());
+                    status = PaymentResult.Status.FAILED;
+                }
+                // an approval is reported even if the attempt was abandoned meanwhile: the charge stands
+                if (status == PaymentResult.Status.APPROVED && !outcome.compareAndSet(OPEN, APPROVED)
+                        && outcome.get() == GAVE_UP) {
+                    lateApprovals.increment();
+                    log("⚠️ " + getPaymentMethodName() + " attempt approved after the payment was given up;"
+                            + " the charge must be reconciled");
+                }
+                if (status != PaymentResult.Status.FAILED && !Thread.currentThread().isInterrupted()) {
+                    recordLatency(System.nanoTime() - start);
+                }
+                finished.add(new Attempt(status, hedge));
+            } finally {
+                settled.countDown();
+            }
+        });
+        return new Launched(task, settled);
+    }
+    
+    private void recordLatency(long nanos) {
+        synchronized (latencies) {
+            latencies[(int) (latencyCount++ % LATENCY_SAMPLES)] = nanos;
+            if (latencyCount >= MIN_HEDGE_SAMPLES && latencyCount % HEDGE_REFRESH_INTERVAL == 0) {
+                int samples = (int) Math.min(latencyCount, LATENCY_SAMPLES);
+                long[] sorted = Arrays.copyOf(latencies, samples);
+                Arrays.sort(sorted);
+                hedgeDelayNanos = sorted[(int) Math.ceil(samples * 0.95) - 1];
+            }
+        }
+    }
+    
+    private long backoffNanos(int attempt) {
+        long bound = policy.baseBackoff().toNanos() << Math.min(attempt - 1, 30);
+        if (bound < 0 || bound > policy.maxBackoff().toNanos()) {
+            bound = policy.maxBackoff().toNanos();
+        }
+        return bound == 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+    
+    private boolean withdrawBudget() {
+        long budget;
+        do {
+            budget = retryBudget.get();
+            if (budget < BUDGET_UNIT) {
+                return false;
+            }
+        } while (!retryBudget.compareAndSet(budget, budget - BUDGET_UNIT));
+        return true;
+    }
+    
+    private void log(String message) {
+        if (consoleLogging) {
+            System.out.println(message);
+        }
+    }
+    
+    @Override
+    public List<PaymentResult> processBatch(List<PaymentRequest> requests) {
+        return delegate.processBatch(requests);
+    }
+    
+    @Override
+    public String getPaymentMethodName() {
+        return delegate.getPaymentMethodName();
+    }
+    
+    @Override
+    public boolean validatePayment(double amount) {
+        return delegate.validatePayment(amount);
+    }
+    
+    /**
+     * Enable or disable the decorator's own console output about retries
+     * and hedges. The wrapped strategy still prints its own messages.
+     * 
+     * @param consoleLogging true to print retries and hedges
+     */
+    public void setConsoleLogging(boolean consoleLogging) {
+        this.consoleLogging = consoleLogging;
+    }
+    
+    /**
+     * @return the decorator's counters
+     */
+    public ResilienceStats getStats() {
+        long hedgeDelay = hedgeDelayNanos;
+        return new ResilienceStats(payments.sum(), retries.sum(), hedges.sum(), hedgeWins.sum(), timeouts.sum(),
+                budgetRejections.sum(), lateApprovals.sum(), hedgeDelay < 0 ? null : Duration.ofNanos(hedgeDelay));
+    }
+    
+    /**
+     * Counters of a resilient strategy.
+     * 
+     * @param payments payments processed
+     * @param retries attempts started after a failed or timed-out one
+     * @param hedges second attempts started because the first one was slow
+     * @param hedgeWins hedged attempts that approved the payment first
+     * @param timeouts attempts abandoned at their timeout or the deadline
+     * @param budgetRejections retries and hedges skipped because the budget was empty
+     * @param lateApprovals attempts that approved after the payment was given up,
+     *                      i.e. an attempt that outlived the deadline
+     * @param hedgeDelay the current hedge delay, or null until enough latencies were seen
+     */
+    public record ResilienceStats(long payments, long retries, long hedges, long hedgeWins, long timeouts,
+                                  long budgetRejections, long lateApprovals, Duration hedgeDelay) {
+    }
+    
+    private record Attempt(PaymentResult.Status status, boolean hedge) {
+    }
+    
+    private record Launched(Future<?> task, CountDownLatch settled) {
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,264 @@
+package com.designpatterns.behavioral.strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Context that holds several payment strategies and picks one per payment
+ * instead of using a single strategy chosen by the caller.
+ * 
+ * For every strategy the context keeps an exponentially weighted success
+ * rate and latency of the payments it handled. A payment goes to the
+ * fastest healthy strategy - one whose success rate is at least the
+ * configured minimum - among those whose {@code validatePayment} accepts
+ * the amount. When no eligible strategy is healthy, the one with the best
+ * success rate is used. A strategy that has not handled a payment for the
+ * probe interval gets the next eligible payment, so a degraded strategy is
+ * noticed when it recovers and a slow one when it speeds up again.
+ * 
+ * A strategy without statistics yet is unknown rather than fast and
+ * healthy: it gets one probe payment at a time and takes no part in the
+ * comparison until the first one completes, so a newly added strategy
+ * does not receive a whole burst of payments. Only when no measured
+ * strategy accepts the amount does an unknown one take regular payments.
+ * 
+ * A payment that passed validation but was not approved counts as a
+ * failure of the strategy that handled it. Payments are not retried on
+ * another strategy.
+ */
+public class RoutingPaymentContext {
+    
+    private static final double DEFAULT_SMOOTHING = 0.2;
+    private static final double DEFAULT_MIN_SUCCESS_RATE = 0.8;
+    private static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(10);
+    
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private volatile double smoothing = DEFAULT_SMOOTHING;
+    private volatile double minSuccessRate = DEFAULT_MIN_SUCCESS_RATE;
+    private volatile long probeIntervalNanos = DEFAULT_PROBE_INTERVAL.toNanos();
+    private volatile boolean consoleLogging = true;
+    
+    /**
+     * Constructor that accepts the strategies to route between.
+     * 
+     * @param strategies the eligible payment strategies
+     */
+    public RoutingPaymentContext(PaymentStrategy... strategies) {
+        for (PaymentStrategy strategy : strategies) {
+            routes.add(new Route(Objects.requireNonNull(strategy, "strategy"), System.nanoTime()));
+        }
+    }
+    
+    /**
+     * Add a strategy to route payments to. It starts without statistics
+     * and gets the next payment it can accept as a probe; it gets no more
+     * until that payment completes.
+     * 
+     * @param paymentStrategy the payment strategy to add
+     */
+    public void addPaymentStrategy(PaymentStrategy paymentStrategy) {
+        routes.add(new Route(Objects.requireNonNull(paymentStrategy, "paymentStrategy"), System.nanoTime()));
+    }
+    
+    /**
+     * Stop routing payments to a strategy.
+     * 
+     * @param paymentStrategy the payment strategy to remove
+     * @return true if the strategy was registered
+     */
+    public boolean removePaymentStrategy(PaymentStrategy paymentStrategy) {
+        return routes.removeIf(route -> route.strategy == paymentStrategy);
+    }
+    
+    /**
+     * Execute payment using the best strategy for it.
+     * 
+     * @param amount the amount to pay
+     * @return the payment result; declined with payment method "None" if no
+     *         strategy accepts the amount
+     * @throws IllegalStateException if no payment strategy is registered
+     */
+    public PaymentResult executePayment(double amount) {
+        if (routes.isEmpty()) {
+            throw new IllegalStateException("No payment strategies registered. Please add a payment strategy before executing payment.");
+        }
+        
+        long start = System.nanoTime();
+        Route route = select(amount, start);
+        if (route == null) {
+            if (consoleLogging) {
+                System.out.println("❌ No payment method can accept amount: $" + amount);
+            }
+            return new PaymentResult("None", amount, PaymentResult.Status.DECLINED,
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+        
+        if (consoleLogging) {
+            System.out.println("🔄 Routing payment to " + route.strategy.getPaymentMethodName() + " strategy");
+        }
+        PaymentResult result = PaymentContext.process(route.strategy, amount, start, consoleLogging);
+        route.record(result.isSuccessful(), result.elapsed().toNanos(), smoothing);
+        return result;
+    }
+    
+    private Route select(double amount, long now) {
+        double minRate = minSuccessRate;
+        Route fastest = null;
+        double fastestLatency = Double.MAX_VALUE;
+        Route mostReliable = null;
+        double bestRate = -1;
+        Route unknown = null;
+        for (Route route : routes) {
+            if (!route.strategy.validatePayment(amount)) {
+                continue;
+            }
+            if (route.claimProbe(now, probeIntervalNanos)) {
+                return route;
+            }
+            RouteStats stats = route.stats(minRate);
+            if (stats.payments() == 0) {
+                // its probe is still running
+                if (unknown == null) {
+                    unknown = route;
+                }
+                continue;
+            }
+            if (stats.healthy() && stats.latency().toNanos() < fastestLatency) {
+                fastest = route;
+                fastestLatency = stats.latency().toNanos();
+            }
+            if (stats.successRate() > bestRate) {
+                mostReliable = route;
+                bestRate = stats.successRate();
+            }
+        }
+        Route chosen = fastest != null ? fastest : mostReliable != null ? mostReliable : unknown;
+        if (chosen != null) {
+            chosen.markUsed(now);
+        }
+        return chosen;
+    }
+    
+    /**
+     * Get the current statistics of every strategy, in registration order.
+     * 
+     * @return a snapshot of the per-strategy statistics
+     */
+    public List<RouteStats> getRouteStats() {
+        List<RouteStats> stats = new ArrayList<>();
+        for (Route route : routes) {
+            stats.add(route.stats(minSuccessRate));
+        }
+        return stats;
+    }
+    
+    /**
+     * Set how strongly each payment moves a strategy's statistics. Higher
+     * values shift traffic sooner after a strategy degrades.
+     * 
+     * @param smoothing the weight of the latest payment, in (0, 1]
+     */
+    public void setSmoothing(double smoothing) {
+        if (!(smoothing > 0 && smoothing <= 1)) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]: " + smoothing);
+        }
+        this.smoothing = smoothing;
+    }
+    
+    /**
+     * Set the success rate below which a strategy is considered unhealthy.
+     * 
+     * @param minSuccessRate the minimum success rate, in [0, 1]
+     */
+    public void setMinSuccessRate(double minSuccessRate) {
+        if (!(minSuccessRate >= 0 && minSuccessRate <= 1)) {
+            throw new IllegalArgumentException("Minimum success rate must be in [0, 1]: " + minSuccessRate);
+        }
+        this.minSuccessRate = minSuccessRate;
+    }
+    
+    /**
+     * Set how long a strategy may go without payments before it gets one to
+     * refresh its statistics.
+     * 
+     * @param probeInterval the probe interval
+     */
+    public void setProbeInterval(Duration probeInterval) {
+        if (probeInterval.isNegative()) {
+            throw new IllegalArgumentException("Probe interval must not be negative: " + probeInterval);
+        }
+        this.probeIntervalNanos = probeInterval.toNanos();
+    }
+    
+    /**
+     * Enable or disable the context's own console output.
+     * 
+     * @param consoleLogging true to print a line per routed payment
+     */
+    public void setConsoleLogging(boolean consoleLogging) {
+        this.consoleLogging = consoleLogging;
+    }
+    
+    /**
+     * Statistics of one strategy.
+     * 
+     * @param paymentMethod the strategy's payment method name
+     * @param successRate the weighted share of approved payments, 1 before the first payment
+     * @param latency the weighted payment latency, zero before the first payment
+     * @param payments the number of payments the strategy handled
+     * @param healthy whether the success rate meets the minimum
+     */
+    public record RouteStats(String paymentMethod, double successRate, Duration latency, long payments,
+                             boolean healthy) {
+    }
+    
+    private static final class Route {
+        private final PaymentStrategy strategy;
+        private double successRate = 1;
+        private double latencyNanos;
+        private long payments;
+        private long lastUsed;
+        private boolean probing;
+        
+        Route(PaymentStrategy strategy, long now) {
+            this.strategy = strategy;
+            this.lastUsed = now;
+        }
+        
+        synchronized boolean claimProbe(long now, long probeIntervalNanos) {
+            if (payments == 0) {
+                if (probing) {
+                    return false;
+                }
+                probing = true;
+            } else if (now - lastUsed < probeIntervalNanos) {
+                return false;
+            }
+            lastUsed = now;
+            return true;
+        }
+        
+        synchronized void markUsed(long now) {
+            lastUsed = now;
+        }
+        
+        synchronized void record(boolean success, long elapsedNanos, double smoothing) {
+            if (payments == 0) {
+                latencyNanos = elapsedNanos;
+            } else {
+                latencyNanos += smoothing * (elapsedNanos - latencyNanos);
+            }
+            successRate += smoothing * ((success ? 1 : 0) - successRate);
+            payments++;
+            probing = false;
+        }
+        
+        synchronized RouteStats stats(double minSuccessRate) {
+            return new RouteStats(strategy.getPaymentMethodName(), successRate, Duration.ofNanos((long) latencyNanos),
+                    payments, successRate >= minSuccessRate);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for NewsAgency asynchronous delivery mode.
+ */
+class AsyncNewsAgencyTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        newsAgency.setAsyncDelivery(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("Should return from publish without waiting for slow subscribers")
+    void testPublishDoesNotWaitForSlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        newsAgency.addObserver(message -> awaitQuietly(release));
+        RecordingObserver fast = new RecordingObserver();
+        newsAgency.addObserver(fast);
+        
+        long start = System.nanoTime();
+        CompletableFuture<Void> delivered = newsAgency.publishNewsAsync("Tech: async");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(elapsedMillis < 500, "Publishing should only enqueue");
+        assertFalse(delivered.isDone(), "Slow subscriber has not acknowledged yet");
+        assertTrue(fast.awaitMessages(1));
+        
+        release.countDown();
+        delivered.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should deliver messages to each subscriber in publish order")
+    void testPerSubscriberOrdering() throws Exception {
+        RecordingObserver observer = new RecordingObserver();
+        newsAgency.addObserver(observer);
+        
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 100; i++) {
+            last = newsAgency.publishNewsAsync("News " + i);
+        }
+        last.get(5, TimeUnit.SECONDS);
+        
+        assertEquals(100, observer.messages.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("News " + i, observer.messages.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally when a subscriber fails")
+    void testFailurePropagatesToFuture() {
+        RecordingObserver healthy = new RecordingObserver();
+        newsAgency.addObserver(message -> {
+            throw new IllegalStateException("boom");
+        });
+        newsAgency.addObserver(healthy);
+        
+        CompletableFuture<Void> delivered = newsAgency.publishNewsAsync("Breaking: failure");
+        
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> delivered.get(5, TimeUnit.SECONDS));
+        assertEquals("boom", exception.getCause().getMessage());
+        assertEquals(List.of("Breaking: failure"), healthy.messages);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to removed subscribers")
+    void testRemoveObserverStopsMailbox() throws Exception {
+        RecordingObserver observer = new RecordingObserver();
+        newsAgency.addObserver(observer);
+        newsAgency.publishNewsAsync("First").get(5, TimeUnit.SECONDS);
+        
+        newsAgency.removeObserver(observer);
+        newsAgency.publishNewsAsync("Second").get(5, TimeUnit.SECONDS);
+        
+        assertEquals(List.of("First"), observer.messages);
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should reject switching to async delivery once observers exist")
+    void testAsyncDeliveryMustBeConfiguredFirst() {
+        NewsAgency syncAgency = new NewsAgency();
+        syncAgency.setConsoleLogging(false);
+        syncAgency.addObserver(new RecordingObserver());
+        
+        assertThrows(IllegalStateException.class, () -> syncAgency.setAsyncDelivery(8));
+        assertThrows(IllegalArgumentException.class, () -> new NewsAgency().setAsyncDelivery(0));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+        
+        boolean awaitMessages(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (messages.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return messages.size() >= count;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for batched publishing and micro-batching.
+ */
+class BatchPublishTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("Should deliver a published batch with a single updateBatch call")
+    void testBatchAwareObserver() {
+        BatchRecordingObserver observer = new BatchRecordingObserver();
+        newsAgency.addObserver(observer);
+        
+        newsAgency.publishNews(List.of("Tech: one", "Tech: two", "Tech: three"));
+        
+        assertEquals(List.of(List.of("Tech: one", "Tech: two", "Tech: three")), observer.batches);
+        assertEquals("Tech: three", newsAgency.getLatestNews());
+    }
+
+    @Test
+    @DisplayName("Should fall back to update for observers that do not handle batches")
+    void testDefaultUpdateBatch() {
+        List<String> received = new ArrayList<>();
+        newsAgency.addObserver(received::add);
+        
+        newsAgency.publishNews(List.of("First", "Second"));
+        
+        assertEquals(List.of("First", "Second"), received);
+    }
+
+    @Test
+    @DisplayName("Should only include matching items in a topic subscriber's batch")
+    void testTopicFilteredBatch() {
+        BatchRecordingObserver sports = new BatchRecordingObserver();
+        newsAgency.addObserver("Sports", sports);
+        
+        newsAgency.publishNews(List.of("Tech: skip", "Sports: keep", "Breaking: skip", "Sports: also keep"));
+        
+        assertEquals(List.of(List.of("Sports: keep", "Sports: also keep")), sports.batches);
+    }
+
+    @Test
+    @DisplayName("Should coalesce single publishes into batches of the maximum size")
+    void testMicroBatchingBySize() {
+        BatchRecordingObserver observer = new BatchRecordingObserver();
+        newsAgency.addObserver(observer);
+        newsAgency.setMicroBatching(3, Duration.ofMinutes(1));
+        
+        for (int i = 1; i <= 7; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        
+        assertEquals(2, observer.batches.size());
+        assertEquals(List.of("News 1", "News 2", "News 3"), observer.batches.get(0));
+        newsAgency.flush();
+        assertEquals(List.of("News 7"), observer.batches.get(2));
+    }
+
+    @Test
+    @DisplayName("Should deliver a partial batch once the linger time has passed")
+    void testMicroBatchingByLinger() throws InterruptedException {
+        BatchRecordingObserver observer = new BatchRecordingObserver();
+        newsAgency.addObserver(observer);
+        newsAgency.setMicroBatching(100, Duration.ofMillis(20));
+        
+        newsAgency.publishNews("Lonely news");
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (observer.batches.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of(List.of("Lonely news")), observer.batches);
+    }
+
+    private static class BatchRecordingObserver implements Observer {
+        private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            batches.add(List.of(message));
+        }
+        
+        @Override
+        public void updateBatch(List<String> messages) {
+            batches.add(List.copyOf(messages));
+        }
+    }
+} 
\ No newline at end of file
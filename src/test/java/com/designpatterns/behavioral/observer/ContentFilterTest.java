@@ -0,0 +1,154 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for content-filter subscriptions.
+ */
+class ContentFilterTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should match keywords as whole words ignoring case")
+    void testKeywords() {
+        List<String> received = new ArrayList<>();
+        newsAgency.addObserver(ContentFilter.keywords("ai", "Chips"), received::add);
+        
+        newsAgency.publishNews("Tech: AI breakthrough");
+        newsAgency.publishNews("Travel: Dubai reopens");
+        newsAgency.publishNews("Business: chips shortage eases");
+        newsAgency.publishNews("Food: potato chipset");
+        
+        assertEquals(List.of("Tech: AI breakthrough", "Business: chips shortage eases"), received);
+    }
+
+    @Test
+    @DisplayName("Should match substrings and prefixes exactly")
+    void testSubstringAndPrefix() {
+        List<String> contains = new ArrayList<>();
+        List<String> startsWith = new ArrayList<>();
+        newsAgency.addObserver(ContentFilter.substring("Cup"), contains::add);
+        newsAgency.addObserver(ContentFilter.prefix("Sports"), startsWith::add);
+        
+        newsAgency.publishNews("Sports: Cup final tonight");
+        newsAgency.publishNews("Weather: cup of rain");
+        newsAgency.publishNews("Breaking: Sports hall closed");
+        
+        assertEquals(List.of("Sports: Cup final tonight"), contains);
+        assertEquals(List.of("Sports: Cup final tonight"), startsWith);
+    }
+
+    @Test
+    @DisplayName("Should match regex filters and deliver each message once per subscriber")
+    void testRegexAndOverlaps() {
+        List<String> scores = new ArrayList<>();
+        List<String> election = new ArrayList<>();
+        newsAgency.addObserver(ContentFilter.regex("\\d+-\\d+"), scores::add);
+        newsAgency.addObserver(ContentFilter.keywords("vote", "election", "poll"), election::add);
+        
+        newsAgency.publishNews("Sports: United win 3-1");
+        newsAgency.publishNews("Politics: election poll says vote early, vote often");
+        
+        assertEquals(List.of("Sports: United win 3-1"), scores);
+        assertEquals(List.of("Politics: election poll says vote early, vote often"), election);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering after unsubscribe and route batches by content")
+    void testUnsubscribeAndBatches() {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        Subscription subscription = newsAgency.addObserver(ContentFilter.keywords("storm"), first::add);
+        newsAgency.addObserver(ContentFilter.keywords("storm"), second::add);
+        assertEquals(2, newsAgency.getObserverCount());
+        
+        subscription.unsubscribe();
+        newsAgency.publishNews(List.of("Weather: storm warning", "Weather: sunny", "Weather: Storm over"));
+        
+        assertTrue(first.isEmpty());
+        assertEquals(List.of("Weather: storm warning", "Weather: Storm over"), second);
+        assertEquals(1, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should agree with evaluating every filter on its own")
+    void testMatchesNaiveEvaluation() {
+        Random random = new Random(42);
+        String[] words = {"ai", "chip", "chips", "market", "rally", "he", "she", "hers", "his", "vote", "Tech"};
+        List<ContentFilter> filters = new ArrayList<>();
+        List<List<String>> received = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ContentFilter filter = switch (i % 4) {
+                case 0 -> ContentFilter.keywords(words[random.nextInt(words.length)],
+                        words[random.nextInt(words.length)]);
+                case 1 -> ContentFilter.substring(words[random.nextInt(words.length)]);
+                case 2 -> ContentFilter.prefix(words[random.nextInt(words.length)]);
+                default -> ContentFilter.regex(words[random.nextInt(words.length)] + "\\w*");
+            };
+            List<String> messages = new ArrayList<>();
+            filters.add(filter);
+            received.add(messages);
+            newsAgency.addObserver(filter, messages::add);
+        }
+        
+        List<String> published = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            StringBuilder message = new StringBuilder();
+            for (int w = 0; w < 6; w++) {
+                message.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : "");
+            }
+            published.add(message.toString());
+            newsAgency.publishNews(message.toString());
+        }
+        
+        for (int i = 0; i < filters.size(); i++) {
+            ContentFilter filter = filters.get(i);
+            assertEquals(published.stream().filter(filter::matches).toList(), received.get(i), filter.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver to filters subscribed between publishes while the index rebuilds")
+    void testInterleavedSubscribeAndPublish() throws InterruptedException {
+        List<List<String>> received = new ArrayList<>();
+        StringBuilder digest = new StringBuilder("Digest:");
+        for (int i = 0; i < 300; i++) {
+            List<String> messages = new ArrayList<>();
+            received.add(messages);
+            newsAgency.addObserver(ContentFilter.keywords("topic" + i), messages::add);
+            newsAgency.publishNews("Update on topic" + i);
+            digest.append(" topic").append(i);
+        }
+        
+        // once while the latest subscribers may still be matched one by one, once after the rebuild
+        newsAgency.publishNews(digest.toString());
+        Thread.sleep(200);
+        newsAgency.publishNews(digest.toString());
+        
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(List.of("Update on topic" + i, digest.toString(), digest.toString()), received.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject empty filters")
+    void testInvalidFilters() {
+        assertThrows(IllegalArgumentException.class, () -> ContentFilter.substring(""));
+        assertThrows(IllegalArgumentException.class, () -> ContentFilter.keywords());
+        assertThrows(IllegalArgumentException.class, () -> ContentFilter.keywords("ok", ""));
+    }
+} 
\ No newline at end of file
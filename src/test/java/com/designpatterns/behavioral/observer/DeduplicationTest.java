@@ -0,0 +1,140 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for duplicate suppression before fan-out.
+ */
+class DeduplicationTest {
+
+    private NewsAgency newsAgency;
+    private RecordingObserver observer;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        observer = new RecordingObserver();
+        newsAgency.addObserver(observer);
+    }
+
+    @Test
+    @DisplayName("Should suppress repeated stories and report the suppression ratio")
+    void testSuppressDuplicates() {
+        newsAgency.setDeduplication(DeduplicationPolicy.withWindow(Duration.ofMinutes(5)));
+        
+        newsAgency.publishNews("Breaking: markets rally");
+        newsAgency.publishNews("Breaking: markets rally");
+        newsAgency.publishNews("Tech: new JDK released");
+        newsAgency.publishNews("Breaking: markets rally");
+        
+        assertEquals(List.of("Breaking: markets rally", "Tech: new JDK released"), observer.messages);
+        DeduplicationStats stats = newsAgency.getDeduplicationStats().orElseThrow();
+        assertEquals(4, stats.checked());
+        assertEquals(2, stats.suppressed());
+        assertEquals(0.5, stats.suppressionRatio(), 1e-9);
+        assertEquals("Tech: new JDK released", newsAgency.getLatestNews());
+    }
+
+    @Test
+    @DisplayName("Should deliver a story again once its window has passed")
+    void testWindowExpiry() throws Exception {
+        newsAgency.setDeduplication(DeduplicationPolicy.withWindow(Duration.ofMillis(50)));
+        
+        newsAgency.publishNews("Weather: storm warning");
+        Thread.sleep(120);
+        newsAgency.publishNews("Weather: storm warning");
+        
+        assertEquals(2, observer.messages.size());
+        assertTrue(newsAgency.getDeduplicationStats().orElseThrow().rotations() > 0);
+    }
+
+    @Test
+    @DisplayName("Should remove duplicates from batches and async publishes")
+    void testBatchesAndAsync() throws Exception {
+        newsAgency.setDeduplication(DeduplicationPolicy.withWindow(Duration.ofMinutes(5)));
+        
+        newsAgency.publishNews(List.of("A", "B", "A"));
+        newsAgency.publishNews(List.of("B"));
+        newsAgency.publishNewsAsync("A").get();
+        newsAgency.publishNewsAsync("C").get();
+        
+        assertEquals(List.of("A", "B", "C"), observer.messages);
+        assertEquals(3, newsAgency.getDeduplicationStats().orElseThrow().suppressed());
+    }
+
+    @Test
+    @DisplayName("Should never drop unique news on filter false positives")
+    void testFalsePositivesAreDelivered() {
+        // 16 bytes of filter with a 40% target rate saturate almost at once
+        newsAgency.setDeduplication(new DeduplicationPolicy(Duration.ofMinutes(5), 0.4, 16, 100_000));
+        
+        for (int i = 0; i < 1_000; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        
+        assertEquals(1_000, observer.messages.size());
+        DeduplicationStats stats = newsAgency.getDeduplicationStats().orElseThrow();
+        assertEquals(0, stats.suppressed());
+        assertTrue(stats.unconfirmed() > 0);
+        assertEquals(stats.filterHits(), stats.unconfirmed());
+    }
+
+    @Test
+    @DisplayName("Should deliver repeats that fell out of the confirmation cache")
+    void testConfirmationCacheEviction() {
+        newsAgency.setDeduplication(new DeduplicationPolicy(Duration.ofMinutes(5), 0.01, 1024, 1));
+        
+        newsAgency.publishNews("A");
+        newsAgency.publishNews("B");
+        newsAgency.publishNews("A");
+        newsAgency.publishNews("A");
+        
+        assertEquals(List.of("A", "B", "A"), observer.messages);
+    }
+
+    @Test
+    @DisplayName("Should confirm repeats of many stories spread over all stripes")
+    void testManyStories() {
+        newsAgency.setDeduplication(DeduplicationPolicy.withWindow(Duration.ofMinutes(5)));
+        
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                newsAgency.publishNews("Story " + i);
+            }
+        }
+        
+        assertEquals(1_000, observer.messages.size());
+        DeduplicationStats stats = newsAgency.getDeduplicationStats().orElseThrow();
+        assertEquals(2_000, stats.checked());
+        assertEquals(1_000, stats.suppressed());
+    }
+
+    @Test
+    @DisplayName("Should deliver everything when deduplication is off")
+    void testDisabledByDefault() {
+        newsAgency.publishNews("A");
+        newsAgency.publishNews("A");
+        
+        assertEquals(2, observer.messages.size());
+        assertTrue(newsAgency.getDeduplicationStats().isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> new DeduplicationPolicy(Duration.ofMinutes(1), 1.5, 1024, 10));
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new ArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for observer fault isolation and quarantine.
+ */
+class FaultIsolationTest {
+
+    private NewsAgency newsAgency;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("Should keep notifying later observers when one throws")
+    void testFailingObserverIsIsolated() {
+        RecordingObserver healthy = new RecordingObserver();
+        newsAgency.addObserver(message -> {
+            throw new IllegalStateException("boom");
+        });
+        newsAgency.addObserver(healthy);
+        
+        newsAgency.publishNews("Breaking: first");
+        newsAgency.publishNews(List.of("Second", "Third"));
+        
+        assertEquals(List.of("Breaking: first", "Second", "Third"), healthy.messages);
+    }
+
+    @Test
+    @DisplayName("Should report a synchronous failure through the delivery future")
+    void testSyncFailureCompletesFutureExceptionally() {
+        RecordingObserver healthy = new RecordingObserver();
+        newsAgency.addObserver(message -> {
+            throw new IllegalStateException("boom");
+        });
+        newsAgency.addObserver(healthy);
+        
+        CompletableFuture<Void> delivered = newsAgency.publishNewsAsync("Breaking: failure");
+        
+        ExecutionException exception = assertThrows(ExecutionException.class, delivered::get);
+        assertEquals("boom", exception.getCause().getMessage());
+        assertEquals(List.of("Breaking: failure"), healthy.messages);
+    }
+
+    @Test
+    @DisplayName("Should bound publish latency and quarantine a blocked observer")
+    void testBlockedObserverIsQuarantined() {
+        newsAgency.setQuarantinePolicy(new QuarantinePolicy(Duration.ofMillis(50), 2,
+                Duration.ofMinutes(10), Duration.ofMinutes(10)));
+        Observer blocked = message -> await(release);
+        RecordingObserver healthy = new RecordingObserver();
+        newsAgency.addObserver(blocked);
+        newsAgency.addObserver(healthy);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertTrue(elapsedMillis < 2_000, "publishing took " + elapsedMillis + " ms");
+        assertEquals(20, healthy.messages.size());
+        SubscriberHealth health = newsAgency.getSubscriberHealth(blocked).orElseThrow();
+        assertTrue(health.quarantined());
+        assertEquals(2, health.timeouts());
+        assertEquals(18, health.skipped());
+        assertEquals(1, health.quarantines());
+    }
+
+    @Test
+    @DisplayName("Should retry a quarantined observer after its backoff")
+    void testRecoveryAfterBackoff() throws Exception {
+        newsAgency.setQuarantinePolicy(new QuarantinePolicy(Duration.ofSeconds(5), 1,
+                Duration.ofMillis(50), Duration.ofSeconds(1)));
+        FlakyObserver flaky = new FlakyObserver();
+        newsAgency.addObserver(flaky);
+        
+        newsAgency.publishNews("Fails");
+        newsAgency.publishNews("Skipped");
+        assertTrue(newsAgency.getSubscriberHealth(flaky).orElseThrow().quarantined());
+        
+        flaky.failing = false;
+        Thread.sleep(100);
+        newsAgency.publishNews("Recovered");
+        
+        assertEquals(List.of("Recovered"), flaky.messages);
+        SubscriberHealth health = newsAgency.getSubscriberHealth(flaky).orElseThrow();
+        assertFalse(health.quarantined());
+        assertEquals(0, health.consecutiveFailures());
+        assertEquals(1, health.failures());
+        assertEquals(1, health.skipped());
+    }
+
+    @Test
+    @DisplayName("Should quarantine an overrunning observer behind a mailbox")
+    void testAsyncOverrunIsQuarantined() throws Exception {
+        newsAgency.setAsyncDelivery(16);
+        newsAgency.setQuarantinePolicy(new QuarantinePolicy(Duration.ofMillis(1), 1,
+                Duration.ofMinutes(10), Duration.ofMinutes(10)));
+        Observer slow = message -> sleep(20);
+        newsAgency.addObserver(slow);
+        
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 5; i++) {
+            last = newsAgency.publishNewsAsync("News " + i);
+        }
+        last.get(5, TimeUnit.SECONDS);
+        
+        SubscriberHealth health = newsAgency.getSubscriberHealth(slow).orElseThrow();
+        assertTrue(health.quarantined());
+        assertEquals(1, health.timeouts());
+        assertEquals(4, health.skipped());
+    }
+
+    @Test
+    @DisplayName("Should require the quarantine policy before observers subscribe")
+    void testPolicyMustBeSetFirst() {
+        newsAgency.addObserver(new RecordingObserver());
+        
+        assertThrows(IllegalStateException.class,
+            () -> newsAgency.setQuarantinePolicy(QuarantinePolicy.withTimeBudget(Duration.ofMillis(10))));
+        assertThrows(IllegalArgumentException.class,
+            () -> QuarantinePolicy.withTimeBudget(Duration.ZERO));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+
+    private static class FlakyObserver implements Observer {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private volatile boolean failing = true;
+        
+        @Override
+        public void update(String message) {
+            if (failing) {
+                throw new IllegalStateException("cannot handle " + message);
+            }
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,279 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactive Streams conformance tests for NewsAgency as a Flow.Publisher,
+ * modelled on the rules checked by the Reactive Streams TCK (rule numbers in
+ * the display names).
+ */
+class FlowPublisherTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("1.1: Should never signal more onNext than requested")
+    void testRespectsDemand() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(2);
+        newsAgency.subscribe(subscriber);
+        subscriber.awaitSubscription();
+        
+        for (int i = 0; i < 5; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        subscriber.awaitItems(2);
+        Thread.sleep(50);
+        assertEquals(List.of("News 0", "News 1"), subscriber.items);
+        
+        subscriber.subscription.request(3);
+        subscriber.awaitItems(5);
+        assertEquals(List.of("News 0", "News 1", "News 2", "News 3", "News 4"), subscriber.items);
+    }
+
+    @Test
+    @DisplayName("1.9: Should call onSubscribe before any other signal")
+    void testOnSubscribeFirst() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        newsAgency.subscribe(subscriber);
+        subscriber.awaitSubscription();
+        newsAgency.publishNews("News");
+        subscriber.awaitItems(1);
+        
+        assertEquals("onSubscribe", subscriber.signals.get(0));
+    }
+
+    @Test
+    @DisplayName("1.9: Should reject a null subscriber")
+    void testNullSubscriber() {
+        assertThrows(NullPointerException.class, () -> newsAgency.subscribe(null));
+    }
+
+    @Test
+    @DisplayName("2.12: Should signal onError when the same subscriber subscribes twice")
+    void testDuplicateSubscription() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        newsAgency.subscribe(subscriber);
+        newsAgency.subscribe(subscriber);
+        
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+    }
+
+    @Test
+    @DisplayName("3.9: Should signal onError for a non-positive request")
+    void testNonPositiveRequest() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        newsAgency.subscribe(subscriber);
+        subscriber.awaitSubscription();
+        
+        subscriber.subscription.request(0);
+        
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+    }
+
+    @Test
+    @DisplayName("3.7 / 3.13: Should stop signalling after cancel and drop the subscriber")
+    void testCancel() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        newsAgency.subscribe(subscriber);
+        subscriber.awaitSubscription();
+        newsAgency.publishNews("Before");
+        subscriber.awaitItems(1);
+        
+        subscriber.subscription.cancel();
+        subscriber.subscription.cancel();
+        newsAgency.publishNews("After");
+        Thread.sleep(50);
+        
+        assertEquals(List.of("Before"), subscriber.items);
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("3.17: Should accept demand adding up beyond Long.MAX_VALUE")
+    void testUnboundedDemand() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        newsAgency.subscribe(subscriber);
+        subscriber.awaitSubscription();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        
+        for (int i = 0; i < 100; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        subscriber.awaitItems(100);
+        
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("1.6: Should signal onComplete when the agency closes")
+    void testCompleteOnClose() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        newsAgency.subscribe(subscriber);
+        newsAgency.publishNews("Last news");
+        
+        newsAgency.close();
+        
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("Last news"), subscriber.items);
+        assertEquals("onComplete", subscriber.signals.get(subscriber.signals.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should deliver push observers and stream subscribers side by side")
+    void testMixedSubscribers() throws InterruptedException {
+        List<String> pushed = new CopyOnWriteArrayList<>();
+        newsAgency.addObserver(pushed::add);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        newsAgency.subscribe(subscriber);
+        
+        newsAgency.publishNews(List.of("One", "Two"));
+        subscriber.awaitItems(2);
+        
+        assertEquals(List.of("One", "Two"), pushed);
+        assertEquals(List.of("One", "Two"), subscriber.items);
+        assertEquals(2, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should hold publishers back once a slow subscriber's buffer is full")
+    void testBackpressureBoundsBuffering() throws InterruptedException {
+        NewsAgency bounded = new NewsAgency();
+        bounded.setConsoleLogging(false);
+        bounded.setFlowBufferCapacity(4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        bounded.subscribe(subscriber);
+        subscriber.awaitSubscription();
+        AtomicInteger published = new AtomicInteger();
+        
+        Thread publisher = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 20; i++) {
+                bounded.publishNews("News " + i);
+                published.incrementAndGet();
+            }
+        });
+        Thread.sleep(100);
+        assertTrue(published.get() < 20);
+        
+        subscriber.subscription.request(Long.MAX_VALUE);
+        publisher.join(5_000);
+        subscriber.awaitItems(20);
+        assertEquals(20, published.get());
+        assertEquals(0, bounded.getFlowDropCount());
+        bounded.close();
+    }
+
+    @Test
+    @DisplayName("Should cancel a stuck subscriber with onError once the opt-in wait runs out")
+    void testStuckSubscriberCancelled() throws InterruptedException {
+        NewsAgency bounded = new NewsAgency();
+        bounded.setConsoleLogging(false);
+        bounded.setFlowBufferCapacity(16);
+        bounded.setFlowMaxWait(Duration.ofMillis(50));
+        RecordingSubscriber stuck = new RecordingSubscriber(0);
+        RecordingSubscriber healthy = new RecordingSubscriber(Long.MAX_VALUE);
+        List<String> pushed = new CopyOnWriteArrayList<>();
+        bounded.subscribe(stuck);
+        bounded.subscribe(healthy);
+        bounded.addObserver(pushed::add);
+        stuck.awaitSubscription();
+        healthy.awaitSubscription();
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 40; i++) {
+            bounded.publishNews("News " + i);
+        }
+        
+        // the wait is paid once, then the stuck subscriber is gone
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertEquals(40, pushed.size());
+        healthy.awaitItems(40);
+        assertTrue(stuck.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, stuck.error);
+        assertEquals(List.of("onSubscribe", "onError"), stuck.signals);
+        assertEquals(1, bounded.getFlowDropCount());
+        assertEquals(2, bounded.getObserverCount());
+        assertThrows(IllegalArgumentException.class, () -> bounded.setFlowMaxWait(Duration.ofMillis(-1)));
+        bounded.setFlowMaxWait(null);
+        bounded.close();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<String> {
+        private final long initialRequest;
+        private final List<String> items = new CopyOnWriteArrayList<>();
+        private final List<String> signals = new CopyOnWriteArrayList<>();
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            signals.add("onSubscribe");
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+            subscribed.countDown();
+        }
+        
+        @Override
+        public void onNext(String item) {
+            signals.add("onNext");
+            items.add(item);
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add("onError");
+            error = throwable;
+            terminated.countDown();
+        }
+        
+        @Override
+        public void onComplete() {
+            signals.add("onComplete");
+            terminated.countDown();
+        }
+        
+        void awaitSubscription() throws InterruptedException {
+            assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+        }
+        
+        void awaitItems(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (items.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(count, items.size());
+        }
+    }
+} 
\ No newline at end of file
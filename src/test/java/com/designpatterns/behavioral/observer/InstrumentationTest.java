@@ -0,0 +1,133 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Unit tests for delivery instrumentation, metrics snapshots and the JMX bean.
+ */
+class InstrumentationTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should record nothing while instrumentation is off")
+    void testDisabledByDefault() {
+        newsAgency.addObserver(message -> { });
+        newsAgency.publishNews("Unmeasured");
+        
+        NewsAgencyMetrics metrics = newsAgency.getMetrics();
+        assertFalse(newsAgency.isInstrumentation());
+        assertEquals(0, metrics.publishes());
+        assertEquals(0, metrics.observers().get(0).deliveries());
+    }
+
+    @Test
+    @DisplayName("Should record fan-out totals and find the slowest observer")
+    void testFindsSlowObserver() {
+        newsAgency.setInstrumentation(true);
+        newsAgency.addObserver(new NewsSubscriber("Fast") {
+            @Override
+            public void update(String message) {
+            }
+        });
+        newsAgency.addObserver(new NewsSubscriber("Slow") {
+            @Override
+            public void update(String message) {
+                sleep(5);
+            }
+        });
+        
+        for (int i = 0; i < 5; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        
+        NewsAgencyMetrics metrics = newsAgency.getMetrics();
+        assertEquals(5, metrics.publishes());
+        assertEquals(10, metrics.deliveries());
+        assertEquals(2.0, metrics.averageFanOut());
+        ObserverMetrics slowest = metrics.slowestObservers(1).get(0);
+        assertEquals("NewsSubscriber[Slow]", slowest.observer());
+        assertEquals(5, slowest.deliveries());
+        assertTrue(slowest.updateLatency().percentile(0.99) >= 4_000_000);
+        assertTrue(metrics.broadcastLatency().maxNanos() >= 4_000_000);
+    }
+
+    @Test
+    @DisplayName("Should count failures and batched messages")
+    void testFailuresAndBatches() {
+        newsAgency.setInstrumentation(true);
+        newsAgency.addObserver(message -> {
+            if (message.startsWith("Bad")) {
+                throw new IllegalStateException("cannot handle " + message);
+            }
+        });
+        
+        newsAgency.publishNews(List.of("Good 1", "Good 2", "Good 3"));
+        newsAgency.publishNews("Bad news");
+        
+        ObserverMetrics observer = newsAgency.getMetrics().observers().get(0);
+        assertEquals(2, observer.deliveries());
+        assertEquals(4, observer.messages());
+        assertEquals(1, observer.failures());
+        
+        newsAgency.resetMetrics();
+        assertEquals(0, newsAgency.getMetrics().observers().get(0).deliveries());
+        assertEquals(0, newsAgency.getMetrics().publishes());
+    }
+
+    @Test
+    @DisplayName("Should estimate percentiles from power-of-two buckets")
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+        
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals(1_023, snapshot.percentile(0.5));
+        assertEquals(1_023, snapshot.percentile(0.99));
+        assertEquals(1_000_000, snapshot.percentile(1.0));
+        assertEquals(1_000_000, snapshot.maxNanos());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentile(1.5));
+    }
+
+    @Test
+    @DisplayName("Should expose metrics over JMX until the agency is closed")
+    void testMBean() throws Exception {
+        newsAgency.setInstrumentation(true);
+        newsAgency.addObserver(message -> { });
+        newsAgency.publishNews("Measured");
+        
+        ObjectName name = newsAgency.registerMBean("instrumentation-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(1L, server.getAttribute(name, "PublishCount"));
+        assertEquals(1, ((String[]) server.getAttribute(name, "SlowestObservers")).length);
+        
+        newsAgency.close();
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+} 
\ No newline at end of file
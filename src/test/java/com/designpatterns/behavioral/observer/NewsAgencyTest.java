@@ -59,6 +59,30 @@ class NewsAgencyTest {
         assertEquals(testNews, testObserver.getLastMessage());
     }
 
+    @Test
+    @DisplayName("Should allow observers to unsubscribe while news is being broadcast")
+    void testUnsubscribeDuringNotification() {
+        TestObserver lateObserver = new TestObserver();
+        Observer selfRemoving = new Observer() {
+            @Override
+            public void update(String message) {
+                newsAgency.removeObserver(this);
+                newsAgency.addObserver(lateObserver);
+            }
+        };
+        TestObserver testObserver = new TestObserver();
+        newsAgency.addObserver(selfRemoving);
+        newsAgency.addObserver(testObserver);
+
+        assertDoesNotThrow(() -> newsAgency.publishNews("First"));
+        assertTrue(testObserver.wasNotified());
+        assertFalse(lateObserver.wasNotified(), "Observers added mid-broadcast join from the next message");
+        assertEquals(2, newsAgency.getObserverCount());
+
+        newsAgency.publishNews("Second");
+        assertEquals("Second", lateObserver.getLastMessage());
+    }
+
     // Helper test observer class
     private static class TestObserver implements Observer {
         private boolean notified = false;
@@ -0,0 +1,100 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the pooled, allocation-free event path.
+ */
+class NewsEventTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should deliver text events with increasing sequence numbers")
+    void testTextEvents() {
+        List<String> texts = new ArrayList<>();
+        List<Long> sequences = new ArrayList<>();
+        long before = System.currentTimeMillis();
+        newsAgency.addEventObserver(event -> {
+            texts.add(event.text().toString());
+            sequences.add(event.getSequence());
+            assertTrue(event.getTimestamp() >= before);
+        });
+        
+        StringBuilder headline = new StringBuilder("Tech: first");
+        newsAgency.publishEvent(headline);
+        headline.setLength(0);
+        NewsEvent event = newsAgency.claimEvent();
+        event.textBuffer().append("Tech: ").append(2);
+        newsAgency.publishEvent(event);
+        
+        assertEquals(List.of("Tech: first", "Tech: 2"), texts);
+        assertEquals(List.of(1L, 2L), sequences);
+    }
+
+    @Test
+    @DisplayName("Should give every observer the whole binary payload")
+    void testBinaryEvents() {
+        List<String> received = new ArrayList<>();
+        EventObserver reader = event -> {
+            ByteBuffer bytes = event.bytes();
+            byte[] copy = new byte[bytes.remaining()];
+            bytes.get(copy);
+            received.add(new String(copy, StandardCharsets.UTF_8));
+        };
+        newsAgency.addEventObserver(reader);
+        newsAgency.addEventObserver(reader);
+        
+        ByteBuffer news = ByteBuffer.wrap("Weather: sunny ☀".getBytes(StandardCharsets.UTF_8));
+        newsAgency.publishEvent(news);
+        
+        assertEquals(List.of("Weather: sunny ☀", "Weather: sunny ☀"), received);
+        assertEquals(0, news.position());
+    }
+
+    @Test
+    @DisplayName("Should reuse pooled events between publishes")
+    void testEventsAreReused() {
+        List<NewsEvent> seen = new ArrayList<>();
+        newsAgency.addEventObserver(seen::add);
+        
+        newsAgency.publishEvent("First");
+        newsAgency.publishEvent("Second");
+        
+        assertSame(seen.get(0), seen.get(1));
+        assertEquals("", seen.get(0).toString());
+        assertThrows(IllegalStateException.class, () -> seen.get(0).setText("x").bytes());
+    }
+
+    @Test
+    @DisplayName("Should isolate failing event observers and honour unsubscribe")
+    void testFailureAndUnsubscribe() {
+        List<String> received = new ArrayList<>();
+        newsAgency.addEventObserver(event -> {
+            throw new IllegalStateException("boom");
+        });
+        Subscription subscription = newsAgency.addEventObserver(event -> received.add(event.toString()));
+        
+        newsAgency.publishEvent("First");
+        subscription.unsubscribe();
+        newsAgency.publishEvent("Second");
+        newsAgency.publishNews("String news");
+        
+        assertEquals(List.of("First"), received);
+        assertEquals(1, newsAgency.getObserverCount());
+    }
+} 
\ No newline at end of file
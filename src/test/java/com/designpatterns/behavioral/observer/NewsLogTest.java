@@ -0,0 +1,237 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the durable news log and replay for late subscribers.
+ */
+class NewsLogTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("news-log");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should assign sequential offsets and replay from any offset")
+    void testAppendAndReplay() throws IOException {
+        try (NewsLog log = new NewsLog(directory, 4096)) {
+            assertEquals(0, log.append("Tech: First"));
+            assertEquals(1, log.append("Sports: Second"));
+            assertEquals(2, log.append("Weather: Sunny ☀"));
+            
+            RecordingObserver observer = new RecordingObserver();
+            assertEquals(3, log.replay(1, observer));
+            
+            assertEquals(List.of("Sports: Second", "Weather: Sunny ☀"), observer.messages);
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete the oldest beyond retention")
+    void testSegmentRetention() throws IOException {
+        try (NewsLog log = new NewsLog(directory, 128)) {
+            log.setRetainedSegments(2);
+            for (int i = 0; i < 30; i++) {
+                log.append("News " + i);
+            }
+            
+            assertEquals(2, log.getSegmentCount());
+            assertTrue(log.getStartOffset() > 0);
+            RecordingObserver observer = new RecordingObserver();
+            log.replay(0, observer);
+            
+            assertEquals(30 - log.getStartOffset(), observer.messages.size());
+            assertEquals("News 29", observer.messages.get(observer.messages.size() - 1));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover offsets and messages after reopening")
+    void testReopen() throws IOException {
+        try (NewsLog log = new NewsLog(directory, 128)) {
+            for (int i = 0; i < 10; i++) {
+                log.append("News " + i);
+            }
+        }
+        try (NewsLog log = new NewsLog(directory, 128)) {
+            assertEquals(10, log.getNextOffset());
+            assertEquals(10, log.append("News 10"));
+            
+            RecordingObserver observer = new RecordingObserver();
+            log.replay(8, observer);
+            
+            assertEquals(List.of("News 8", "News 9", "News 10"), observer.messages);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the first message published at or after a time")
+    void testOffsetAtTime() throws Exception {
+        try (NewsLog log = new NewsLog(directory, 128)) {
+            log.append("Old news 1");
+            log.append("Old news 2");
+            Thread.sleep(20);
+            Instant since = Instant.now();
+            Thread.sleep(20);
+            log.append("Fresh news");
+            
+            assertEquals(2, log.offsetAt(since));
+            assertEquals(0, log.offsetAt(Instant.EPOCH));
+            assertEquals(3, log.offsetAt(Instant.now().plusSeconds(60)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read and look up times from anywhere in a large segment, also after reopening")
+    void testIndexedLookups() throws Exception {
+        Instant since;
+        try (NewsLog log = new NewsLog(directory, 1 << 20)) {
+            for (int i = 0; i < 300; i++) {
+                log.append("Old news " + i);
+            }
+            Thread.sleep(20);
+            since = Instant.now();
+            Thread.sleep(20);
+            for (int i = 300; i < 1000; i++) {
+                log.append("News " + i);
+            }
+            assertEquals(300, log.offsetAt(since));
+            assertEquals(1, log.getSegmentCount());
+        }
+        
+        try (NewsLog log = new NewsLog(directory, 1 << 20)) {
+            assertEquals(300, log.offsetAt(since));
+            for (long from : new long[] {63, 64, 65, 450, 999}) {
+                RecordingObserver observer = new RecordingObserver();
+                assertEquals(1000, log.replay(from, observer));
+                assertEquals(1000 - from, observer.messages.size());
+                assertEquals(from < 300 ? "Old news " + from : "News " + from, observer.messages.get(0));
+                assertEquals("News 999", observer.messages.get(observer.messages.size() - 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand each replayed batch to the observer as a list of its own")
+    void testReplayBatchesAreKept() throws IOException {
+        try (NewsLog log = new NewsLog(directory, 1 << 20)) {
+            for (int i = 0; i < 600; i++) {
+                log.append("News " + i);
+            }
+            
+            List<List<String>> batches = new ArrayList<>();
+            log.replay(0, new Observer() {
+                @Override
+                public void update(String message) {
+                    batches.add(List.of(message));
+                }
+                
+                @Override
+                public void updateBatch(List<String> messages) {
+                    batches.add(messages);
+                }
+            });
+            
+            assertTrue(batches.size() > 1);
+            assertEquals("News 0", batches.get(0).get(0));
+            assertEquals(600, batches.stream().mapToInt(List::size).sum());
+            assertEquals("News 599", batches.get(batches.size() - 1).get(batches.get(batches.size() - 1).size() - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject news items larger than a segment")
+    void testOversizedMessage() throws IOException {
+        try (NewsLog log = new NewsLog(directory, 64)) {
+            assertThrows(IllegalArgumentException.class, () -> log.append("x".repeat(100)));
+            assertEquals(0, log.append("Fits"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay history to late subscribers before live news")
+    void testLateSubscriberReplay() throws IOException {
+        NewsAgency newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        try (NewsLog log = new NewsLog(directory, 4096)) {
+            newsAgency.setNewsLog(log);
+            newsAgency.publishNews("News 0");
+            newsAgency.publishNews("News 1");
+            newsAgency.publishNews(List.of("News 2", "News 3"));
+            
+            RecordingObserver late = new RecordingObserver();
+            newsAgency.addObserverFromOffset(late, 1);
+            newsAgency.publishNews("News 4");
+            
+            assertEquals(List.of("News 1", "News 2", "News 3", "News 4"), late.messages);
+            assertEquals(5, log.getNextOffset());
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay news published since a point in time")
+    void testSubscribeFromTime() throws Exception {
+        NewsAgency newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        try (NewsLog log = new NewsLog(directory, 4096)) {
+            newsAgency.setNewsLog(log);
+            newsAgency.publishNews("Yesterday's news");
+            Thread.sleep(20);
+            Instant since = Instant.now();
+            Thread.sleep(20);
+            newsAgency.publishNews("Today's news");
+            
+            RecordingObserver late = new RecordingObserver();
+            newsAgency.addObserverFromTime(late, since);
+            
+            assertEquals(List.of("Today's news"), late.messages);
+        }
+    }
+
+    @Test
+    @DisplayName("Should require a news log for replay")
+    void testReplayRequiresLog() {
+        NewsAgency newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        
+        assertThrows(IllegalStateException.class,
+            () -> newsAgency.addObserverFromOffset(new RecordingObserver(), 0));
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new ArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
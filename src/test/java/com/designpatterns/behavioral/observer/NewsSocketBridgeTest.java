@@ -0,0 +1,139 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Unit tests for the cross-process socket transport.
+ */
+class NewsSocketBridgeTest {
+
+    private NewsAgency publisher;
+    private NewsAgency receiver;
+    private RecordingObserver observer;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new NewsAgency();
+        publisher.setConsoleLogging(false);
+        receiver = new NewsAgency();
+        receiver.setConsoleLogging(false);
+        observer = new RecordingObserver();
+        receiver.addObserver(observer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+        receiver.close();
+    }
+
+    @Test
+    @DisplayName("Should encode and decode frames, keeping partial frames")
+    void testFraming() {
+        ByteBuffer first = NewsFrames.encode("Tech: Ünïcödé ☀");
+        ByteBuffer second = NewsFrames.encode("Sports: second");
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put(first).put(second.slice(0, 6)).flip();
+        List<String> messages = new ArrayList<>();
+        
+        NewsFrames.decode(buffer, messages);
+        assertEquals(List.of("Tech: Ünïcödé ☀"), messages);
+        assertEquals(second.remaining(), NewsFrames.pendingFrameBytes(buffer));
+        
+        buffer.put(second.position(6)).flip();
+        NewsFrames.decode(buffer, messages);
+        assertEquals(List.of("Tech: Ünïcödé ☀", "Sports: second"), messages);
+    }
+
+    @Test
+    @DisplayName("Should fan news out to another agency over TCP loopback")
+    void testTcpLoopback() throws Exception {
+        assertDelivery(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @Test
+    @DisplayName("Should fan news out to another agency over a Unix-domain socket")
+    void testUnixDomainSocket() throws Exception {
+        Path directory = Files.createTempDirectory("news-socket");
+        try {
+            assertDelivery(UnixDomainSocketAddress.of(directory.resolve("news.sock")));
+        } finally {
+            Files.deleteIfExists(directory.resolve("news.sock"));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop forwarding once the proxy disconnects")
+    void testDisconnect() throws Exception {
+        try (NewsSocketBridge bridge = new NewsSocketBridge(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            publisher.addObserver(bridge);
+            RemoteSubscriberProxy proxy = new RemoteSubscriberProxy(bridge.getLocalAddress(), receiver);
+            awaitTrue(() -> bridge.getClientCount() == 1);
+            
+            proxy.close();
+            assertFalse(proxy.isConnected());
+            // the bridge notices the closed connection when a write fails
+            awaitTrue(() -> {
+                publisher.publishNews("Tech: nobody listens");
+                return bridge.getClientCount() == 0;
+            });
+            assertTrue(observer.messages.isEmpty());
+        }
+    }
+
+    private void assertDelivery(SocketAddress address) throws IOException, InterruptedException {
+        try (NewsSocketBridge bridge = new NewsSocketBridge(address);
+             RemoteSubscriberProxy proxy = new RemoteSubscriberProxy(bridge.getLocalAddress(), receiver)) {
+            publisher.addObserver(bridge);
+            awaitTrue(() -> bridge.getClientCount() == 1);
+            
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                publisher.publishNews("News " + i);
+                expected.add("News " + i);
+            }
+            publisher.publishNews(List.of("Batch 1", "Batch 2"));
+            expected.addAll(List.of("Batch 1", "Batch 2"));
+            
+            awaitTrue(() -> observer.messages.size() == expected.size());
+            assertEquals(expected, observer.messages);
+            assertEquals(expected.size(), proxy.getReceivedCount());
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 seconds");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for mailbox overflow policies.
+ */
+class OverflowPolicyTest {
+
+    private NewsAgency newsAgency;
+    private GatedObserver slow;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        newsAgency.setAsyncDelivery(2);
+        slow = new GatedObserver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slow.release();
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("Should drop the newest messages when the mailbox is full")
+    void testDropNewest() throws Exception {
+        newsAgency.addObserver(slow, OverflowPolicy.DROP_NEWEST);
+        publishWhileBlocked(6);
+        
+        assertEquals(List.of("News 0", "News 1", "News 2"), slow.received);
+        MailboxStats stats = newsAgency.getMailboxStats(slow).orElseThrow();
+        assertEquals(3, stats.dropped());
+        assertEquals(0, stats.conflated());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest messages when the mailbox is full")
+    void testDropOldest() throws Exception {
+        newsAgency.addObserver(slow, OverflowPolicy.DROP_OLDEST);
+        publishWhileBlocked(6);
+        
+        assertEquals(List.of("News 0", "News 4", "News 5"), slow.received);
+        assertEquals(3, newsAgency.getMailboxStats(slow).orElseThrow().dropped());
+    }
+
+    @Test
+    @DisplayName("Should conflate queued messages down to the latest one")
+    void testConflate() throws Exception {
+        newsAgency.addObserver(slow, OverflowPolicy.CONFLATE);
+        publishWhileBlocked(6);
+        
+        assertEquals(List.of("News 0", "News 5"), slow.received);
+        MailboxStats stats = newsAgency.getMailboxStats(slow).orElseThrow();
+        assertEquals(4, stats.conflated());
+        assertEquals(0, stats.dropped());
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to healthy subscribers while another lags")
+    void testLaggingSubscriberIsolated() throws Exception {
+        List<String> healthy = new CopyOnWriteArrayList<>();
+        newsAgency.addObserver(slow, OverflowPolicy.DROP_NEWEST);
+        newsAgency.addObserver(healthy::add, OverflowPolicy.BLOCK);
+        
+        for (int i = 0; i < 50; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        newsAgency.publishNewsAsync("Last").thenRun(() -> { }).getNow(null);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (healthy.size() < 51 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        
+        assertEquals(51, healthy.size());
+        assertTrue(newsAgency.getMailboxStats(slow).orElseThrow().dropped() > 0);
+    }
+
+    @Test
+    @DisplayName("Should require async delivery for per-subscriber policies")
+    void testPolicyRequiresAsyncDelivery() {
+        NewsAgency syncAgency = new NewsAgency();
+        syncAgency.setConsoleLogging(false);
+        
+        assertThrows(IllegalStateException.class,
+            () -> syncAgency.addObserver(slow, OverflowPolicy.CONFLATE));
+        assertTrue(syncAgency.getMailboxStats(slow).isEmpty());
+    }
+
+    /**
+     * Publishes the first message, waits until the observer is stuck on it,
+     * publishes the rest into the full mailbox, then lets the observer go.
+     */
+    private void publishWhileBlocked(int messages) throws Exception {
+        newsAgency.publishNews("News 0");
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < messages; i++) {
+            newsAgency.publishNews("News " + i);
+        }
+        slow.release();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (newsAgency.getMailboxStats(slow).orElseThrow().pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+    }
+
+    private static class GatedObserver implements Observer {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        
+        @Override
+        public void update(String message) {
+            started.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(message);
+        }
+        
+        void release() {
+            gate.countDown();
+        }
+    }
+} 
\ No newline at end of file
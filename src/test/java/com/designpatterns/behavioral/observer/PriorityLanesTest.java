@@ -0,0 +1,183 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for priority lanes in observer mailboxes.
+ */
+class PriorityLanesTest {
+
+    private NewsAgency newsAgency;
+    private GatedObserver slow;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        newsAgency.setAsyncDelivery(8);
+        slow = new GatedObserver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slow.release();
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("Should deliver high priority news before queued routine news")
+    void testStrictPriority() throws Exception {
+        newsAgency.setPriorityLanes(LanePolicy.strict(Duration.ofSeconds(10)));
+        newsAgency.addObserver(slow);
+        
+        blockObserver();
+        newsAgency.publishNews("Low 1", Priority.LOW);
+        newsAgency.publishNews("Low 2", Priority.LOW);
+        newsAgency.publishNews("Breaking", Priority.HIGH);
+        newsAgency.publishNews("Normal");
+        releaseAndAwait(5);
+        
+        assertEquals(List.of("Gate", "Breaking", "Normal", "Low 1", "Low 2"), slow.received);
+    }
+
+    @Test
+    @DisplayName("Should share delivery between lanes by weight")
+    void testWeightedLanes() throws Exception {
+        newsAgency.setPriorityLanes(LanePolicy.weighted(2, 1, 1));
+        newsAgency.addObserver(slow);
+        
+        blockObserver();
+        for (int i = 1; i <= 4; i++) {
+            newsAgency.publishNews("Low " + i, Priority.LOW);
+        }
+        for (int i = 1; i <= 4; i++) {
+            newsAgency.publishNews("High " + i, Priority.HIGH);
+        }
+        releaseAndAwait(9);
+        
+        // the gate used the normal lane's turn; then low, and two high per round
+        assertEquals(List.of("Gate", "Low 1", "High 1", "High 2", "Low 2", "High 3", "High 4", "Low 3", "Low 4"),
+                slow.received);
+    }
+
+    @Test
+    @DisplayName("Should serve a starving lower lane before higher lanes")
+    void testStarvationProtection() throws Exception {
+        newsAgency.setPriorityLanes(LanePolicy.strict(Duration.ofMillis(50)));
+        newsAgency.addObserver(slow);
+        
+        blockObserver();
+        newsAgency.publishNews("Low", Priority.LOW);
+        Thread.sleep(100);
+        newsAgency.publishNews("High 1", Priority.HIGH);
+        newsAgency.publishNews("High 2", Priority.HIGH);
+        releaseAndAwait(4);
+        
+        assertEquals(List.of("Gate", "Low", "High 1", "High 2"), slow.received);
+    }
+
+    @Test
+    @DisplayName("Should keep low priority news in its lane when micro-batching is on")
+    void testLowPrioritySkipsBatcher() throws Exception {
+        newsAgency.setPriorityLanes(LanePolicy.strict(Duration.ofSeconds(10)));
+        newsAgency.setMicroBatching(16, Duration.ofMillis(20));
+        newsAgency.addObserver(slow);
+        
+        blockObserver();
+        newsAgency.publishNews("Low", Priority.LOW);
+        newsAgency.publishNews("Normal");
+        Thread.sleep(100);
+        releaseAndAwait(3);
+        
+        assertEquals(List.of("Gate", "Normal", "Low"), slow.received);
+    }
+
+    @Test
+    @DisplayName("Should apply the overflow policy to each lane separately")
+    void testOverflowPerLane() throws Exception {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+        newsAgency.setAsyncDelivery(1, OverflowPolicy.DROP_NEWEST);
+        newsAgency.setPriorityLanes(LanePolicy.strict(Duration.ofSeconds(10)));
+        newsAgency.addObserver(slow);
+        
+        blockObserver();
+        newsAgency.publishNews("Low 1", Priority.LOW);
+        newsAgency.publishNews("Low 2", Priority.LOW);
+        newsAgency.publishNews("Breaking", Priority.HIGH);
+        assertEquals(2, newsAgency.getMailboxStats(slow).orElseThrow().pending());
+        releaseAndAwait(3);
+        
+        assertEquals(List.of("Gate", "Breaking", "Low 1"), slow.received);
+        assertEquals(1, newsAgency.getMailboxStats(slow).orElseThrow().dropped());
+    }
+
+    @Test
+    @DisplayName("Should require async delivery and configuration before subscribing")
+    void testConfiguration() {
+        NewsAgency syncAgency = new NewsAgency();
+        syncAgency.setConsoleLogging(false);
+        List<String> received = new ArrayList<>();
+        syncAgency.addObserver(received::add);
+        
+        assertThrows(IllegalStateException.class,
+            () -> syncAgency.setPriorityLanes(LanePolicy.strict(Duration.ofSeconds(1))));
+        syncAgency.publishNews("Breaking", Priority.HIGH);
+        assertEquals(List.of("Breaking"), received);
+        
+        newsAgency.addObserver(slow);
+        assertThrows(IllegalStateException.class,
+            () -> newsAgency.setPriorityLanes(LanePolicy.weighted(4, 2, 1)));
+        assertThrows(IllegalArgumentException.class, () -> LanePolicy.weighted(1, 0, 1));
+    }
+
+    /**
+     * Publishes a first message and waits until the observer is stuck on it,
+     * so that everything published next queues up in the lanes.
+     */
+    private void blockObserver() throws Exception {
+        newsAgency.publishNews("Gate");
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+    }
+
+    private void releaseAndAwait(int messages) throws Exception {
+        slow.release();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (slow.received.size() < messages && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+    }
+
+    private static class GatedObserver implements Observer {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        
+        @Override
+        public void update(String message) {
+            started.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(message);
+        }
+        
+        void release() {
+            gate.countDown();
+        }
+    }
+} 
\ No newline at end of file
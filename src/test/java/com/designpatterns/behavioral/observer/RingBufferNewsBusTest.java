@@ -0,0 +1,107 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for RingBufferNewsBus.
+ */
+class RingBufferNewsBusTest {
+
+    private RingBufferNewsBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new RingBufferNewsBus(8, WaitStrategy.parking(100_000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    @DisplayName("Should reject buffer sizes that are not a power of two")
+    void testBufferSizeValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferNewsBus(12));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferNewsBus(0));
+        assertEquals(16, new RingBufferNewsBus(16).getBufferSize());
+    }
+
+    @Test
+    @DisplayName("Should deliver every message in order even when the ring wraps")
+    void testDeliversInOrderAcrossWraps() {
+        RecordingObserver first = new RecordingObserver();
+        RecordingObserver second = new RecordingObserver();
+        bus.addObserver(first);
+        bus.addObserver(second);
+        
+        for (int i = 0; i < 100; i++) {
+            bus.publishNews("News " + i);
+        }
+        bus.awaitDrained();
+        
+        assertEquals(100, first.messages.size());
+        assertEquals(first.messages, second.messages);
+        assertEquals("News 99", first.messages.get(99));
+        assertEquals("News 99", bus.getLatestNews());
+    }
+
+    @Test
+    @DisplayName("Should not lose messages from concurrent publishers")
+    void testConcurrentPublishers() throws InterruptedException {
+        RecordingObserver observer = new RecordingObserver();
+        bus.addObserver(observer);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    bus.notifyObservers("Tech: update");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        bus.awaitDrained();
+        
+        assertEquals(1000, observer.messages.size());
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to removed observers")
+    void testRemoveObserver() {
+        RecordingObserver observer = new RecordingObserver();
+        bus.addObserver(observer);
+        bus.publishNews("First");
+        bus.awaitDrained();
+        
+        bus.removeObserver(observer);
+        bus.publishNews("Second");
+        bus.awaitDrained();
+        
+        assertEquals(List.of("First"), observer.messages);
+        assertEquals(0, bus.getObserverCount());
+    }
+
+    /**
+     * Touched only by its consumer thread; awaitDrained() publishes the list to the test thread.
+     */
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new ArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Unit tests for ShardedNewsAgency.
+ */
+class ShardedNewsAgencyTest {
+
+    private ShardedNewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new ShardedNewsAgency(4, 16);
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsAgency.close();
+    }
+
+    @Test
+    @DisplayName("Should route every topic key to one fixed shard")
+    void testRoutingByTopicKey() {
+        assertEquals("Sports", ShardedNewsAgency.topicKey("Sports/Football"));
+        assertEquals("Tech", ShardedNewsAgency.topicKey("Tech"));
+        assertEquals(newsAgency.shardOf("Sports"), newsAgency.shardOf("Sports"));
+        assertTrue(newsAgency.shardOf("Sports") < newsAgency.getShardCount());
+    }
+
+    @Test
+    @DisplayName("Should keep publish order per topic across concurrent publishers")
+    void testOrderingPerTopic() throws InterruptedException {
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        newsAgency.addObserver(message -> {
+            String topic = TopicFilter.topicOf(message);
+            received.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>())
+                    .add(Integer.parseInt(message.substring(message.indexOf(' ') + 1)));
+        });
+        
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String topic = "Topic" + t;
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    newsAgency.publishNews(topic + ": " + i);
+                }
+            }));
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        newsAgency.awaitDrained();
+        
+        assertEquals(8, received.size());
+        for (List<Integer> sequence : received.values()) {
+            assertEquals(500, sequence.size());
+            for (int i = 0; i < sequence.size(); i++) {
+                assertEquals(i, sequence.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver topic subscriptions from their own shard only")
+    void testTopicSubscriptions() {
+        List<String> sports = new CopyOnWriteArrayList<>();
+        List<String> everything = new CopyOnWriteArrayList<>();
+        newsAgency.addObserver("Sports/#", sports::add);
+        newsAgency.addObserver("#", everything::add);
+        
+        newsAgency.publishNews("Sports/Football: Cup final");
+        newsAgency.publishNews("Tech: New JDK");
+        newsAgency.awaitDrained();
+        
+        assertEquals(List.of("Sports/Football: Cup final"), sports);
+        assertEquals(2, everything.size());
+        assertEquals(2, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should unsubscribe from every shard")
+    void testUnsubscribe() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        Observer observer = received::add;
+        Subscription subscription = newsAgency.addObserver(observer);
+        Observer other = message -> { };
+        newsAgency.addObserver(other);
+        
+        subscription.unsubscribe();
+        newsAgency.removeObserver(other);
+        for (int i = 0; i < 20; i++) {
+            newsAgency.publishNews("Topic" + i + ": ignored");
+        }
+        newsAgency.awaitDrained();
+        
+        assertTrue(received.isEmpty());
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should deliver queued news on close and reject news afterwards")
+    void testClose() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        newsAgency.addObserver(received::add);
+        for (int i = 0; i < 10; i++) {
+            newsAgency.publishNews("Topic" + i + ": last words");
+        }
+        
+        newsAgency.close();
+        
+        assertEquals(10, received.size());
+        assertThrows(IllegalStateException.class, () -> newsAgency.publishNews("Late: news"));
+    }
+
+    @Test
+    @DisplayName("Should deliver or reject every publish that races with close")
+    void testCloseWhilePublishing() throws InterruptedException {
+        ShardedNewsAgency small = new ShardedNewsAgency(2, 1);
+        small.setConsoleLogging(false);
+        List<String> received = new CopyOnWriteArrayList<>();
+        small.addObserver(message -> {
+            LockSupport.parkNanos(100_000);
+            received.add(message);
+        });
+        AtomicInteger accepted = new AtomicInteger();
+        
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String topic = "Topic" + t;
+            publishers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; ; i++) {
+                        small.publishNews(topic + ": " + i);
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    // closed
+                }
+            }));
+        }
+        Thread.sleep(50);
+        small.close();
+        for (Thread publisher : publishers) {
+            publisher.join(5_000);
+            assertFalse(publisher.isAlive());
+        }
+        
+        assertEquals(accepted.get(), received.size());
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for SubscriberRegistry.
+ */
+class SubscriberRegistryTest {
+
+    private SubscriberRegistry<String> registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SubscriberRegistry<>(String[]::new);
+    }
+
+    @Test
+    @DisplayName("Should keep subscribers in registration order")
+    void testAddKeepsOrder() {
+        registry.add("a");
+        registry.add("b");
+        assertEquals(4, registry.addAll(List.of("c", "d")));
+        
+        assertArrayEquals(new String[] {"a", "b", "c", "d"}, registry.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should remove only the first occurrence")
+    void testRemoveFirstOccurrence() {
+        registry.addAll(List.of("a", "b", "a"));
+        
+        assertTrue(registry.remove("a"));
+        assertArrayEquals(new String[] {"b", "a"}, registry.snapshot());
+        assertFalse(registry.remove("missing"));
+    }
+
+    @Test
+    @DisplayName("Should leave existing snapshots untouched by later mutations")
+    void testSnapshotIsStable() {
+        registry.addAll(List.of("a", "b"));
+        String[] before = registry.snapshot();
+        
+        registry.add("c");
+        registry.remove("a");
+        
+        assertArrayEquals(new String[] {"a", "b"}, before);
+        assertArrayEquals(new String[] {"b", "c"}, registry.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should purge dead subscribers once half of the snapshot is dead")
+    void testLazyPurgeOfDeadSubscribers() {
+        Set<String> dead = new HashSet<>();
+        SubscriberRegistry<String> lazy = new SubscriberRegistry<>(String[]::new, s -> !dead.contains(s));
+        lazy.addAll(List.of("a", "b", "c", "d"));
+        
+        dead.add("a");
+        lazy.markDead();
+        assertEquals(3, lazy.size());
+        assertEquals(4, lazy.snapshot().length);
+        
+        dead.add("c");
+        dead.add("d");
+        lazy.markDead();
+        lazy.markDead();
+        assertArrayEquals(new String[] {"b"}, lazy.snapshot());
+        assertEquals(1, lazy.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the dead count exact when deactivations race purges")
+    void testConcurrentDeactivation() throws InterruptedException {
+        Set<String> dead = ConcurrentHashMap.newKeySet();
+        SubscriberRegistry<String> lazy = new SubscriberRegistry<>(String[]::new, s -> !dead.contains(s));
+        List<String> subscribers = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            subscribers.add("s" + i);
+        }
+        lazy.addAll(subscribers);
+        
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            executor.submit(() -> {
+                for (int i = id; i < 3600; i += threads) {
+                    dead.add(subscribers.get(i));
+                    lazy.markDead();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        // one more round of deactivations forces a purge, which recounts from scratch
+        for (int i = 3600; i < 3900; i++) {
+            dead.add(subscribers.get(i));
+            lazy.markDead();
+        }
+        assertEquals(100, lazy.size());
+        assertEquals(100, Arrays.stream(lazy.snapshot()).filter(s -> !dead.contains(s)).count());
+    }
+
+    @Test
+    @DisplayName("Should not lose updates under concurrent add and remove")
+    void testConcurrentMutation() throws InterruptedException {
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            executor.submit(() -> {
+                List<String> mine = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    String subscriber = id + "-" + i;
+                    registry.add(subscriber);
+                    mine.add(subscriber);
+                }
+                for (int i = 0; i < perThread; i += 2) {
+                    registry.remove(mine.get(i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(threads * perThread / 2, registry.size());
+    }
+} 
\ No newline at end of file
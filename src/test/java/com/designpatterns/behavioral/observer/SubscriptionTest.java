@@ -0,0 +1,122 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for subscription handles and weak subscriptions.
+ */
+class SubscriptionTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should stop delivery when the handle is unsubscribed")
+    void testUnsubscribeHandle() {
+        RecordingObserver observer = new RecordingObserver();
+        Subscription subscription = newsAgency.addObserver(observer);
+        newsAgency.publishNews("Before");
+        
+        subscription.unsubscribe();
+        subscription.unsubscribe();
+        newsAgency.publishNews("After");
+        
+        assertFalse(subscription.isActive());
+        assertEquals(List.of("Before"), observer.messages);
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should remove only the subscription the handle belongs to")
+    void testHandleRemovesOwnSubscription() {
+        RecordingObserver observer = new RecordingObserver();
+        Subscription first = newsAgency.addObserver(observer);
+        newsAgency.addObserver(observer);
+        
+        first.close();
+        newsAgency.publishNews("Once");
+        
+        assertEquals(List.of("Once"), observer.messages);
+        assertEquals(1, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should unsubscribe topic subscriptions through their handle")
+    void testTopicHandle() {
+        RecordingObserver observer = new RecordingObserver();
+        try (Subscription subscription = newsAgency.addObserver("Tech", observer)) {
+            newsAgency.publishNews("Tech: Delivered");
+            assertTrue(subscription.isActive());
+        }
+        newsAgency.publishNews("Tech: Not delivered");
+        
+        assertEquals(List.of("Tech: Delivered"), observer.messages);
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to the remaining subscribers under heavy churn")
+    void testChurn() {
+        RecordingObserver survivor = new RecordingObserver();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            subscriptions.add(newsAgency.addObserver(new RecordingObserver()));
+        }
+        newsAgency.addObserver(survivor);
+        subscriptions.forEach(Subscription::unsubscribe);
+        
+        newsAgency.publishNews("Still here");
+        
+        assertEquals(1, newsAgency.getObserverCount());
+        assertEquals(List.of("Still here"), survivor.messages);
+    }
+
+    @Test
+    @DisplayName("Should sweep weak subscriptions after their observer is collected")
+    void testWeakSubscriptionIsSwept() throws InterruptedException {
+        Subscription subscription = newsAgency.addWeakObserver(new RecordingObserver());
+        assertEquals(1, newsAgency.getObserverCount());
+        
+        for (int i = 0; i < 50 && subscription.isActive(); i++) {
+            System.gc();
+            Thread.sleep(10);
+            newsAgency.publishNews("Anyone there?");
+        }
+        
+        assertFalse(subscription.isActive());
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should deliver to weak subscribers that are still reachable")
+    void testWeakSubscriptionDelivers() {
+        RecordingObserver observer = new RecordingObserver();
+        Subscription subscription = newsAgency.addWeakObserver(observer);
+        
+        System.gc();
+        newsAgency.publishNews("Hello");
+        
+        assertTrue(subscription.isActive());
+        assertEquals(List.of("Hello"), observer.messages);
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new ArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.designpatterns.behavioral.observer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for topic filters and topic-indexed subscriptions.
+ */
+class TopicSubscriptionTest {
+
+    private NewsAgency newsAgency;
+
+    @BeforeEach
+    void setUp() {
+        newsAgency = new NewsAgency();
+        newsAgency.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should extract the topic prefix of a message")
+    void testTopicOf() {
+        assertEquals("Tech", TopicFilter.topicOf("Tech: AI breakthrough"));
+        assertEquals("Sports/Football", TopicFilter.topicOf("Sports/Football: Cup final"));
+        assertEquals("", TopicFilter.topicOf("No topic here: really"));
+        assertEquals("", TopicFilter.topicOf("Plain message"));
+    }
+
+    @Test
+    @DisplayName("Should match exact, single-level and multi-level filters")
+    void testFilterMatching() {
+        assertTrue(TopicFilter.compile("Tech").matches("Tech"));
+        assertFalse(TopicFilter.compile("Tech").matches("Tech/AI"));
+        assertTrue(TopicFilter.compile("Sports/+").matches("Sports/Football"));
+        assertFalse(TopicFilter.compile("Sports/+").matches("Sports"));
+        assertTrue(TopicFilter.compile("Sports/#").matches("Sports"));
+        assertTrue(TopicFilter.compile("Sports/#").matches("Sports/Football/Cup"));
+        assertTrue(TopicFilter.compile("#").matches(""));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed filters")
+    void testInvalidFilters() {
+        assertThrows(IllegalArgumentException.class, () -> TopicFilter.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilter.compile("Sports//Football"));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilter.compile("#/Sports"));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilter.compile("Sp+rts"));
+    }
+
+    @Test
+    @DisplayName("Should deliver only matching topics to topic subscribers")
+    void testTopicDelivery() {
+        RecordingObserver tech = new RecordingObserver();
+        RecordingObserver sports = new RecordingObserver();
+        RecordingObserver everything = new RecordingObserver();
+        newsAgency.addObserver("Tech", tech);
+        newsAgency.addObserver("Sports/#", sports);
+        newsAgency.addObserver(everything);
+        
+        newsAgency.publishNews("Tech: New JDK released");
+        newsAgency.publishNews("Sports/Football: Cup final tonight");
+        newsAgency.publishNews("Breaking: Storm warning");
+        
+        assertEquals(List.of("Tech: New JDK released"), tech.messages);
+        assertEquals(List.of("Sports/Football: Cup final tonight"), sports.messages);
+        assertEquals(3, everything.messages.size());
+        assertEquals(3, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should unsubscribe topic subscribers with removeObserver")
+    void testRemoveTopicSubscriber() {
+        RecordingObserver tech = new RecordingObserver();
+        newsAgency.addObserver("Tech", tech);
+        newsAgency.removeObserver(tech);
+        
+        newsAgency.publishNews("Tech: Nobody listening");
+        
+        assertTrue(tech.messages.isEmpty());
+        assertEquals(0, newsAgency.getObserverCount());
+    }
+
+    @Test
+    @DisplayName("Should filter topics on subjects without a topic index")
+    void testDefaultSubjectTopicSupport() {
+        try (RingBufferNewsBus bus = new RingBufferNewsBus(8, WaitStrategy.parking(100_000))) {
+            RecordingObserver tech = new RecordingObserver();
+            bus.addObserver("Tech", tech);
+            
+            bus.publishNews("Sports: Ignored");
+            bus.publishNews("Tech: Delivered");
+            bus.awaitDrained();
+            
+            assertEquals(List.of("Tech: Delivered"), tech.messages);
+        }
+    }
+
+    private static class RecordingObserver implements Observer {
+        private final List<String> messages = new ArrayList<>();
+        
+        @Override
+        public void update(String message) {
+            messages.add(message);
+        }
+    }
+} 
\ No newline at end of file
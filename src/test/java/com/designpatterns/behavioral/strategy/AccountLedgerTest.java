@@ -0,0 +1,126 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the AccountLedger and the strategies' use of it.
+ */
+class AccountLedgerTest {
+
+    private AccountLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new AccountLedger();
+        ledger.open("acct", 10_000);
+    }
+
+    @Test
+    @DisplayName("Should hold reserved amounts until they are committed or released")
+    void testReserveCommitRelease() {
+        AccountLedger.Reservation first = ledger.reserve("acct", 3_000).orElseThrow();
+        AccountLedger.Reservation second = ledger.reserve("acct", 2_000).orElseThrow();
+        assertEquals(5_000, ledger.getAvailable("acct"));
+        assertEquals(5_000, ledger.getReserved("acct"));
+        
+        first.commit();
+        second.release();
+        
+        assertEquals(7_000, ledger.getAvailable("acct"));
+        assertEquals(0, ledger.getReserved("acct"));
+        assertEquals(3_000, ledger.getDebited("acct"));
+        assertThrows(IllegalStateException.class, first::release);
+        assertTrue(ledger.reserve("acct", 7_001).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never let concurrent reservations overspend an account")
+    void testConcurrentReservations() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (ledger.debit("acct", 1)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        
+        assertEquals(10_000, granted.get());
+        assertEquals(0, ledger.getAvailable("acct"));
+        assertEquals(10_000, ledger.getDebited("acct"));
+    }
+
+    @Test
+    @DisplayName("Should keep amounts exact in minor units")
+    void testExactMoney() {
+        ledger.open("wallet", AccountLedger.toMinorUnits(0.3));
+        
+        assertTrue(ledger.debit("wallet", AccountLedger.toMinorUnits(0.1)));
+        assertTrue(ledger.debit("wallet", AccountLedger.toMinorUnits(0.2)));
+        
+        assertEquals(0, ledger.getAvailable("wallet"));
+        assertEquals(1999, AccountLedger.toMinorUnits(19.99));
+        assertEquals(19.99, AccountLedger.toAmount(1999));
+        assertFalse(ledger.open("wallet", 500));
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve("missing", 1));
+    }
+
+    @Test
+    @DisplayName("Should debit strategy balances so concurrent payments cannot overspend")
+    void testStrategiesDebitThroughLedger() throws Exception {
+        PayPalPayment paypal = new PayPalPayment("john.doe@email.com", 500.0, ledger);
+        List<Future<Boolean>> payments = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5; i++) {
+                payments.add(executor.submit(() -> paypal.processPayment(200.0)));
+            }
+        }
+        int approved = 0;
+        for (Future<Boolean> payment : payments) {
+            approved += payment.get() ? 1 : 0;
+        }
+        
+        assertEquals(2, approved);
+        assertEquals(100.0, paypal.getAccountBalance());
+        assertEquals(40_000, ledger.getDebited("paypal:john.doe@email.com"));
+        
+        CreditCardPayment card = new CreditCardPayment("1234567890123456", "John Doe", "12/25", "123", 100.0, ledger);
+        assertFalse(card.validatePayment(100.01));
+        assertEquals(100.0, card.getAvailableCredit());
+    }
+
+    @Test
+    @DisplayName("Should keep separate limits for cards and accounts that share their last four digits")
+    void testDistinctAccountsWithSameLastFour() {
+        CreditCardPayment first = new CreditCardPayment("1111222233334444", "John Doe", "12/25", "123", 100.0, ledger);
+        CreditCardPayment second = new CreditCardPayment("5555666677774444", "John Doe", "12/25", "456", 500.0, ledger);
+        BankTransferPayment checking = new BankTransferPayment("Chase Bank", "1000004321", "021000021", 200.0, ledger);
+        BankTransferPayment savings = new BankTransferPayment("Chase Bank", "2000004321", "021000021", 800.0, ledger);
+        
+        assertEquals(100.0, first.getAvailableCredit());
+        assertEquals(500.0, second.getAvailableCredit());
+        assertTrue(second.validatePayment(400.0));
+        assertFalse(first.validatePayment(400.0));
+        
+        assertEquals(200.0, checking.getRemainingDailyLimit());
+        assertEquals(800.0, savings.getRemainingDailyLimit());
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for asynchronous payment execution in PaymentContext.
+ */
+class AsyncPaymentTest {
+
+    private PaymentContext paymentContext;
+
+    @BeforeEach
+    void setUp() {
+        paymentContext = new PaymentContext();
+        paymentContext.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should return before the gateway call finishes and report the result")
+    void testAsyncApproval() throws Exception {
+        paymentContext.setPaymentStrategy(new SimulatedGateway(Duration.ofMillis(200)));
+        
+        CompletableFuture<PaymentResult> future = paymentContext.executePaymentAsync(100.0);
+        assertFalse(future.isDone());
+        PaymentResult result = future.get(5, TimeUnit.SECONDS);
+        
+        assertTrue(result.isSuccessful());
+        assertEquals("Simulated Gateway", result.paymentMethod());
+        assertEquals(100.0, result.amount());
+        assertTrue(result.elapsed().toMillis() >= 200);
+    }
+
+    @Test
+    @DisplayName("Should report declined and failed payments")
+    void testDeclinedAndFailed() throws Exception {
+        paymentContext.setPaymentStrategy(new SimulatedGateway(Duration.ZERO));
+        assertEquals(PaymentResult.Status.DECLINED,
+            paymentContext.executePaymentAsync(5_000.0).get(5, TimeUnit.SECONDS).status());
+        
+        paymentContext.setPaymentStrategy(new SimulatedGateway(Duration.ZERO) {
+            @Override
+            public boolean processPayment(double amount) {
+                throw new IllegalStateException("Gateway unavailable");
+            }
+        });
+        assertEquals(PaymentResult.Status.FAILED,
+            paymentContext.executePaymentAsync(10.0).get(5, TimeUnit.SECONDS).status());
+    }
+
+    @Test
+    @DisplayName("Should time out and interrupt a payment that misses its deadline")
+    void testDeadline() throws Exception {
+        SimulatedGateway slow = new SimulatedGateway(Duration.ofSeconds(10));
+        paymentContext.setPaymentStrategy(slow);
+        
+        PaymentResult result = paymentContext.executePaymentAsync(100.0, Duration.ofMillis(100))
+            .get(5, TimeUnit.SECONDS);
+        
+        assertEquals(PaymentResult.Status.TIMED_OUT, result.status());
+        assertFalse(result.isSuccessful());
+        assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should interrupt the payment when the future is cancelled")
+    void testCancellation() throws Exception {
+        SimulatedGateway slow = new SimulatedGateway(Duration.ofSeconds(10));
+        paymentContext.setPaymentStrategy(slow);
+        
+        CompletableFuture<PaymentResult> future = paymentContext.executePaymentAsync(100.0);
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        
+        assertThrows(CancellationException.class, future::join);
+        assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should keep thousands of payments in flight at once")
+    void testManyPaymentsInFlight() {
+        paymentContext.setPaymentStrategy(new SimulatedGateway(Duration.ofMillis(500)));
+        
+        long start = System.nanoTime();
+        List<CompletableFuture<PaymentResult>> payments = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            payments.add(paymentContext.executePaymentAsync(10.0));
+        }
+        CompletableFuture.allOf(payments.toArray(new CompletableFuture<?>[0])).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(payments.stream().allMatch(payment -> payment.join().isSuccessful()));
+        // one platform thread per payment would need 5000 seconds
+        assertTrue(elapsedMillis < 10_000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when executing async payment without strategy")
+    void testAsyncWithoutStrategy() {
+        assertThrows(IllegalStateException.class, () -> paymentContext.executePaymentAsync(100.0));
+    }
+
+    /**
+     * Quiet strategy that waits like a gateway call and approves up to 1000.
+     */
+    private static class SimulatedGateway implements PaymentStrategy {
+        private final Duration latency;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        
+        SimulatedGateway(Duration latency) {
+            this.latency = latency;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            if (!validatePayment(amount)) {
+                return false;
+            }
+            started.countDown();
+            try {
+                Thread.sleep(latency.toMillis());
+                return true;
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return "Simulated Gateway";
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0 && amount <= 1000;
+        }
+    }
+} 
\ No newline at end of file
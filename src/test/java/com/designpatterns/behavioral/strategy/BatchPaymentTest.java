@@ -0,0 +1,88 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for batch payment processing.
+ */
+class BatchPaymentTest {
+
+    private PaymentContext paymentContext;
+
+    @BeforeEach
+    void setUp() {
+        paymentContext = new PaymentContext();
+        paymentContext.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should fall back to one payment per request by default")
+    void testDefaultBatchLoops() {
+        AtomicInteger calls = new AtomicInteger();
+        paymentContext.setPaymentStrategy(new PaymentStrategy() {
+            @Override
+            public boolean processPayment(double amount) {
+                calls.incrementAndGet();
+                return validatePayment(amount);
+            }
+            
+            @Override
+            public String getPaymentMethodName() {
+                return "Mock Payment";
+            }
+            
+            @Override
+            public boolean validatePayment(double amount) {
+                return amount > 0 && amount <= 1000;
+            }
+        });
+        
+        List<PaymentResult> results = paymentContext.executeBatch(List.of(
+            new PaymentRequest("p-1", 100.0), new PaymentRequest("p-2", 2000.0), new PaymentRequest("p-3", 5.0)));
+        
+        assertEquals(3, calls.get());
+        assertEquals(List.of(PaymentResult.Status.APPROVED, PaymentResult.Status.DECLINED,
+            PaymentResult.Status.APPROVED), results.stream().map(PaymentResult::status).toList());
+        assertEquals("Mock Payment", results.get(0).paymentMethod());
+    }
+
+    @Test
+    @DisplayName("Should validate up front and pay the gateway latency once per batch")
+    void testBatchedGatewayCall() {
+        paymentContext.setPaymentStrategy(new PayPalPayment("john.doe@email.com", 500.0));
+        
+        long start = System.nanoTime();
+        List<PaymentResult> results = paymentContext.executeBatch(List.of(
+            new PaymentRequest("p-1", 100.0), new PaymentRequest("p-2", 200.0), new PaymentRequest("p-3", 900.0),
+            new PaymentRequest("p-4", 50.0), new PaymentRequest("p-5", -1.0)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertEquals(List.of(PaymentResult.Status.APPROVED, PaymentResult.Status.APPROVED,
+            PaymentResult.Status.DECLINED, PaymentResult.Status.APPROVED, PaymentResult.Status.DECLINED),
+            results.stream().map(PaymentResult::status).toList());
+        assertEquals(900.0, results.get(2).amount());
+        // three approved payments in one 800 ms call, not three calls
+        assertTrue(elapsedMillis < 1600, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should skip the gateway call when no request is valid")
+    void testBatchWithoutValidRequests() {
+        paymentContext.setPaymentStrategy(new BankTransferPayment("Chase Bank", "9876543210", "021000021", 100.0));
+        
+        long start = System.nanoTime();
+        List<PaymentResult> results = paymentContext.executeBatch(List.of(
+            new PaymentRequest("p-1", 0.5), new PaymentRequest("p-2", 500.0)));
+        
+        assertTrue(results.stream().noneMatch(PaymentResult::isSuccessful));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertThrows(IllegalStateException.class, () -> new PaymentContext().executeBatch(List.of()));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for per-strategy concurrency limits in BulkheadPaymentStrategy.
+ */
+class BulkheadTest {
+
+    @Test
+    @DisplayName("Should limit concurrent payments and reject when the waiting line is full")
+    void testConcurrencyAndQueueLimits() throws Exception {
+        BlockingGateway gateway = new BlockingGateway("Bank Gateway");
+        BulkheadPaymentStrategy bulkhead = new BulkheadPaymentStrategy(gateway,
+            new BulkheadPolicy(2, 1, Duration.ofSeconds(5)));
+        
+        List<CompletableFuture<Boolean>> running = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            running.add(CompletableFuture.supplyAsync(() -> bulkhead.processPayment(100.0)));
+        }
+        assertTrue(gateway.awaitRunning(2));
+        awaitWaiting(bulkhead, 1);
+        
+        assertFalse(bulkhead.processPayment(100.0));
+        assertEquals(2, gateway.maxActive.get());
+        assertEquals(1, bulkhead.getStats().rejectedQueueFull());
+        
+        gateway.release.countDown();
+        for (CompletableFuture<Boolean> payment : running) {
+            assertTrue(payment.get(5, TimeUnit.SECONDS));
+        }
+        BulkheadPaymentStrategy.BulkheadStats stats = bulkhead.getStats();
+        assertEquals(3, stats.completed());
+        assertEquals(0, stats.active());
+        assertEquals(1, stats.rejected());
+        assertEquals(2, gateway.maxActive.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a payment that waits longer than allowed")
+    void testWaitTimeout() throws Exception {
+        BlockingGateway gateway = new BlockingGateway("Bank Gateway");
+        BulkheadPaymentStrategy bulkhead = new BulkheadPaymentStrategy(gateway,
+            BulkheadPolicy.of(1, Duration.ofMillis(100)));
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> bulkhead.processPayment(100.0));
+        assertTrue(gateway.awaitRunning(1));
+        
+        long start = System.nanoTime();
+        assertFalse(bulkhead.processPayment(100.0));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(waitedMillis >= 90 && waitedMillis < 2000, "waited " + waitedMillis + " ms");
+        assertEquals(1, bulkhead.getStats().rejectedTimeout());
+        gateway.release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertFalse(bulkhead.processPayment(5_000.0));
+        assertEquals(1, gateway.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep card payments flowing while bank transfers are saturated")
+    void testSlowMethodDoesNotStarveFastOne() throws Exception {
+        BlockingGateway bank = new BlockingGateway("Bank Gateway");
+        BlockingGateway card = new BlockingGateway("Card Gateway");
+        card.release.countDown();
+        PaymentContext bankContext = new PaymentContext(new BulkheadPaymentStrategy(bank,
+            new BulkheadPolicy(4, 100, Duration.ofSeconds(10))));
+        PaymentContext cardContext = new PaymentContext(new BulkheadPaymentStrategy(card,
+            BulkheadPolicy.of(4, Duration.ofSeconds(1))));
+        bankContext.setConsoleLogging(false);
+        cardContext.setConsoleLogging(false);
+        
+        List<CompletableFuture<PaymentResult>> transfers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            transfers.add(bankContext.executePaymentAsync(100.0));
+        }
+        assertTrue(bank.awaitRunning(4));
+        
+        long start = System.nanoTime();
+        List<CompletableFuture<PaymentResult>> cardPayments = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            cardPayments.add(cardContext.executePaymentAsync(100.0));
+        }
+        for (CompletableFuture<PaymentResult> payment : cardPayments) {
+            assertTrue(payment.get(5, TimeUnit.SECONDS).isSuccessful());
+        }
+        
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertEquals(4, bank.maxActive.get());
+        bank.release.countDown();
+        CompletableFuture.allOf(transfers.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(100, bank.calls.get());
+    }
+
+    private static void awaitWaiting(BulkheadPaymentStrategy bulkhead, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getStats().waiting() < waiting && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(waiting, bulkhead.getStats().waiting());
+    }
+
+    /**
+     * Quiet strategy whose payments block until released and which tracks
+     * how many run at once.
+     */
+    private static class BlockingGateway implements PaymentStrategy {
+        private final String name;
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        
+        BlockingGateway(String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+        
+        boolean awaitRunning(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (active.get() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return active.get() >= count;
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return name;
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0 && amount <= 1000;
+        }
+    }
+} 
\ No newline at end of file
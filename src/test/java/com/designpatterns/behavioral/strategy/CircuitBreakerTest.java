@@ -0,0 +1,224 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for CircuitBreakerPaymentStrategy and FallbackPaymentStrategy.
+ */
+class CircuitBreakerTest {
+
+    private ScriptedGateway gateway;
+    private CircuitBreakerPaymentStrategy breaker;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new ScriptedGateway("Card Gateway");
+        breaker = new CircuitBreakerPaymentStrategy(gateway,
+            new CircuitBreakerPolicy(10, 4, 0.5, Duration.ofMillis(200), 2));
+    }
+
+    @Test
+    @DisplayName("Should open at the failure rate and then fail fast without calling the gateway")
+    void testOpensAndFailsFast() {
+        gateway.down = true;
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.processPayment(100.0));
+        }
+        assertEquals(CircuitBreakerPaymentStrategy.State.CLOSED, breaker.getState());
+        
+        assertThrows(IllegalStateException.class, () -> breaker.processPayment(100.0));
+        assertEquals(CircuitBreakerPaymentStrategy.State.OPEN, breaker.getState());
+        
+        long start = System.nanoTime();
+        assertFalse(breaker.processPayment(100.0));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 50);
+        assertEquals(4, gateway.calls.get());
+        assertFalse(breaker.validatePayment(100.0));
+        assertEquals(1, breaker.getStats().rejected());
+    }
+
+    @Test
+    @DisplayName("Should not open while failures stay below the threshold")
+    void testStaysClosedBelowThreshold() {
+        for (int i = 0; i < 20; i++) {
+            gateway.down = i % 4 == 1;
+            try {
+                breaker.processPayment(100.0);
+            } catch (IllegalStateException e) {
+                // expected for the failing calls
+            }
+        }
+        
+        assertEquals(CircuitBreakerPaymentStrategy.State.CLOSED, breaker.getState());
+        assertEquals(20, gateway.calls.get());
+        assertFalse(breaker.processPayment(5_000.0));
+        assertEquals(20, breaker.getStats().calls());
+    }
+
+    @Test
+    @DisplayName("Should not count declines from a working gateway as failures")
+    void testDeclinesAreHealthy() {
+        gateway.declining = true;
+        for (int i = 0; i < 10; i++) {
+            assertFalse(breaker.processPayment(100.0));
+        }
+        
+        assertEquals(CircuitBreakerPaymentStrategy.State.CLOSED, breaker.getState());
+        assertEquals(10, gateway.calls.get());
+        assertEquals(0, breaker.getStats().failures());
+    }
+
+    @Test
+    @DisplayName("Should count calls slower than the slow-call duration as failures")
+    void testSlowCallsOpenCircuit() {
+        CircuitBreakerPaymentStrategy slowBreaker = new CircuitBreakerPaymentStrategy(gateway,
+            new CircuitBreakerPolicy(10, 4, 0.5, Duration.ofSeconds(10), 2).withSlowCallDuration(Duration.ofMillis(20)));
+        gateway.latencyMillis = 40;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(slowBreaker.processPayment(100.0));
+        }
+        
+        assertEquals(CircuitBreakerPaymentStrategy.State.OPEN, slowBreaker.getState());
+        assertEquals(4, slowBreaker.getStats().failures());
+        assertFalse(slowBreaker.processPayment(100.0));
+        assertEquals(4, gateway.calls.get());
+        assertThrows(IllegalArgumentException.class,
+            () -> CircuitBreakerPolicy.defaults().withSlowCallDuration(Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should close after successful trial payments and reopen after a failed one")
+    void testHalfOpen() throws InterruptedException {
+        gateway.down = true;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.processPayment(100.0));
+        }
+        Thread.sleep(250);
+        assertEquals(CircuitBreakerPaymentStrategy.State.HALF_OPEN, breaker.getState());
+        
+        assertThrows(IllegalStateException.class, () -> breaker.processPayment(100.0));
+        assertEquals(CircuitBreakerPaymentStrategy.State.OPEN, breaker.getState());
+        
+        Thread.sleep(250);
+        gateway.down = false;
+        assertTrue(breaker.processPayment(100.0));
+        assertEquals(CircuitBreakerPaymentStrategy.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.processPayment(100.0));
+        assertEquals(CircuitBreakerPaymentStrategy.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should not count a payment let through while closed as a half-open trial")
+    void testSlowCallSpanningOpenAndHalfOpen() throws Exception {
+        gateway.hold = new CountDownLatch(1);
+        CompletableFuture<Boolean> inFlight = CompletableFuture.supplyAsync(() -> breaker.processPayment(100.0));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gateway.calls.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        CountDownLatch held = gateway.hold;
+        gateway.hold = null;
+        
+        gateway.down = true;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.processPayment(100.0));
+        }
+        assertEquals(CircuitBreakerPaymentStrategy.State.OPEN, breaker.getState());
+        Thread.sleep(250);
+        gateway.down = false;
+        assertTrue(breaker.processPayment(100.0));
+        
+        // the payment let through while closed fails now, during the half-open trials
+        held.countDown();
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> inFlight.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals(CircuitBreakerPaymentStrategy.State.HALF_OPEN, breaker.getState());
+        
+        assertTrue(breaker.processPayment(100.0));
+        assertEquals(CircuitBreakerPaymentStrategy.State.CLOSED, breaker.getState());
+        assertEquals(7, breaker.getStats().calls());
+        assertEquals(5, breaker.getStats().failures());
+    }
+
+    @Test
+    @DisplayName("Should fall back along the chain while a gateway is out")
+    void testFallbackChain() {
+        ScriptedGateway paypal = new ScriptedGateway("PayPal Gateway");
+        FallbackPaymentStrategy chain = new FallbackPaymentStrategy(breaker, paypal);
+        assertEquals("Card Gateway → PayPal Gateway", chain.getPaymentMethodName());
+        
+        gateway.down = true;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(chain.processPayment(100.0));
+        }
+        
+        // four failed card calls open the circuit; the rest skip the card gateway
+        assertEquals(4, gateway.calls.get());
+        assertEquals(10, paypal.calls.get());
+        assertFalse(chain.processPayment(5_000.0));
+        assertThrows(IllegalArgumentException.class, FallbackPaymentStrategy::new);
+    }
+
+    /**
+     * Quiet strategy that approves up to 1000, after an optional latency, or
+     * throws while it is down and declines while it is declining. A call
+     * that finds a hold latch waits for it and then times out.
+     */
+    private static class ScriptedGateway implements PaymentStrategy {
+        private final String name;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean down;
+        private volatile boolean declining;
+        private volatile long latencyMillis;
+        private volatile CountDownLatch hold;
+        
+        ScriptedGateway(String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            CountDownLatch held = hold;
+            calls.incrementAndGet();
+            if (held != null) {
+                try {
+                    held.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Gateway timed out");
+            }
+            if (down) {
+                throw new IllegalStateException("Gateway unavailable");
+            }
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return !declining && validatePayment(amount);
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return name;
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0 && amount <= 1000;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for idempotent payment execution.
+ */
+class IdempotencyCacheTest {
+
+    private CountingGateway gateway;
+    private PaymentContext paymentContext;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new CountingGateway(200);
+        paymentContext = new PaymentContext(gateway);
+        paymentContext.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should answer a retried payment with the original result without paying again")
+    void testDuplicateGetsOriginalResult() {
+        PaymentResult first = paymentContext.executePayment(new PaymentRequest("order-1", 100.0));
+        
+        long start = System.nanoTime();
+        PaymentResult retry = paymentContext.executePayment(new PaymentRequest("order-1", 100.0));
+        long retryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertSame(first, retry);
+        assertTrue(first.isSuccessful());
+        assertEquals(1, gateway.calls.get());
+        assertTrue(retryMillis < 50, "retry took " + retryMillis + " ms");
+        assertEquals(0.5, paymentContext.getIdempotencyStats().hitRate());
+        assertThrows(IllegalArgumentException.class,
+            () -> paymentContext.executePayment(new PaymentRequest("order-1", 250.0)));
+    }
+
+    @Test
+    @DisplayName("Should let concurrent duplicates wait for the payment in flight")
+    void testConcurrentDuplicates() throws Exception {
+        List<Future<PaymentResult>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                attempts.add(executor.submit(() -> paymentContext.executePayment(new PaymentRequest("order-2", 50.0))));
+            }
+        }
+        
+        PaymentResult original = attempts.get(0).get();
+        for (Future<PaymentResult> attempt : attempts) {
+            assertSame(original, attempt.get());
+        }
+        assertEquals(1, gateway.calls.get());
+        IdempotencyStats stats = paymentContext.getIdempotencyStats();
+        assertEquals(1, stats.misses());
+        assertEquals(19, stats.hits() + stats.inFlightHits());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used keys and expire old ones")
+    void testEvictionAndExpiry() throws InterruptedException {
+        gateway = new CountingGateway(0);
+        paymentContext.setPaymentStrategy(gateway);
+        paymentContext.setIdempotencyCache(new IdempotencyCache(2, Duration.ofMillis(200)));
+        
+        paymentContext.executePayment(new PaymentRequest("a", 1.0));
+        paymentContext.executePayment(new PaymentRequest("b", 1.0));
+        paymentContext.executePayment(new PaymentRequest("a", 1.0));
+        paymentContext.executePayment(new PaymentRequest("c", 1.0));
+        assertEquals(3, gateway.calls.get());
+        
+        paymentContext.executePayment(new PaymentRequest("a", 1.0));
+        paymentContext.executePayment(new PaymentRequest("b", 1.0));
+        assertEquals(4, gateway.calls.get());
+        
+        Thread.sleep(250);
+        paymentContext.executePayment(new PaymentRequest("a", 1.0));
+        assertEquals(5, gateway.calls.get());
+        
+        IdempotencyStats stats = paymentContext.getIdempotencyStats();
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.size());
+        assertTrue(stats.evictions() >= 2);
+        assertTrue(stats.expirations() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should evict only finished entries while payments are in flight")
+    void testEvictionWithPaymentsInFlight() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<PaymentResult>> slow = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                PaymentRequest request = new PaymentRequest("slow-" + i, 10.0);
+                slow.add(executor.submit(() -> cache.execute(request, () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return approved(10.0);
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.getStats().misses() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            
+            for (int i = 0; i < 5; i++) {
+                cache.execute(new PaymentRequest("fast-" + i, 1.0), () -> approved(1.0));
+            }
+            IdempotencyStats stats = cache.getStats();
+            assertEquals(3, stats.evictions());
+            assertEquals(5, stats.size());
+            
+            release.countDown();
+            for (Future<PaymentResult> payment : slow) {
+                assertTrue(payment.get(5, TimeUnit.SECONDS).isSuccessful());
+            }
+        }
+        assertEquals(6, cache.getStats().evictions());
+        assertEquals(2, cache.getStats().size());
+    }
+
+    @Test
+    @DisplayName("Should execute a payment again after its first attempt threw")
+    void testFailureIsNotRemembered() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        PaymentRequest request = new PaymentRequest("order-3", 10.0);
+        
+        assertThrows(IllegalStateException.class, () -> cache.execute(request, () -> {
+            throw new IllegalStateException("Gateway unavailable");
+        }));
+        PaymentResult result = cache.execute(request,
+            () -> new PaymentResult("Mock Payment", 10.0, PaymentResult.Status.APPROVED, Duration.ZERO));
+        
+        assertTrue(result.isSuccessful());
+        assertEquals(2, cache.getStats().misses());
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyCache(0, Duration.ofMinutes(1)));
+    }
+
+    private static PaymentResult approved(double amount) {
+        return new PaymentResult("Mock Payment", amount, PaymentResult.Status.APPROVED, Duration.ZERO);
+    }
+
+    /**
+     * Quiet strategy that counts the payments reaching the gateway.
+     */
+    private static class CountingGateway implements PaymentStrategy {
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        
+        CountingGateway(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return validatePayment(amount);
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return "Counting Gateway";
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0 && amount <= 1000;
+        }
+    }
+} 
\ No newline at end of file
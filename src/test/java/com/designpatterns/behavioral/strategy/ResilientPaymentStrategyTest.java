@@ -0,0 +1,401 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Unit tests for deadlines, retries and hedging in ResilientPaymentStrategy.
+ */
+class ResilientPaymentStrategyTest {
+
+    private static final ResiliencePolicy NO_BACKOFF = new ResiliencePolicy(Duration.ofSeconds(2),
+        Duration.ofSeconds(1), 3, Duration.ZERO, Duration.ZERO, 0.1, false);
+
+    @Test
+    @DisplayName("Should retry failed attempts but not declined payments")
+    void testRetriesFailures() {
+        FlakyGateway gateway = new FlakyGateway(call -> call <= 2 ? -1 : 0);
+        ResilientPaymentStrategy strategy = resilient(gateway, NO_BACKOFF);
+        
+        assertTrue(strategy.processPayment(100.0));
+        assertEquals(3, gateway.calls.get());
+        assertEquals(2, strategy.getStats().retries());
+        
+        assertFalse(strategy.processPayment(5_000.0));
+        assertEquals(4, gateway.calls.get());
+        assertEquals("Flaky Gateway", strategy.getPaymentMethodName());
+    }
+
+    @Test
+    @DisplayName("Should abandon and interrupt an attempt that outlives its timeout")
+    void testAttemptTimeout() {
+        FlakyGateway gateway = new FlakyGateway(call -> call == 1 ? 5_000 : 10);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(2),
+            Duration.ofMillis(100), 3, Duration.ZERO, Duration.ZERO, 0.1, false));
+        
+        long start = System.nanoTime();
+        assertTrue(strategy.processPayment(100.0));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(elapsedMillis < 1000, "took " + elapsedMillis + " ms");
+        assertEquals(1, strategy.getStats().timeouts());
+        assertTrue(awaitInterrupt(gateway));
+    }
+
+    @Test
+    @DisplayName("Should give up once the deadline leaves no time for another attempt")
+    void testDeadline() {
+        FlakyGateway gateway = new FlakyGateway(call -> 5_000);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofMillis(300),
+            Duration.ofMillis(200), 5, Duration.ofMillis(150), Duration.ofMillis(150), 0.1, false));
+        
+        long start = System.nanoTime();
+        assertFalse(strategy.processPayment(100.0));
+        
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertTrue(gateway.calls.get() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is used up")
+    void testRetryBudget() {
+        FlakyGateway gateway = new FlakyGateway(call -> -1);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(2),
+            Duration.ofSeconds(1), 5, Duration.ZERO, Duration.ZERO, 0.0, false));
+        
+        for (int i = 0; i < 10; i++) {
+            assertFalse(strategy.processPayment(100.0));
+        }
+        
+        // ten payments plus the ten retries the initial budget allows
+        assertEquals(20, gateway.calls.get());
+        assertEquals(10, strategy.getStats().retries());
+        assertTrue(strategy.getStats().budgetRejections() > 0);
+    }
+
+    @Test
+    @DisplayName("Should hedge attempts slower than the 95th percentile")
+    void testHedging() {
+        FlakyGateway gateway = new FlakyGateway(call -> 5);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(10),
+            Duration.ofSeconds(5), 3, Duration.ZERO, Duration.ZERO, 0.1, true));
+        for (int i = 0; i < 30; i++) {
+            assertTrue(strategy.processPayment(new PaymentRequest("warm-up-" + i, 100.0)));
+        }
+        assertNotNull(strategy.getStats().hedgeDelay());
+        
+        // each stuck attempt only finishes when the hedge that beat it interrupts it
+        for (int i = 0; i < 3; i++) {
+            gateway.blockNext.set(true);
+            assertTrue(strategy.processPayment(new PaymentRequest("order-" + i, 100.0)));
+        }
+        
+        ResilientPaymentStrategy.ResilienceStats stats = strategy.getStats();
+        assertTrue(stats.hedges() >= 3);
+        assertTrue(stats.hedgeWins() >= 3);
+        assertEquals(0, stats.timeouts());
+        assertEquals(0, stats.retries());
+        assertTrue(awaitInterrupt(gateway));
+        assertEquals(3, gateway.blocked.get());
+    }
+
+    @Test
+    @DisplayName("Should keep waiting for a slow attempt when its hedge is declined")
+    void testDeclinedHedge() {
+        AtomicInteger slowCall = new AtomicInteger(Integer.MAX_VALUE);
+        FlakyGateway gateway = new FlakyGateway(call -> call == slowCall.get() ? 300
+            : call == slowCall.get() + 1 ? FlakyGateway.DECLINE : 5);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(10),
+            Duration.ofSeconds(5), 3, Duration.ZERO, Duration.ZERO, 0.1, true));
+        for (int i = 0; i < 30; i++) {
+            assertTrue(strategy.processPayment(new PaymentRequest("warm-up-" + i, 100.0)));
+        }
+        ResilientPaymentStrategy.ResilienceStats before = strategy.getStats();
+        slowCall.set(gateway.calls.get() + 1);
+        
+        // the hedge is the call after the slow one and declines
+        assertTrue(strategy.processPayment(new PaymentRequest("order-1", 100.0)));
+        
+        assertEquals(slowCall.get() + 1, gateway.calls.get());
+        assertEquals(before.hedges() + 1, strategy.getStats().hedges());
+        assertEquals(before.hedgeWins(), strategy.getStats().hedgeWins());
+    }
+
+    @Test
+    @DisplayName("Should not hedge a ledger-backed payment that has no idempotency key")
+    void testNoHedgingWithoutIdempotency() {
+        LedgerGateway gateway = new LedgerGateway(false, 976.00);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(10),
+            Duration.ofSeconds(5), 3, Duration.ZERO, Duration.ZERO, 0.1, true));
+        for (int i = 0; i < 30; i++) {
+            assertTrue(strategy.processPayment(new PaymentRequest("warm-up-" + i, 1.00)));
+        }
+        
+        // a hedge could not reserve the 600.00 the slow attempt holds and would decline the payment
+        gateway.slowNext.set(true);
+        assertTrue(strategy.processPayment(new PaymentRequest("order-1", 600.00)));
+        
+        assertEquals(0, strategy.getStats().hedges());
+        assertEquals(31, gateway.calls.get());
+        assertEquals(AccountLedger.toMinorUnits(630.00), gateway.ledger.getDebited(LedgerGateway.ACCOUNT));
+        assertEquals(AccountLedger.toMinorUnits(346.00), gateway.ledger.getAvailable(LedgerGateway.ACCOUNT));
+    }
+
+    @Test
+    @DisplayName("Should hedge an idempotent ledger-backed payment and charge it once")
+    void testHedgingWithIdempotency() {
+        LedgerGateway gateway = new LedgerGateway(true, 976.00);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(10),
+            Duration.ofSeconds(5), 3, Duration.ZERO, Duration.ZERO, 0.1, true));
+        for (int i = 0; i < 30; i++) {
+            assertTrue(strategy.processPayment(new PaymentRequest("warm-up-" + i, 1.00)));
+        }
+        
+        ResilientPaymentStrategy.ResilienceStats before = strategy.getStats();
+        int calls = gateway.calls.get();
+        
+        gateway.slowNext.set(true);
+        assertTrue(strategy.processPayment(new PaymentRequest("order-1", 600.00)));
+        
+        assertEquals(before.hedges() + 1, strategy.getStats().hedges());
+        assertEquals(before.hedgeWins() + 1, strategy.getStats().hedgeWins());
+        assertEquals(calls + 2, gateway.calls.get());
+        assertEquals(AccountLedger.toMinorUnits(630.00), gateway.ledger.getDebited(LedgerGateway.ACCOUNT));
+        assertEquals(AccountLedger.toMinorUnits(346.00), gateway.ledger.getAvailable(LedgerGateway.ACCOUNT));
+    }
+
+    @Test
+    @DisplayName("Should report an attempt that approved after it was abandoned instead of retrying it")
+    void testApprovalAfterTimeout() {
+        CommittingGateway gateway = new CommittingGateway(300);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofSeconds(2),
+            Duration.ofMillis(100), 3, Duration.ZERO, Duration.ZERO, 0.1, false));
+        
+        assertTrue(strategy.processPayment(100.0));
+        
+        assertEquals(1, gateway.calls.get());
+        assertEquals(0, strategy.getStats().retries());
+        assertEquals(0, strategy.getStats().lateApprovals());
+    }
+
+    @Test
+    @DisplayName("Should count an approval that arrives after the payment gave up")
+    void testLateApproval() throws InterruptedException {
+        CommittingGateway gateway = new CommittingGateway(500);
+        ResilientPaymentStrategy strategy = resilient(gateway, new ResiliencePolicy(Duration.ofMillis(200),
+            Duration.ofMillis(200), 3, Duration.ZERO, Duration.ZERO, 0.1, false));
+        
+        assertFalse(strategy.processPayment(100.0));
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (strategy.getStats().lateApprovals() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, strategy.getStats().lateApprovals());
+        assertEquals(1, gateway.calls.get());
+    }
+
+    private static ResilientPaymentStrategy resilient(PaymentStrategy gateway, ResiliencePolicy policy) {
+        ResilientPaymentStrategy strategy = new ResilientPaymentStrategy(gateway, policy);
+        strategy.setConsoleLogging(false);
+        return strategy;
+    }
+
+    private static boolean awaitInterrupt(FlakyGateway gateway) {
+        try {
+            return gateway.interrupted.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Quiet strategy whose behaviour per call is scripted: a latency in
+     * milliseconds, {@link #DECLINE} to decline, or another negative value
+     * to throw. It charges nothing, so duplicate attempts are harmless.
+     */
+    private static class FlakyGateway implements PaymentStrategy {
+        static final int DECLINE = Integer.MIN_VALUE;
+        
+        private final IntUnaryOperator script;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private final AtomicBoolean blockNext = new AtomicBoolean();
+        private final AtomicInteger blocked = new AtomicInteger();
+        
+        FlakyGateway(IntUnaryOperator script) {
+            this.script = script;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            if (!validatePayment(amount)) {
+                calls.incrementAndGet();
+                return false;
+            }
+            int latency = script.applyAsInt(calls.incrementAndGet());
+            if (latency == DECLINE) {
+                return false;
+            }
+            if (latency < 0) {
+                throw new IllegalStateException("Gateway unavailable");
+            }
+            try {
+                if (blockNext.compareAndSet(true, false)) {
+                    blocked.incrementAndGet();
+                    new CountDownLatch(1).await();
+                }
+                Thread.sleep(latency);
+                return true;
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        
+        @Override
+        public boolean isIdempotent() {
+            return true;
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return "Flaky Gateway";
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0 && amount <= 1000;
+        }
+    }
+
+    /**
+     * Quiet strategy that reserves the amount on an {@link AccountLedger},
+     * waits 5 ms, or 300 ms once {@link #slowNext} is set, and commits.
+     * The idempotent variant charges each payment id once and spends the
+     * wait on the response, so a duplicate returns the first charge's
+     * outcome without reserving again.
+     */
+    private static class LedgerGateway implements PaymentStrategy {
+        static final String ACCOUNT = "ledger:customer";
+        
+        private final boolean idempotent;
+        private final AccountLedger ledger = new AccountLedger();
+        private final Map<String, Boolean> charges = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicBoolean slowNext = new AtomicBoolean();
+        
+        LedgerGateway(boolean idempotent, double balance) {
+            this.idempotent = idempotent;
+            ledger.open(ACCOUNT, AccountLedger.toMinorUnits(balance));
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            Optional<AccountLedger.Reservation> reservation = ledger.reserve(ACCOUNT, AccountLedger.toMinorUnits(amount));
+            if (reservation.isEmpty()) {
+                return false;
+            }
+            try {
+                respond();
+            } catch (InterruptedException e) {
+                reservation.get().release();
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            reservation.get().commit();
+            return true;
+        }
+        
+        @Override
+        public boolean processPayment(PaymentRequest request) {
+            if (!idempotent) {
+                return processPayment(request.amount());
+            }
+            calls.incrementAndGet();
+            boolean approved = charges.computeIfAbsent(request.paymentId(),
+                    id -> ledger.debit(ACCOUNT, AccountLedger.toMinorUnits(request.amount())));
+            try {
+                respond();
+            } catch (InterruptedException e) {
+                // the charge stands whether or not anyone waits for the response
+                Thread.currentThread().interrupt();
+            }
+            return approved;
+        }
+        
+        private void respond() throws InterruptedException {
+            Thread.sleep(slowNext.compareAndSet(true, false) ? 300 : 5);
+        }
+        
+        @Override
+        public boolean isIdempotent() {
+            return idempotent;
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return "Ledger Gateway";
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0;
+        }
+    }
+
+    /**
+     * Quiet strategy that approves after a fixed latency and, like a gateway
+     * that already committed, ignores interrupts until it is done.
+     */
+    private static class CommittingGateway implements PaymentStrategy {
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        
+        CommittingGateway(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+            boolean interrupted = false;
+            for (long remaining; (remaining = end - System.nanoTime()) > 0; ) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return "Committing Gateway";
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.designpatterns.behavioral.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for latency-aware routing in RoutingPaymentContext.
+ */
+class RoutingPaymentContextTest {
+
+    private SimulatedGateway fast;
+    private SimulatedGateway slow;
+    private RoutingPaymentContext router;
+
+    @BeforeEach
+    void setUp() {
+        fast = new SimulatedGateway("Fast Gateway", 5, 1000);
+        slow = new SimulatedGateway("Slow Gateway", 40, 5000);
+        router = new RoutingPaymentContext(slow, fast);
+        router.setConsoleLogging(false);
+    }
+
+    @Test
+    @DisplayName("Should try every strategy once and then prefer the fastest")
+    void testRoutesToFastest() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(router.executePayment(100.0).isSuccessful());
+        }
+        
+        assertEquals(1, slow.calls.get());
+        assertEquals(9, fast.calls.get());
+        RoutingPaymentContext.RouteStats slowStats = router.getRouteStats().get(0);
+        assertEquals("Slow Gateway", slowStats.paymentMethod());
+        assertEquals(1, slowStats.payments());
+        assertTrue(slowStats.latency().toMillis() >= 40);
+    }
+
+    @Test
+    @DisplayName("Should only route to strategies that accept the amount")
+    void testSkipsIneligibleStrategies() {
+        router.executePayment(100.0);
+        router.executePayment(100.0);
+        
+        PaymentResult result = router.executePayment(2000.0);
+        assertEquals("Slow Gateway", result.paymentMethod());
+        assertTrue(result.isSuccessful());
+        
+        PaymentResult declined = router.executePayment(9000.0);
+        assertEquals(PaymentResult.Status.DECLINED, declined.status());
+        assertEquals("None", declined.paymentMethod());
+        assertEquals(3, slow.calls.get() + fast.calls.get());
+        assertThrows(IllegalStateException.class, () -> new RoutingPaymentContext().executePayment(1.0));
+    }
+
+    @Test
+    @DisplayName("Should shift traffic away from a strategy that starts failing")
+    void testShiftsAwayFromFailures() {
+        router.executePayment(100.0);
+        router.executePayment(100.0);
+        fast.failing = true;
+        
+        int slowBefore = slow.calls.get();
+        for (int i = 0; i < 6; i++) {
+            router.executePayment(100.0);
+        }
+        
+        // two failures take the fast gateway below the 0.8 success rate
+        assertEquals(3, fast.calls.get());
+        assertEquals(slowBefore + 4, slow.calls.get());
+        assertFalse(router.getRouteStats().get(1).healthy());
+        assertTrue(router.getRouteStats().get(0).healthy());
+    }
+
+    @Test
+    @DisplayName("Should probe an idle strategy and route back to it once it recovers")
+    void testProbeRecovery() throws InterruptedException {
+        router.setProbeInterval(Duration.ofMillis(100));
+        router.setSmoothing(0.5);
+        router.setMinSuccessRate(0.7);
+        router.executePayment(100.0);
+        router.executePayment(100.0);
+        fast.failing = true;
+        router.executePayment(100.0);
+        assertFalse(router.getRouteStats().get(1).healthy());
+        
+        fast.failing = false;
+        Thread.sleep(150);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(router.executePayment(100.0).isSuccessful());
+        }
+        
+        assertTrue(router.getRouteStats().get(1).healthy());
+        assertEquals("Fast Gateway", router.executePayment(100.0).paymentMethod());
+        assertThrows(IllegalArgumentException.class, () -> router.setSmoothing(0));
+        assertThrows(IllegalArgumentException.class, () -> router.setMinSuccessRate(1.5));
+    }
+
+    @Test
+    @DisplayName("Should send one probe to a new strategy instead of the whole burst")
+    void testNewStrategyGetsOneProbeAtATime() throws Exception {
+        router.executePayment(100.0);
+        router.executePayment(100.0);
+        SimulatedGateway added = new SimulatedGateway("New Gateway", 0, 1000);
+        added.hold = new CountDownLatch(1);
+        router.addPaymentStrategy(added);
+        
+        List<CompletableFuture<PaymentResult>> burst = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            burst.add(CompletableFuture.supplyAsync(() -> router.executePayment(100.0)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (burst.stream().filter(CompletableFuture::isDone).count() < 19 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        burst.removeIf(CompletableFuture::isDone);
+        
+        // every payment but the held probe finished elsewhere
+        assertEquals(1, burst.size());
+        assertEquals(1, added.calls.get());
+        assertEquals(0, router.getRouteStats().get(2).payments());
+        added.hold.countDown();
+        assertEquals("New Gateway", burst.get(0).get(5, TimeUnit.SECONDS).paymentMethod());
+        assertEquals(1, router.getRouteStats().get(2).payments());
+    }
+
+    /**
+     * Quiet strategy with a fixed latency and limit that can be made to fail
+     * or held until a latch is released.
+     */
+    private static class SimulatedGateway implements PaymentStrategy {
+        private final String name;
+        private final long latencyMillis;
+        private final double limit;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile CountDownLatch hold;
+        
+        SimulatedGateway(String name, long latencyMillis, double limit) {
+            this.name = name;
+            this.latencyMillis = latencyMillis;
+            this.limit = limit;
+        }
+        
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            try {
+                if (hold != null) {
+                    hold.await(10, TimeUnit.SECONDS);
+                }
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return !failing && validatePayment(amount);
+        }
+        
+        @Override
+        public String getPaymentMethodName() {
+            return name;
+        }
+        
+        @Override
+        public boolean validatePayment(double amount) {
+            return amount > 0 && amount <= limit;
+        }
+    }
+} 
\ No newline at end of file